@@ -0,0 +1,42 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link UriMatcher} loop comparing as many patterns per instruction as the preferred species has long
+ * lanes. It is loaded by name and only when the JVM resolves {@code jdk.incubator.vector}.
+ */
+final class VectorMatchKernel implements UriMatcher.Kernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void match(long[] values, long[] masks, long[] authorities, long packed, long authority, long[] words) {
+        final LongVector candidate = LongVector.broadcast(SPECIES, packed);
+        // The lane count is a power of 2 that divides the padded length and 64
+        for (int i = 0; i < values.length; i += SPECIES.length()) {
+            final LongVector patternAuthorities = LongVector.fromArray(SPECIES, authorities, i);
+            final VectorMask<Long> hits = candidate.and(LongVector.fromArray(SPECIES, masks, i))
+                .compare(VectorOperators.EQ, LongVector.fromArray(SPECIES, values, i))
+                .and(patternAuthorities.compare(VectorOperators.EQ, authority)
+                    .or(patternAuthorities.compare(VectorOperators.EQ, AuthorityRegistry.WILDCARD_ID)));
+            words[i >>> 6] |= hits.toLong() << i;
+        }
+    }
+}
@@ -16,7 +16,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import org.eclipse.uprotocol.communication.CallOptions;
@@ -44,7 +43,8 @@ import org.eclipse.uprotocol.core.usubscription.v3.UnsubscribeResponse;
 import org.eclipse.uprotocol.core.usubscription.v3.Update;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.transport.UTransport;
-import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.factory.ServiceUriCatalog;
+import org.eclipse.uprotocol.uri.packed.PackedUriMap;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UMessageType;
@@ -65,19 +65,20 @@ public class InMemoryUSubscriptionClient implements USubscriptionClient {
 
     private static final ServiceDescriptor USUBSCRIPTION = USubscriptionProto.getDescriptor().getServices().get(0);
 
-    // TODO: The following items eventually need to be pulled from generated code
-    private static final UUri SUBSCRIBE_METHOD = UriFactory.fromProto(USUBSCRIPTION, 1);
-    private static final UUri UNSUBSCRIBE_METHOD = UriFactory.fromProto(USUBSCRIPTION, 2);
-    private static final UUri FETCH_SUBSCRIBERS_METHOD = UriFactory.fromProto(USUBSCRIPTION, 8);
-    private static final UUri FETCH_SUBSCRIPTIONS_METHOD = UriFactory.fromProto(USUBSCRIPTION, 3);
-    private static final UUri REGISTER_NOTIFICATIONS_METHOD = UriFactory.fromProto(USUBSCRIPTION, 6);
-    private static final UUri UNREGISTER_NOTIFICATIONS_METHOD = UriFactory.fromProto(USUBSCRIPTION, 7);
+    // Method URIs resolved from the method_id options of the service
+    private static final ServiceUriCatalog CATALOG = ServiceUriCatalog.of(USUBSCRIPTION);
+    private static final UUri SUBSCRIBE_METHOD = CATALOG.getMethod("Subscribe");
+    private static final UUri UNSUBSCRIBE_METHOD = CATALOG.getMethod("Unsubscribe");
+    private static final UUri FETCH_SUBSCRIBERS_METHOD = CATALOG.getMethod("FetchSubscribers");
+    private static final UUri FETCH_SUBSCRIPTIONS_METHOD = CATALOG.getMethod("FetchSubscriptions");
+    private static final UUri REGISTER_NOTIFICATIONS_METHOD = CATALOG.getMethod("RegisterForNotifications");
+    private static final UUri UNREGISTER_NOTIFICATIONS_METHOD = CATALOG.getMethod("UnregisterForNotifications");
 
-    private static final UUri NOTIFICATION_TOPIC = UriFactory.fromProto(USUBSCRIPTION, 0x8000);
+    private static final UUri NOTIFICATION_TOPIC = CATALOG.getResource(0x8000);
 
 
-    // Map to store subscription change notification handlers
-    private final ConcurrentHashMap<UUri, SubscriptionChangeHandler> mHandlers = new ConcurrentHashMap<>();
+    // Map to store subscription change notification handlers, keyed by packed topic URIs
+    private final PackedUriMap<SubscriptionChangeHandler> mHandlers = new PackedUriMap<>();
 
     // transport Notification listener that will process subscription change notifications
     private final UListener mNotificationListener = this::handleNotifications;
@@ -381,15 +382,15 @@ public class InMemoryUSubscriptionClient implements USubscriptionClient {
             // Check if we have a handler registered for the subscription change notification for the specific 
             // topic that triggered the subscription change notification. It is very possible that the client
             // did not register one to begin with (i.e they don't care to receive it)
-            mHandlers.computeIfPresent(subscriptionUpdate.get().getTopic(), (topic, handler) -> {
+            final SubscriptionChangeHandler handler = mHandlers.get(subscriptionUpdate.get().getTopic());
+            if (handler != null) {
                 try {
                     handler.handleSubscriptionChange(subscriptionUpdate.get().getTopic(), 
                         subscriptionUpdate.get().getStatus());
                 } catch (Exception e) {
                     Logger.getGlobal().info(e.getMessage());
                 }
-                return handler;
-            });
+            }
         }
     }
 }
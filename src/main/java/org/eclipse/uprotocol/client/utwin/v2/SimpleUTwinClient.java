@@ -23,7 +23,7 @@ import org.eclipse.uprotocol.communication.UStatusException;
 import org.eclipse.uprotocol.core.utwin.v2.GetLastMessagesRequest;
 import org.eclipse.uprotocol.core.utwin.v2.GetLastMessagesResponse;
 import org.eclipse.uprotocol.core.utwin.v2.UTwinProto;
-import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.factory.ServiceUriCatalog;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
@@ -39,8 +39,8 @@ public class SimpleUTwinClient implements UTwinClient {
 
     private static final ServiceDescriptor UTWIN = UTwinProto.getDescriptor().getServices().get(0);
 
-    // TODO: The following items eventually need to be pulled from generated code
-    private static final UUri GETLASTMESSAGE_METHOD = UriFactory.fromProto(UTWIN, 1);
+    // Method URI resolved from the method_id option of the service
+    private static final UUri GETLASTMESSAGE_METHOD = ServiceUriCatalog.of(UTWIN).getMethod("GetLastMessages");
 
 
     /**
@@ -0,0 +1,103 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clock returning the time read by a daemon thread at a fixed interval, so that reading it is a
+ * volatile read instead of a call to the system clock. The time may be behind the system clock by up
+ * to the interval, and it never goes back even when the system clock does.
+ *
+ * <p>Once closed the clock reads the system clock directly.
+ */
+public class CachedClock implements UClock, AutoCloseable {
+    private final long interval;
+    private final Thread ticker;
+
+    private volatile long now;
+    private volatile boolean closed;
+
+
+    /**
+     * Create a clock and start the thread updating it.
+     *
+     * @param interval The time in milliseconds between two updates.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public CachedClock(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.interval = interval;
+        this.now = System.currentTimeMillis();
+        this.ticker = new Thread(this::tick, "up-clock-ticker");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+
+    /**
+     * Return the time of the last update.
+     *
+     * @return Returns the current time in milliseconds since the epoch, within the interval.
+     */
+    @Override
+    public long millis() {
+        return closed ? System.currentTimeMillis() : now;
+    }
+
+
+    /**
+     * Return the time between two updates.
+     *
+     * @return Returns the interval in milliseconds.
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+
+    /**
+     * Stop the thread updating the clock.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(ticker);
+    }
+
+
+    private void tick() {
+        final long nanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        while (!closed) {
+            final long time = System.currentTimeMillis();
+            if (time > now) {
+                now = time;
+            }
+            LockSupport.parkNanos(this, nanos);
+        }
+    }
+
+
+    /**
+     * Holder of the clock shared by the process, created on first use.
+     */
+    static final class Shared {
+        static final CachedClock CLOCK = new CachedClock(1);
+
+        private Shared() {
+        }
+    }
+}
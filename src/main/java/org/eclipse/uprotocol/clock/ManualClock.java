@@ -0,0 +1,120 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.clock;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when told to, to test the handling of time to live and timeouts without
+ * waiting for them. Tasks scheduled with {@link #schedule(Runnable, long)} run on the thread that moves
+ * the clock to or past the end of their delay, for example the request timeouts of
+ * {@link org.eclipse.uprotocol.communication.InMemoryRpcClient}. It can be shared by threads.
+ */
+public class ManualClock implements UClock {
+    private final AtomicLong now;
+
+    // Tasks waiting for the clock to reach their time, in the order of their time and then of scheduling
+    private final PriorityQueue<Timer> timers =
+        new PriorityQueue<>(Comparator.comparingLong(Timer::time).thenComparingLong(Timer::sequence));
+    private long sequence;
+
+
+    /**
+     * Create a clock starting at the given time.
+     *
+     * @param start The initial time in milliseconds since the epoch.
+     */
+    public ManualClock(long start) {
+        this.now = new AtomicLong(start);
+    }
+
+
+    /**
+     * Return the time the clock was set to.
+     *
+     * @return Returns the current time in milliseconds since the epoch.
+     */
+    @Override
+    public long millis() {
+        return now.get();
+    }
+
+
+    /**
+     * Set the time of the clock.
+     *
+     * @param millis The new time in milliseconds since the epoch.
+     */
+    public void set(long millis) {
+        now.set(millis);
+        fire();
+    }
+
+
+    /**
+     * Move the clock forward, or back with a negative duration.
+     *
+     * @param millis The duration in milliseconds.
+     * @return Returns the new time in milliseconds since the epoch.
+     */
+    public long advance(long millis) {
+        final long time = now.addAndGet(millis);
+        fire();
+        return time;
+    }
+
+
+    /**
+     * Run a task once the clock was moved forward by a delay, right away if the delay is not positive.
+     *
+     * @param task The task to run on the thread that moves the clock.
+     * @param delay The delay in milliseconds.
+     */
+    @Override
+    public void schedule(Runnable task, long delay) {
+        synchronized (timers) {
+            if (delay > 0) {
+                timers.add(new Timer(now.get() + delay, sequence++, task));
+                return;
+            }
+        }
+        task.run();
+    }
+
+
+    /**
+     * Run the tasks whose time has come, outside of the lock so that they can schedule other tasks.
+     */
+    private void fire() {
+        while (true) {
+            final Timer timer;
+            synchronized (timers) {
+                timer = timers.peek();
+                if (timer == null || timer.time() > now.get()) {
+                    return;
+                }
+                timers.poll();
+            }
+            timer.task().run();
+        }
+    }
+
+
+    /**
+     * A task scheduled at a time of the clock.
+     */
+    private record Timer(long time, long sequence, Runnable task) {
+    }
+}
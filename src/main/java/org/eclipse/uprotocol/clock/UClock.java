@@ -0,0 +1,75 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.clock;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Source of the current time used to create message ids and to check their time to live and the
+ * timeouts of RPC requests.
+ *
+ * <p>{@link #SYSTEM} reads the system clock each time. {@link CachedClock} returns a time updated in
+ * the background for the hot paths that only need millisecond accuracy, and {@link ManualClock} is
+ * moved by hand to test the ttl and timeout handling deterministically, the timeouts are scheduled on
+ * the clock with {@link #schedule(Runnable, long)}. A clock is a
+ * {@link LongSupplier} so that it can be given to the classes taking the time as a supplier.
+ */
+@FunctionalInterface
+public interface UClock extends LongSupplier {
+
+    /**
+     * The system clock.
+     */
+    UClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Return the current time.
+     *
+     * @return Returns the current time in milliseconds since the epoch.
+     */
+    long millis();
+
+    /**
+     * Return the current time, same as {@link #millis()}.
+     *
+     * @return Returns the current time in milliseconds since the epoch.
+     */
+    @Override
+    default long getAsLong() {
+        return millis();
+    }
+
+    /**
+     * Run a task once a delay has passed on this clock. The default implementation waits for the delay
+     * on the scheduler of {@link CompletableFuture#delayedExecutor(long, TimeUnit)}, the one that also
+     * runs the timeouts of {@link CompletableFuture#orTimeout(long, TimeUnit)}.
+     *
+     * @param task The task to run.
+     * @param delay The delay in milliseconds.
+     */
+    default void schedule(Runnable task, long delay) {
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(task);
+    }
+
+    /**
+     * Return a clock shared by the process, updated every millisecond in the background. The thread
+     * updating it is started on the first call.
+     *
+     * @return Returns the shared cached clock.
+     */
+    static UClock cached() {
+        return CachedClock.Shared.CLOCK;
+    }
+}
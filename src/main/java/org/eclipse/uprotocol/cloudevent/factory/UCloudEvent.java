@@ -29,7 +29,7 @@ import io.cloudevents.CloudEventData;
 import io.cloudevents.core.builder.CloudEventBuilder;
 
 import org.eclipse.uprotocol.Uoptions;
-import org.eclipse.uprotocol.uri.serializer.UriSerializer;
+import org.eclipse.uprotocol.uri.serializer.UriCache;
 import org.eclipse.uprotocol.uuid.factory.UuidUtils;
 import org.eclipse.uprotocol.uuid.serializer.UuidSerializer;
 
@@ -417,7 +417,7 @@ public interface UCloudEvent {
         Objects.requireNonNull(event);
 
         UAttributes.Builder builder = UAttributes.newBuilder()
-                .setSource(UriSerializer.deserialize(getSource(event)))
+                .setSource(UriCache.getDefault().deserialize(getSource(event)))
                 .setId(UuidSerializer.deserialize(event.getId()))
                 .setType(getMessageType(event.getType()));
 
@@ -436,7 +436,7 @@ public interface UCloudEvent {
                 .orElse(UPriority.UPRIORITY_UNSPECIFIED))
                 .ifPresent(builder::setPriority);
 
-        getSink(event).map(UriSerializer::deserialize).ifPresent(builder::setSink);
+        getSink(event).map(UriCache.getDefault()::deserialize).ifPresent(builder::setSink);
 
         getRequestId(event).map(UuidSerializer::deserialize).ifPresent(builder::setReqid);
 
@@ -481,7 +481,7 @@ public interface UCloudEvent {
 
         cloudEventBuilder.withType(getEventType(attributes.getType()));
 
-        cloudEventBuilder.withSource(URI.create(UriSerializer.serialize(attributes.getSource())));
+        cloudEventBuilder.withSource(URI.create(UriCache.getDefault().serialize(attributes.getSource())));
 
         if (!message.getPayload().isEmpty()) {
             cloudEventBuilder.withData(message.getPayload().toByteArray());
@@ -503,7 +503,7 @@ public interface UCloudEvent {
 
         if (attributes.hasSink())
             cloudEventBuilder.withExtension("sink",
-                    URI.create(UriSerializer.serialize(attributes.getSink())));
+                    URI.create(UriCache.getDefault().serialize(attributes.getSink())));
 
         if (attributes.hasCommstatus())
             cloudEventBuilder.withExtension("commstatus", attributes.getCommstatus().getNumber());
@@ -16,7 +16,7 @@ import io.cloudevents.CloudEvent;
 import org.eclipse.uprotocol.cloudevent.factory.UCloudEvent;
 import org.eclipse.uprotocol.validation.ValidationResult;
 
-import org.eclipse.uprotocol.uri.serializer.UriSerializer;
+import org.eclipse.uprotocol.uri.serializer.UriCache;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
 
 import java.util.Optional;
@@ -151,7 +151,7 @@ public abstract class CloudEventValidator {
         @Override
         public ValidationResult validateSource(CloudEvent cloudEvent) {
             final String source = cloudEvent.getSource().toString();
-            return UriValidator.isTopic(UriSerializer.deserialize(source)) ? ValidationResult.success()
+            return UriValidator.isTopic(UriCache.getDefault().deserialize(source)) ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid Publish type CloudEvent source [%s].", source));
         }
@@ -192,14 +192,15 @@ public abstract class CloudEventValidator {
                         "Notification CloudEvent sink must be an uri.");
             }
             String sink = maybeSink.get();
-            return UriValidator.isDefaultResourceId(UriSerializer.deserialize(sink)) ? ValidationResult.success()
+            return UriValidator.isDefaultResourceId(UriCache.getDefault().deserialize(sink))
+                    ? ValidationResult.success()
                     : ValidationResult.failure(String.format("Invalid Notification type CloudEvent sink [%s].", sink));
         }
 
         @Override
         public ValidationResult validateSource(CloudEvent cloudEvent) {
             final String source = cloudEvent.getSource().toString();
-            return UriValidator.isTopic(UriSerializer.deserialize(source)) ? ValidationResult.success()
+            return UriValidator.isTopic(UriCache.getDefault().deserialize(source)) ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid Notification type CloudEvent source [%s].", source));
         }
@@ -226,7 +227,7 @@ public abstract class CloudEventValidator {
         @Override
         public ValidationResult validateSource(CloudEvent cloudEvent) {
             final String source = cloudEvent.getSource().toString();
-            return UriValidator.isRpcResponse(UriSerializer.deserialize(source)) ? ValidationResult.success()
+            return UriValidator.isRpcResponse(UriCache.getDefault().deserialize(source)) ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid RPC Request type CloudEvent source [%s].", source));
         }
@@ -238,7 +239,7 @@ public abstract class CloudEventValidator {
                 return ValidationResult.failure("Invalid CloudEvent sink. " +
                         "RPC Request CloudEvent sink must be an uri.");
             }
-            return UriValidator.isRpcMethod(UriSerializer.deserialize(sink.get())) ? ValidationResult.success()
+            return UriValidator.isRpcMethod(UriCache.getDefault().deserialize(sink.get())) ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid RPC Request type CloudEvent sink [%s].", sink.get()));
         }
@@ -264,7 +265,7 @@ public abstract class CloudEventValidator {
         @Override
         public ValidationResult validateSource(CloudEvent cloudEvent) {
             final String source = cloudEvent.getSource().toString();
-            return UriValidator.isRpcMethod(UriSerializer.deserialize(source)) ? ValidationResult.success()
+            return UriValidator.isRpcMethod(UriCache.getDefault().deserialize(source)) ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid RPC Response type CloudEvent source [%s].", source));
         }
@@ -276,7 +277,8 @@ public abstract class CloudEventValidator {
                 return ValidationResult.failure("Invalid CloudEvent sink. " +
                         "RPC Response CloudEvent sink must be an uri.");
             }
-            return UriValidator.isRpcResponse(UriSerializer.deserialize(sink.get())) ? ValidationResult.success()
+            return UriValidator.isRpcResponse(UriCache.getDefault().deserialize(sink.get()))
+                    ? ValidationResult.success()
                     : ValidationResult.failure(
                             String.format("Invalid RPC Response type CloudEvent sink [%s].", sink.get()));
         }
@@ -16,10 +16,13 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.uprotocol.clock.ManualClock;
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.interceptor.ExpiryInterceptor;
 import org.eclipse.uprotocol.uri.factory.UriFactory;
 import org.eclipse.uprotocol.v1.UAttributes;
 import org.eclipse.uprotocol.v1.UCode;
@@ -49,6 +52,12 @@ public class InMemoryRpcClient implements RpcClient {
     // Generic listener to handle all RPC response messages
     private final UListener mResponseHandler = this::handleResponses;
 
+    // Clock giving the time of the request ids and of the expiry checks
+    private final UClock clock;
+
+    // Discards the responses whose ttl has passed
+    private final ExpiryInterceptor expiry;
+
     
     /**
      * Constructor for the DefaultRpcClient.
@@ -56,8 +65,24 @@ public class InMemoryRpcClient implements RpcClient {
      * @param transport the transport to use for sending the RPC requests
      */
     public InMemoryRpcClient (UTransport transport) {
+        this(transport, UClock.SYSTEM);
+    }
+
+
+    /**
+     * Constructor for the DefaultRpcClient that takes the time from a clock, to create the ids of the
+     * requests and check the expiry of the responses. With a {@link ManualClock} the requests also time
+     * out when the clock is moved past their ttl.
+     * 
+     * @param transport the transport to use for sending the RPC requests
+     * @param clock the clock giving the current time, {@link UClock#cached()} to check the expiry
+     *              with a volatile read instead of a call to the system clock
+     */
+    public InMemoryRpcClient (UTransport transport, UClock clock) {
         Objects.requireNonNull(transport, UTransport.TRANSPORT_NULL_ERROR);
         this.transport = transport;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.expiry = new ExpiryInterceptor(clock);
    
         transport.registerListener(UriFactory.ANY, 
             transport.getSource(), mResponseHandler).toCompletableFuture().join();
@@ -83,12 +108,15 @@ public class InMemoryRpcClient implements RpcClient {
         if (!options.token().isBlank()) {
             builder.withToken(options.token());
         }
+        if (clock != UClock.SYSTEM) {
+            builder.withClock(clock);
+        }
         // Build a request uMessage
         request = builder.build(requestPayload);
         
         // Create the response future and store it in mRequests
-        CompletableFuture<UMessage> responseFuture = new CompletableFuture<UMessage>()
-                .orTimeout(request.getAttributes().getTtl(), TimeUnit.MILLISECONDS)
+        CompletableFuture<UMessage> responseFuture = timeout(new CompletableFuture<UMessage>(),
+                    request.getAttributes().getTtl())
                 .exceptionally(e -> {
                     throw new UStatusException(UCode.DEADLINE_EXCEEDED, "Request timed out");
                 })
@@ -110,6 +138,21 @@ public class InMemoryRpcClient implements RpcClient {
     }
 
 
+    /**
+     * Fail the future with a {@link TimeoutException} after the ttl of the request has passed on the
+     * clock of the client, so that a {@link ManualClock} fires the timeout when it is moved past the
+     * deadline and tests do not wait for it.
+     *
+     * @param future The future of the response.
+     * @param ttl The time to live of the request in milliseconds.
+     * @return Returns the future.
+     */
+    private <T> CompletableFuture<T> timeout(CompletableFuture<T> future, int ttl) {
+        clock.schedule(() -> future.completeExceptionally(new TimeoutException()), ttl);
+        return future;
+    }
+
+
     /**
      * Close the RPC client and clean up any resources
      */
@@ -118,13 +161,22 @@ public class InMemoryRpcClient implements RpcClient {
         transport.unregisterListener(UriFactory.ANY, transport.getSource(), mResponseHandler);
     }
 
+    /**
+     * Return the gate that discards expired responses, it counts the discarded responses per method.
+     *
+     * @return Returns the expiry gate of the client.
+     */
+    public ExpiryInterceptor getExpiryInterceptor() {
+        return expiry;
+    }
+
     /**
      * Handle the responses coming back from the server
      * @param response The response message from the server
      */
     private void handleResponses(UMessage response) {
         // Only handle responses messages, ignore all other messages like notifications
-        if (response.getAttributes().getType() != UMessageType.UMESSAGE_TYPE_RESPONSE) {
+        if (response.getAttributes().getType() != UMessageType.UMESSAGE_TYPE_RESPONSE || !expiry.onReceive(response)) {
             return;
         }
         
@@ -13,14 +13,19 @@
 package org.eclipse.uprotocol.communication;
 
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.dispatch.PriorityExecutor;
+import org.eclipse.uprotocol.transport.interceptor.ExpiryInterceptor;
 import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.PackedUriMap;
 import org.eclipse.uprotocol.v1.UAttributes;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
@@ -44,12 +49,22 @@ public class InMemoryRpcServer implements RpcServer {
     // The transport to use for sending the RPC requests
     private final UTransport transport;
 
-    // Map to store the request handlers so we can handle the right request on the server side
-    private final ConcurrentHashMap<UUri, RequestHandler> mRequestsHandlers = new ConcurrentHashMap<>();
+    // Map to store the request handlers so we can handle the right request on the server side,
+    // keyed by packed method URIs so that finding the handler of a request does not allocate
+    private final PackedUriMap<RequestHandler> mRequestsHandlers = new PackedUriMap<>();
 
     // Generic listener to handle all RPC request messages
     private final UListener mRequestHandler = this::handleRequests;
 
+    // Executor used to run the request handlers, null to run them on the transport listener thread
+    private final Executor executor;
+
+    // Clock giving the time of the response ids and of the expiry checks
+    private final UClock clock;
+
+    // Discards the requests whose ttl has passed before they reach the handlers
+    private final ExpiryInterceptor expiry;
+
 
     /**
      * Constructor for the DefaultRpcServer.
@@ -57,8 +72,41 @@ public class InMemoryRpcServer implements RpcServer {
      * @param transport the transport to use for sending the RPC requests
      */
     public InMemoryRpcServer (UTransport transport) {
+        this(transport, null);
+    }
+
+
+    /**
+     * Constructor for the DefaultRpcServer that runs the request handlers on the given executor.
+     * When the executor is a {@link PriorityExecutor} the requests are scheduled according to their
+     * {@link org.eclipse.uprotocol.v1.UPriority}, requests rejected by the executor are answered
+     * with {@link UCode#RESOURCE_EXHAUSTED}.
+     * 
+     * @param transport the transport to use for sending the RPC requests
+     * @param executor the executor to run the request handlers on, null to run them on the
+     *                 thread that delivered the request
+     */
+    public InMemoryRpcServer (UTransport transport, Executor executor) {
+        this(transport, executor, UClock.SYSTEM);
+    }
+
+
+    /**
+     * Constructor for the DefaultRpcServer that takes the time from a clock, to check the expiry of
+     * the requests and create the ids of the responses.
+     * 
+     * @param transport the transport to use for sending the RPC requests
+     * @param executor the executor to run the request handlers on, null to run them on the
+     *                 thread that delivered the request
+     * @param clock the clock giving the current time, {@link UClock#cached()} to check the expiry
+     *              with a volatile read instead of a call to the system clock
+     */
+    public InMemoryRpcServer (UTransport transport, Executor executor, UClock clock) {
         Objects.requireNonNull(transport, UTransport.TRANSPORT_NULL_ERROR);
         this.transport = transport;
+        this.executor = executor;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.expiry = new ExpiryInterceptor(clock);
     }
 
 
@@ -107,6 +155,9 @@ public class InMemoryRpcServer implements RpcServer {
             return CompletableFuture.completedFuture(UStatus.newBuilder().setCode(UCode.OK).build());
         } catch (UStatusException e) {
             return CompletableFuture.completedFuture(e.getStatus());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                UStatus.newBuilder().setCode(UCode.INVALID_ARGUMENT).setMessage(e.getMessage()).build());
         }
     }
 
@@ -148,6 +199,16 @@ public class InMemoryRpcServer implements RpcServer {
     }
 
 
+    /**
+     * Return the gate that discards expired requests, it counts the discarded requests per method.
+     *
+     * @return Returns the expiry gate of the server.
+     */
+    public ExpiryInterceptor getExpiryInterceptor() {
+        return expiry;
+    }
+
+
     /**
      * Generic incoming handler to process RPC requests from clients
      * @param request The request message from clients
@@ -162,12 +223,35 @@ public class InMemoryRpcServer implements RpcServer {
         
         // Check if the request is for one that we have registered a handler for, if not ignore it
         final RequestHandler handler = mRequestsHandlers.get(requestAttributes.getSink());
-        if (handler == null) {
+        if (handler == null || !expiry.onReceive(request)) {
+            return;
+        }
+
+        if (executor == null) {
+            handleRequest(request, handler);
             return;
         }
+        try {
+            PriorityExecutor.execute(executor, requestAttributes.getPriority(), () -> handleRequest(request, handler));
+        } catch (RejectedExecutionException e) {
+            transport.send(response(requestAttributes)
+                .withCommStatus(UCode.RESOURCE_EXHAUSTED).build());
+        }
+    }
+
 
+    /**
+     * Invoke the handler for a request and send the response back to the client
+     * @param request The request message from clients
+     * @param handler The handler registered for the method of the request
+     */
+    private void handleRequest(UMessage request, RequestHandler handler) {
+        // The request may have expired while waiting for the executor, nobody waits for the response
+        if (executor != null && !expiry.onReceive(request)) {
+            return;
+        }
         UPayload responsePayload;
-        UMessageBuilder responseBuilder = UMessageBuilder.response(request.getAttributes());
+        UMessageBuilder responseBuilder = response(request.getAttributes());
 
         try {
             responsePayload = handler.handleRequest(request);
@@ -185,4 +269,13 @@ public class InMemoryRpcServer implements RpcServer {
         // TODO: Handle error sending the response
         transport.send(responseBuilder.build(responsePayload));
     }
+
+
+    /**
+     * Start the response to a request, with an id taken from the clock of the server.
+     */
+    private UMessageBuilder response(UAttributes request) {
+        final UMessageBuilder builder = UMessageBuilder.response(request);
+        return clock == UClock.SYSTEM ? builder : builder.withClock(clock);
+    }
 }
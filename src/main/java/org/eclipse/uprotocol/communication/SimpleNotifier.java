@@ -12,12 +12,16 @@
  */
 package org.eclipse.uprotocol.communication;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.uprotocol.transport.BatchStatus;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 
@@ -66,6 +70,33 @@ public class SimpleNotifier  implements Notifier {
     }
 
 
+    /**
+     * Send a batch of notifications to a given destination, one notification per payload,
+     * using {@link UTransport#sendBatch(List)}. <br>
+     * 
+     * @param topic The topic to send the notifications to.
+     * @param destination The destination to send the notifications to.
+     * @param options Call options for the notifications.
+     * @param payloads The payloads to send, one notification is sent per payload.
+     * @return Returns the {@link BatchStatus} with the status of the notifications.
+     */
+    public CompletionStage<BatchStatus> notifyBatch(UUri topic, UUri destination, CallOptions options,
+            List<UPayload> payloads) {
+        Objects.requireNonNull(payloads, "Notification payloads missing");
+        final List<UMessage> messages = new ArrayList<>(payloads.size());
+        for (UPayload payload : payloads) {
+            UMessageBuilder builder = UMessageBuilder.notification(topic, destination);
+            if (options != null) {
+                builder.withPriority(options.priority());
+                builder.withTtl(options.timeout());
+                builder.withToken(options.token());
+            }
+            messages.add((payload == null) ? builder.build() : builder.build(payload));
+        }
+        return transport.sendBatch(messages);
+    }
+
+
     /**
      * Register a listener for a notification topic. <br>
      * 
@@ -12,11 +12,15 @@
  */
 package org.eclipse.uprotocol.communication;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.uprotocol.transport.BatchStatus;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 
@@ -62,4 +66,30 @@ public class SimplePublisher implements Publisher {
 
         return transport.send(builder.build(payload));
     }
+
+
+    /**
+     * Publish a batch of messages to a topic, one message per {@link UPayload}, using
+     * {@link UTransport#sendBatch(List)}.
+     *
+     * @param topic The topic to publish to.
+     * @param options The {@link CallOptions} for the publish.
+     * @param payloads The list of {@link UPayload} to publish.
+     * @return {@link BatchStatus} with the result for sending the published messages
+     */
+    public CompletionStage<BatchStatus> publishBatch(UUri topic, CallOptions options, List<UPayload> payloads) {
+        Objects.requireNonNull(topic, "Publish topic missing");
+        Objects.requireNonNull(payloads, "Publish payloads missing");
+        final List<UMessage> messages = new ArrayList<>(payloads.size());
+        for (UPayload payload : payloads) {
+            UMessageBuilder builder = UMessageBuilder.publish(topic);
+            if (options != null) {
+                builder.withPriority(options.priority());
+                builder.withTtl(options.timeout());
+                builder.withToken(options.token());
+            }
+            messages.add(builder.build(payload));
+        }
+        return transport.sendBatch(messages);
+    }
 }
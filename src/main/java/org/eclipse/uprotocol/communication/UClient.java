@@ -12,9 +12,11 @@
  */
 package org.eclipse.uprotocol.communication;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.uprotocol.transport.BatchStatus;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.v1.UStatus;
@@ -48,6 +50,14 @@ public class UClient implements RpcServer, Notifier, Publisher, RpcClient {
         return notifier.notify(topic, destination, options, payload);
     }
 
+    /**
+     * Send a batch of notifications, see {@link SimpleNotifier#notifyBatch(UUri, UUri, CallOptions, List)}.
+     */
+    public CompletionStage<BatchStatus> notifyBatch(UUri topic, UUri destination, CallOptions options,
+            List<UPayload> payloads) {
+        return notifier.notifyBatch(topic, destination, options, payloads);
+    }
+
     @Override
     public CompletionStage<UStatus> registerNotificationListener(UUri topic, UListener listener) {
         Objects.requireNonNull(transport, UTransport.TRANSPORT_NULL_ERROR);
@@ -66,6 +76,14 @@ public class UClient implements RpcServer, Notifier, Publisher, RpcClient {
     }
 
 
+    /**
+     * Publish a batch of messages, see {@link SimplePublisher#publishBatch(UUri, CallOptions, List)}.
+     */
+    public CompletionStage<BatchStatus> publishBatch(UUri topic, CallOptions options, List<UPayload> payloads) {
+        return publisher.publishBatch(topic, options, payloads);
+    }
+
+
     @Override
     public CompletionStage<UStatus> registerRequestHandler(UUri method, RequestHandler handler) {
         return rpcServer.registerRequestHandler(method, handler);
@@ -0,0 +1,366 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.uprotocol.uri.validator.UriValidator;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * {@link UTransport} decorator that limits the number of messages being sent on the wrapped transport.
+ *
+ * <p>Every call to {@link #send(UMessage)} needs a global credit and a credit of the message topic, the
+ * credits are returned when the send of the wrapped transport completes. The topic of a message is its
+ * source for publish and notification messages and its sink for RPC requests and responses.
+ *
+ * <p>When no credit is available the message is either queued, up to the capacity of a bounded outbound
+ * queue, and sent once credits are returned ({@link OverflowPolicy#WAIT}), or the send fails immediately
+ * ({@link OverflowPolicy#FAIL_FAST}). In both cases a message that cannot be accepted fails with
+ * {@link UCode#RESOURCE_EXHAUSTED}. Messages of the same topic are always sent in order, queued topics
+ * are served round robin.
+ *
+ * <p>The decorator is transparent to the communication layer, it can be passed to {@code SimplePublisher},
+ * {@code SimpleNotifier} or {@code InMemoryRpcClient} like any other transport.
+ */
+public class BackpressureUTransport implements UTransport {
+
+    /**
+     * What to do with a message when there are no credits to send it.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Queue the message and send it when credits are available, fail if the queue is full.
+         */
+        WAIT,
+
+        /**
+         * Fail the send immediately.
+         */
+        FAIL_FAST
+    }
+
+    private static final UStatus NO_CREDITS = UStatus.newBuilder()
+        .setCode(UCode.RESOURCE_EXHAUSTED).setMessage("No send credits available").build();
+
+    private static final UStatus QUEUE_FULL = UStatus.newBuilder()
+        .setCode(UCode.RESOURCE_EXHAUSTED).setMessage("Send queue is full").build();
+
+    private static final UStatus CLOSED = UStatus.newBuilder()
+        .setCode(UCode.UNAVAILABLE).setMessage("Transport is closed").build();
+
+    private final UTransport transport;
+    private final int globalCredits;
+    private final int topicCredits;
+    private final int queueCapacity;
+    private final OverflowPolicy policy;
+
+    private final Object lock = new Object();
+
+    // The following are guarded by lock
+    private final Map<UUri, Topic> topics = new HashMap<>();
+    private final ArrayDeque<Topic> waiting = new ArrayDeque<>();
+    private final ArrayDeque<Pending> ready = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+    private boolean closed;
+
+    // Number of requests to drain the ready messages, only one thread drains at a time
+    private final AtomicInteger drains = new AtomicInteger();
+
+
+    /**
+     * Create a backpressure decorator.
+     *
+     * @param transport The transport to send the messages on.
+     * @param globalCredits The maximum number of messages being sent at the same time.
+     * @param topicCredits The maximum number of messages of the same topic being sent at the same time.
+     * @param queueCapacity The maximum number of messages waiting for credits, used with
+     *                      {@link OverflowPolicy#WAIT}.
+     * @param policy What to do with a message when there are no credits to send it.
+     */
+    public BackpressureUTransport(UTransport transport, int globalCredits, int topicCredits, int queueCapacity,
+            OverflowPolicy policy) {
+        Objects.requireNonNull(transport, UTransport.TRANSPORT_NULL_ERROR);
+        Objects.requireNonNull(policy, "Overflow policy cannot be null");
+        if (globalCredits <= 0 || topicCredits <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Credits must be positive and queue capacity not negative");
+        }
+        this.transport = transport;
+        this.globalCredits = globalCredits;
+        this.topicCredits = topicCredits;
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+    }
+
+
+    /**
+     * Send a message once a global and a topic credit are available.
+     *
+     * @param message the {@link UMessage} to be sent.
+     * @return Returns the status of the wrapped transport send, or {@link UCode#RESOURCE_EXHAUSTED} if
+     *         the message could not be accepted.
+     */
+    @Override
+    public CompletionStage<UStatus> send(UMessage message) {
+        if (message == null) {
+            return transport.send(null);
+        }
+        final UUri key = topicOf(message);
+        final Topic topic;
+        final Pending pending;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.completedFuture(CLOSED);
+            }
+            Topic current = topics.get(key);
+            if (current == null) {
+                current = new Topic(key);
+                topics.put(key, current);
+            }
+            topic = current;
+
+            if (ready.isEmpty() && topic.pending.isEmpty() && hasCredits(topic)) {
+                acquire(topic);
+                pending = null;
+            } else if (policy == OverflowPolicy.FAIL_FAST || queued >= queueCapacity) {
+                release(topic, false);
+                return CompletableFuture.completedFuture(
+                    policy == OverflowPolicy.FAIL_FAST ? NO_CREDITS : QUEUE_FULL);
+            } else {
+                pending = new Pending(topic, message, new CompletableFuture<>());
+                topic.pending.addLast(pending);
+                queued++;
+                if (!topic.waiting) {
+                    topic.waiting = true;
+                    waiting.addLast(topic);
+                }
+                schedule();
+            }
+        }
+
+        if (pending == null) {
+            return dispatch(topic, message);
+        }
+        drain();
+        return pending.result();
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        return transport.registerListener(sourceFilter, sinkFilter, listener);
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        return transport.unregisterListener(sourceFilter, sinkFilter, listener);
+    }
+
+
+    @Override
+    public UUri getSource() {
+        return transport.getSource();
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> open() {
+        return transport.open();
+    }
+
+
+    /**
+     * Fail all the queued messages with {@link UCode#UNAVAILABLE} and close the wrapped transport.
+     */
+    @Override
+    public void close() {
+        final List<Pending> dropped = new ArrayList<>();
+        synchronized (lock) {
+            closed = true;
+            dropped.addAll(ready);
+            ready.clear();
+            for (Topic topic : waiting) {
+                dropped.addAll(topic.pending);
+                topic.pending.clear();
+            }
+            waiting.clear();
+            queued = 0;
+        }
+        for (Pending pending : dropped) {
+            pending.result().complete(CLOSED);
+        }
+        transport.close();
+    }
+
+
+    /**
+     * Return the number of messages being sent on the wrapped transport.
+     *
+     * @return Returns the number of global credits in use.
+     */
+    public int getInFlightCount() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+
+    /**
+     * Return the number of messages waiting for credits.
+     *
+     * @return Returns the number of messages in the outbound queue.
+     */
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queued + ready.size();
+        }
+    }
+
+
+    private static UUri topicOf(UMessage message) {
+        final UUri source = message.getAttributes().getSource();
+        return UriValidator.isTopic(source) ? source : message.getAttributes().getSink();
+    }
+
+
+    private boolean hasCredits(Topic topic) {
+        return inFlight < globalCredits && topic.inFlight < topicCredits;
+    }
+
+
+    private void acquire(Topic topic) {
+        inFlight++;
+        topic.inFlight++;
+    }
+
+
+    /**
+     * Return the credits of a topic, if any, and forget the topic once it is idle.
+     */
+    private void release(Topic topic, boolean credits) {
+        if (credits) {
+            inFlight--;
+            topic.inFlight--;
+        }
+        if (topic.inFlight == 0 && topic.pending.isEmpty() && topics.get(topic.key) == topic) {
+            topics.remove(topic.key);
+        }
+    }
+
+
+    /**
+     * Move the queued messages that can get credits to the ready queue, serving the waiting topics round robin.
+     */
+    private void schedule() {
+        boolean progress = true;
+        while (progress && inFlight < globalCredits && !waiting.isEmpty()) {
+            progress = false;
+            for (int i = waiting.size(); i > 0 && inFlight < globalCredits; i--) {
+                final Topic topic = waiting.pollFirst();
+                if (topic.inFlight < topicCredits) {
+                    acquire(topic);
+                    ready.addLast(topic.pending.pollFirst());
+                    queued--;
+                    progress = true;
+                }
+                if (topic.pending.isEmpty()) {
+                    topic.waiting = false;
+                } else {
+                    waiting.addLast(topic);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Send the ready messages. Sends that complete synchronously return their credits and schedule more
+     * messages while draining, the loop picks them up instead of recursing.
+     */
+    private void drain() {
+        if (drains.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (true) {
+                final Pending pending;
+                synchronized (lock) {
+                    pending = ready.pollFirst();
+                }
+                if (pending == null) {
+                    break;
+                }
+                dispatch(pending.topic(), pending.message()).whenComplete((status, exception) -> {
+                    if (exception != null) {
+                        pending.result().completeExceptionally(exception);
+                    } else {
+                        pending.result().complete(status);
+                    }
+                });
+            }
+            missed = drains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+
+    private CompletionStage<UStatus> dispatch(Topic topic, UMessage message) {
+        CompletionStage<UStatus> result;
+        try {
+            result = transport.send(message);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedStage(e);
+        }
+        return result.whenComplete((status, exception) -> {
+            synchronized (lock) {
+                release(topic, true);
+                schedule();
+            }
+            drain();
+        });
+    }
+
+
+    /**
+     * Credits in use and messages waiting for credits of a topic.
+     */
+    private static final class Topic {
+        private final UUri key;
+        private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+        private int inFlight;
+        private boolean waiting;
+
+        Topic(UUri key) {
+            this.key = key;
+        }
+    }
+
+
+    /**
+     * A message waiting to be sent.
+     */
+    private record Pending(Topic topic, UMessage message, CompletableFuture<UStatus> result) { }
+}
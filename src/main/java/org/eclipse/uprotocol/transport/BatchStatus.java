@@ -0,0 +1,166 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.eclipse.uprotocol.communication.UStatusException;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UStatus;
+
+/**
+ * Aggregate result of sending a batch of messages with {@link UTransport#sendBatch(java.util.List)}.
+ *
+ * <p>The {@link #status()} is {@link UCode#OK} when every message of the batch was sent, otherwise it
+ * carries the code of the first failed message and {@link #failures()} holds the status of each
+ * failed message keyed by its index in the batch.
+ *
+ * @param status The aggregate status of the batch.
+ * @param failures The status of the messages that failed, keyed by index in the batch.
+ */
+public record BatchStatus(UStatus status, SortedMap<Integer, UStatus> failures) {
+    private static final BatchStatus SUCCESS =
+        new BatchStatus(UStatus.newBuilder().setCode(UCode.OK).build(), Collections.emptySortedMap());
+
+    private static final CompletionStage<BatchStatus> SUCCESS_STAGE = CompletableFuture.completedStage(SUCCESS);
+
+    public BatchStatus {
+        Objects.requireNonNull(status, "Status cannot be null");
+        failures = failures == null || failures.isEmpty()
+            ? Collections.emptySortedMap() : Collections.unmodifiableSortedMap(new TreeMap<>(failures));
+    }
+
+
+    /**
+     * Check if every message of the batch was sent.
+     *
+     * @return Returns true if the aggregate status is {@link UCode#OK}.
+     */
+    public boolean isSuccess() {
+        return status.getCode() == UCode.OK;
+    }
+
+
+    /**
+     * Return the batch status of a batch where every message was sent.
+     *
+     * @return Returns the shared successful batch status.
+     */
+    public static BatchStatus success() {
+        return SUCCESS;
+    }
+
+
+    /**
+     * Build the batch status for a batch that failed as a whole, for example because the batch
+     * itself was invalid.
+     *
+     * @param code The failure code.
+     * @param message The failure message.
+     * @return Returns the batch status with no per message failures.
+     */
+    public static BatchStatus failure(UCode code, String message) {
+        return new BatchStatus(UStatus.newBuilder().setCode(code).setMessage(message).build(), null);
+    }
+
+
+    /**
+     * Build the batch status from the status of the failed messages of a batch.
+     *
+     * @param count The number of messages in the batch.
+     * @param failures The status of the failed messages keyed by index, may be null or empty.
+     * @return Returns the successful batch status if there are no failures, otherwise a batch status
+     *         with the code of the first failure.
+     */
+    public static BatchStatus of(int count, Map<Integer, UStatus> failures) {
+        if (failures == null || failures.isEmpty()) {
+            return SUCCESS;
+        }
+        final SortedMap<Integer, UStatus> sorted = new TreeMap<>(failures);
+        final UStatus first = sorted.get(sorted.firstKey());
+        return new BatchStatus(UStatus.newBuilder().setCode(first.getCode())
+            .setMessage(String.format("%d of %d messages failed", sorted.size(), count)).build(), sorted);
+    }
+
+
+    /**
+     * Send the messages of a batch one by one and aggregate the results into a single {@link BatchStatus}.
+     * A message whose send completes exceptionally is reported as a failure of that message.
+     *
+     * @param count The number of messages in the batch.
+     * @param sender Sends the message at the given index of the batch.
+     * @return Returns the batch status completed once all the sends have completed.
+     */
+    public static CompletionStage<BatchStatus> collect(int count, IntFunction<CompletionStage<UStatus>> sender) {
+        if (count == 0) {
+            return SUCCESS_STAGE;
+        }
+        final UStatus[] results = new UStatus[count];
+        final AtomicInteger remaining = new AtomicInteger(count);
+        final CompletableFuture<BatchStatus> batch = new CompletableFuture<>();
+
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            CompletionStage<UStatus> stage;
+            try {
+                stage = sender.apply(index);
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedStage(e);
+            }
+            stage.whenComplete((status, exception) -> {
+                results[index] = exception == null ? status : toStatus(exception);
+                if (remaining.decrementAndGet() == 0) {
+                    batch.complete(of(results));
+                }
+            });
+        }
+        return batch;
+    }
+
+
+    private static BatchStatus of(UStatus[] results) {
+        SortedMap<Integer, UStatus> failures = null;
+        for (int i = 0; i < results.length; i++) {
+            final UStatus status = results[i];
+            if (status == null || status.getCode() != UCode.OK) {
+                if (failures == null) {
+                    failures = new TreeMap<>();
+                }
+                failures.put(i, status == null
+                    ? UStatus.newBuilder().setCode(UCode.INTERNAL).setMessage("Missing send status").build()
+                    : status);
+            }
+        }
+        return of(results.length, failures);
+    }
+
+
+    private static UStatus toStatus(Throwable exception) {
+        final Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause() : exception;
+        if (cause instanceof UStatusException statusException) {
+            return statusException.getStatus();
+        }
+        return UStatus.newBuilder().setCode(UCode.INTERNAL)
+            .setMessage(String.valueOf(cause.getMessage())).build();
+    }
+}
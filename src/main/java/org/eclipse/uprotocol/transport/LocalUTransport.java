@@ -0,0 +1,436 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.transport.dispatch.DispatchMode;
+import org.eclipse.uprotocol.transport.dispatch.PriorityExecutor;
+import org.eclipse.uprotocol.transport.dispatch.SerialExecutor;
+import org.eclipse.uprotocol.transport.validate.UAttributesValidator;
+import org.eclipse.uprotocol.uri.validator.UriFilter;
+import org.eclipse.uprotocol.uri.validator.UriFilterIndex;
+import org.eclipse.uprotocol.uri.validator.UriValidator;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPriority;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.eclipse.uprotocol.validation.ValidationResult;
+
+/**
+ * In-process implementation of {@link UTransport} for uEntities that live in the same JVM.
+ *
+ * <p>Messages passed to {@link #send(UMessage)} are routed directly to the listeners whose
+ * {@link UriFilter} matches the message attributes, no serialization is involved. Listeners are
+ * invoked on a bounded dispatch {@link Executor}, one task is submitted per message (not per
+ * listener) and no threads are created per message. When the dispatch executor cannot accept
+ * more work the send fails with {@link UCode#RESOURCE_EXHAUSTED}.
+ *
+ * <p>Several uEntities share the same listener registry by calling {@link #attach(UUri)}, each
+ * attached transport has its own source address and its own set of registered listeners that are
+ * removed when it is closed.
+ *
+ * <p>When the dispatch executor is a {@link PriorityExecutor}, such as
+ * {@link org.eclipse.uprotocol.transport.dispatch.PriorityDispatcher}, messages are dispatched
+ * according to their {@link UPriority}, a batch is dispatched with the highest priority of its messages.
+ *
+ * <p>Listeners that block, such as request handlers, should be dispatched with
+ * {@link DispatchMode#PER_LISTENER} or {@link DispatchMode#PER_TOPIC} on an executor from
+ * {@link org.eclipse.uprotocol.transport.dispatch.VirtualThreads} so that they do not stall the
+ * delivery of other messages.
+ *
+ * <p><b>NOTE:</b> When the dispatch executor has more than one thread, messages are not guaranteed
+ * to be delivered in the order they were sent. Pass a single threaded executor if ordering is required.
+ */
+public class LocalUTransport implements UTransport {
+    /**
+     * Default capacity of the dispatch queue used when no executor is provided.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+
+    private static final CompletionStage<UStatus> OK =
+        CompletableFuture.completedStage(UStatus.newBuilder().setCode(UCode.OK).build());
+
+    private final UUri source;
+
+    // Registry and dispatcher shared by all the transports attached to one another
+    private final Router router;
+
+
+    /**
+     * Create a local transport with the default bounded dispatch pool, that has one thread per available
+     * processor. The pool is created on first use and shared by all the transports created this way, its
+     * daemon threads are not tied to any transport and are not stopped when a transport is closed.
+     *
+     * @param source The source address of the uE using this transport.
+     */
+    public LocalUTransport(UUri source) {
+        this(source, DefaultExecutor.EXECUTOR);
+    }
+
+
+    /**
+     * Create a local transport that dispatches messages to listeners using the given executor.
+     *
+     * @param source The source address of the uE using this transport.
+     * @param executor The executor used to invoke the listeners, the executor should be bounded.
+     */
+    public LocalUTransport(UUri source, Executor executor) {
+        this(source, executor, DispatchMode.PER_MESSAGE);
+    }
+
+
+    /**
+     * Create a local transport that dispatches messages to listeners using the given executor and mode.
+     *
+     * @param source The source address of the uE using this transport.
+     * @param executor The executor used to invoke the listeners.
+     * @param mode How the delivery of a message is split into tasks of the executor.
+     */
+    public LocalUTransport(UUri source, Executor executor, DispatchMode mode) {
+        this(source, new Router(Objects.requireNonNull(executor, "Executor cannot be null"),
+            Objects.requireNonNull(mode, "Dispatch mode cannot be null")));
+    }
+
+
+    private LocalUTransport(UUri source, Router router) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        this.source = source;
+        this.router = router;
+    }
+
+
+    /**
+     * Create a new transport for another uE that shares the listener registry and
+     * dispatch executor of this transport, messages sent on one are received on the other.
+     *
+     * @param source The source address of the uE using the new transport.
+     * @return Returns a new transport attached to this one.
+     */
+    public LocalUTransport attach(UUri source) {
+        return new LocalUTransport(source, router);
+    }
+
+
+    /**
+     * Create a bounded executor suitable for dispatching messages to listeners. The executor
+     * uses daemon threads and rejects tasks when the queue is full.
+     *
+     * @param threads The number of dispatch threads.
+     * @param queueCapacity The maximum number of messages waiting to be dispatched.
+     * @return Returns the dispatch executor.
+     */
+    public static ThreadPoolExecutor newDispatchExecutor(int threads, int queueCapacity) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "up-local-dispatch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+
+    /**
+     * Send a message to all the listeners, registered on any attached transport, whose filters match
+     * the message attributes.
+     *
+     * @param message the {@link UMessage} to be sent.
+     * @return Returns {@link UStatus} with {@link UCode#OK} if the message was accepted for dispatch,
+     *         {@link UCode#INVALID_ARGUMENT} if the message is invalid or {@link UCode#RESOURCE_EXHAUSTED}
+     *         if the dispatch executor is full.
+     */
+    @Override
+    public CompletionStage<UStatus> send(UMessage message) {
+        final UStatus status = router.route(message);
+        return status == null ? OK : CompletableFuture.completedStage(status);
+    }
+
+
+    /**
+     * Send a batch of messages, with {@link DispatchMode#PER_MESSAGE} the listeners of all the messages
+     * of the batch are invoked in order by a single dispatch task, otherwise each message is dispatched
+     * as if it was sent on its own.
+     *
+     * @param messages the list of {@link UMessage} to be sent.
+     * @return Returns {@link BatchStatus} with the aggregate status of the batch and the status of each
+     *         message that failed, the messages that could not be dispatched fail with
+     *         {@link UCode#RESOURCE_EXHAUSTED}.
+     */
+    @Override
+    public CompletionStage<BatchStatus> sendBatch(List<UMessage> messages) {
+        return CompletableFuture.completedStage(router.routeBatch(messages));
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return CompletableFuture.completedStage(UStatus.newBuilder()
+                .setCode(UCode.INVALID_ARGUMENT).setMessage("Listener cannot be null").build());
+        }
+        router.add(new Registration(new UriFilter(sourceFilter, sinkFilter), listener, this));
+        return OK;
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return CompletableFuture.completedStage(UStatus.newBuilder()
+                .setCode(UCode.INVALID_ARGUMENT).setMessage("Listener cannot be null").build());
+        }
+        if (router.remove(new Registration(new UriFilter(sourceFilter, sinkFilter), listener, this))) {
+            return OK;
+        }
+        return CompletableFuture.completedStage(UStatus.newBuilder()
+            .setCode(UCode.NOT_FOUND).setMessage("Listener not found").build());
+    }
+
+
+    @Override
+    public UUri getSource() {
+        return source;
+    }
+
+
+    /**
+     * Unregister all the listeners that were registered through this transport.
+     */
+    @Override
+    public void close() {
+        router.removeAll(this);
+    }
+
+
+    /**
+     * Holder of the default dispatch pool shared by the process, created on first use.
+     */
+    private static final class DefaultExecutor {
+        static final ThreadPoolExecutor EXECUTOR =
+            newDispatchExecutor(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+
+        private DefaultExecutor() {
+        }
+    }
+
+
+    /**
+     * A listener registered through a given transport for a given filter.
+     */
+    private record Registration(UriFilter filter, UListener listener, LocalUTransport owner) { }
+
+
+    /**
+     * Registry of listeners shared by attached transports, indexed so that routing a message
+     * only looks at the listeners that match it.
+     */
+    private static final class Router {
+        private static final UStatus DISPATCH_QUEUE_FULL = UStatus.newBuilder()
+            .setCode(UCode.RESOURCE_EXHAUSTED).setMessage("Dispatch queue is full").build();
+
+        private final Executor executor;
+        private final DispatchMode mode;
+
+        // Per topic queues, only used with DispatchMode.PER_TOPIC
+        private final SerialExecutor topics;
+
+        private final UriFilterIndex<Registration> registrations = new UriFilterIndex<>();
+
+        Router(Executor executor, DispatchMode mode) {
+            this.executor = executor;
+            this.mode = mode;
+            this.topics = mode == DispatchMode.PER_TOPIC ? new SerialExecutor(executor) : null;
+        }
+
+        void add(Registration registration) {
+            registrations.add(registration.filter(), registration);
+        }
+
+        boolean remove(Registration registration) {
+            return registrations.remove(registration.filter(), registration);
+        }
+
+        void removeAll(LocalUTransport owner) {
+            registrations.removeIf((filter, registration) -> registration.owner() == owner);
+        }
+
+        /**
+         * Route the message to the matching listeners.
+         *
+         * @return Returns null if the message was accepted, otherwise the failure status.
+         */
+        UStatus route(UMessage message) {
+            final UStatus invalid = validate(message);
+            if (invalid != null) {
+                return invalid;
+            }
+
+            final List<Registration> matches = registrations.match(message.getAttributes());
+            if (matches.isEmpty()) {
+                return null;
+            }
+
+            try {
+                dispatch(message, matches);
+            } catch (RejectedExecutionException e) {
+                return DISPATCH_QUEUE_FULL;
+            }
+            return null;
+        }
+
+        /**
+         * Submit the delivery of a message to the matching listeners according to the dispatch mode.
+         * With {@link DispatchMode#PER_LISTENER} the listeners submitted before a rejection still
+         * receive the message.
+         *
+         * @throws RejectedExecutionException if the executor cannot accept the delivery.
+         */
+        private void dispatch(UMessage message, List<Registration> matches) {
+            final UPriority priority = message.getAttributes().getPriority();
+            if (mode == DispatchMode.PER_LISTENER) {
+                for (int i = 0; i < matches.size(); i++) {
+                    final List<Registration> listener = List.of(matches.get(i));
+                    PriorityExecutor.execute(executor, priority, () -> deliver(message, listener));
+                }
+            } else if (mode == DispatchMode.PER_TOPIC) {
+                topics.execute(topicOf(message), priority, () -> deliver(message, matches));
+            } else {
+                PriorityExecutor.execute(executor, priority, () -> deliver(message, matches));
+            }
+        }
+
+        /**
+         * Return the topic of a message, its source for publish and notification messages and
+         * its sink for RPC requests and responses.
+         */
+        private static UUri topicOf(UMessage message) {
+            final UUri source = message.getAttributes().getSource();
+            return UriValidator.isTopic(source) ? source : message.getAttributes().getSink();
+        }
+
+        /**
+         * Route a batch of messages to the matching listeners, using a single dispatch task
+         * with {@link DispatchMode#PER_MESSAGE}.
+         */
+        BatchStatus routeBatch(List<UMessage> messages) {
+            if (messages == null) {
+                return BatchStatus.failure(UCode.INVALID_ARGUMENT, "Messages cannot be null");
+            }
+            final int count = messages.size();
+            final UMessage[] routed = new UMessage[count];
+            @SuppressWarnings("unchecked")
+            final List<Registration>[] matches = new List[count];
+            Map<Integer, UStatus> failures = null;
+            boolean batched = false;
+            int priority = UPriority.UPRIORITY_UNSPECIFIED_VALUE;
+
+            for (int i = 0; i < count; i++) {
+                final UMessage message = messages.get(i);
+                final UStatus invalid = validate(message);
+                if (invalid != null) {
+                    if (failures == null) {
+                        failures = new HashMap<>();
+                    }
+                    failures.put(i, invalid);
+                    continue;
+                }
+                routed[i] = message;
+                matches[i] = registrations.match(message.getAttributes());
+                if (matches[i].isEmpty()) {
+                    continue;
+                }
+                if (mode != DispatchMode.PER_MESSAGE) {
+                    try {
+                        dispatch(message, matches[i]);
+                    } catch (RejectedExecutionException e) {
+                        if (failures == null) {
+                            failures = new HashMap<>();
+                        }
+                        failures.put(i, DISPATCH_QUEUE_FULL);
+                    }
+                    continue;
+                }
+                batched = true;
+                priority = Math.max(priority, message.getAttributes().getPriorityValue());
+            }
+
+            if (batched) {
+                try {
+                    PriorityExecutor.execute(executor, UPriority.forNumber(priority), () -> {
+                        for (int i = 0; i < count; i++) {
+                            if (matches[i] != null && !matches[i].isEmpty()) {
+                                deliver(routed[i], matches[i]);
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    if (failures == null) {
+                        failures = new HashMap<>();
+                    }
+                    for (int i = 0; i < count; i++) {
+                        if (matches[i] != null && !matches[i].isEmpty()) {
+                            failures.put(i, DISPATCH_QUEUE_FULL);
+                        }
+                    }
+                }
+            }
+            return BatchStatus.of(count, failures);
+        }
+
+        /**
+         * Validate the message attributes.
+         *
+         * @return Returns null if the message is valid, otherwise the failure status.
+         */
+        private static UStatus validate(UMessage message) {
+            if (message == null) {
+                return UStatus.newBuilder()
+                    .setCode(UCode.INVALID_ARGUMENT).setMessage("Message cannot be null").build();
+            }
+            final UAttributes attributes = message.getAttributes();
+            final ValidationResult result = UAttributesValidator.getValidator(attributes).validate(attributes);
+            if (result.isFailure()) {
+                return UStatus.newBuilder().setCode(UCode.INVALID_ARGUMENT).setMessage(result.getMessage()).build();
+            }
+            return null;
+        }
+
+        private static void deliver(UMessage message, List<Registration> matches) {
+            for (int i = 0; i < matches.size(); i++) {
+                try {
+                    matches.get(i).listener().onReceive(message);
+                } catch (RuntimeException e) {
+                    Logger.getGlobal().log(Level.WARNING, "Listener failed to process message", e);
+                }
+            }
+        }
+    }
+}
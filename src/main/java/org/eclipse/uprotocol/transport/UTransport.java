@@ -12,6 +12,7 @@
  */
 package org.eclipse.uprotocol.transport;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CompletableFuture;
 
@@ -44,6 +45,25 @@ public interface UTransport {
     CompletionStage<UStatus> send(UMessage message);
 
 
+    /**
+     * Send a batch of messages over the transport.
+     *
+     * The default implementation calls {@link #send(UMessage)} for each message, transports that can
+     * write many messages at once should override it.
+     *
+     * @param messages the list of {@link UMessage} to be sent.
+     * @return Returns {@link BatchStatus} with the aggregate status of the batch and the
+     *         status of each message that failed.
+     */
+    default CompletionStage<BatchStatus> sendBatch(List<UMessage> messages) {
+        if (messages == null) {
+            return CompletableFuture.completedFuture(
+                BatchStatus.failure(UCode.INVALID_ARGUMENT, "Messages cannot be null"));
+        }
+        return BatchStatus.collect(messages.size(), index -> send(messages.get(index)));
+    }
+
+
     /**
      * Register {@code UListener} for {@code UUri} source filters to be called when
      * a message is received.
@@ -23,6 +23,7 @@ import org.eclipse.uprotocol.v1.UUID;
 
 import com.google.protobuf.ByteString;
 
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.communication.UPayload;
 import org.eclipse.uprotocol.transport.validate.UAttributesValidator;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
@@ -38,7 +39,10 @@ import java.util.Optional;
 public class UMessageBuilder {
 
     private final UUri source;
-    private final UUID id;
+    // Replaced by an id created from the clock, if any, when the message is first built
+    private UUID id;
+    private UClock clock;
+    private boolean built;
     private final UMessageType type;
     private UPriority priority;
     private Integer ttl;
@@ -139,7 +143,7 @@ public class UMessageBuilder {
             throw new IllegalArgumentException("sink must be a response and source must be an rpc method.");
         }
 
-        if (UuidValidator.Validators.UPROTOCOL.validator().validate(reqid).getCode() != UCode.OK) {
+        if (!UuidValidator.Validators.UPROTOCOL.validator().isValid(reqid)) {
             throw new IllegalArgumentException("reqid is not a valid UUID.");
         }
 
@@ -253,6 +257,24 @@ public class UMessageBuilder {
         return this;
     }
 
+    /**
+     * Create the message id from the time of a clock instead of the system clock, for example a
+     * {@link org.eclipse.uprotocol.clock.ManualClock} in tests of the time to live. The id is then created
+     * from the clock once, when the message is first built, instead of when the builder was created.
+     * Setting a clock after the message was built has no effect.
+     *
+     * @param clock the clock giving the current time.
+     * @return Returns the UMessageBuilder with the configured clock.
+     */
+    public UMessageBuilder withClock(UClock clock) {
+        Objects.requireNonNull(clock, "clock cannot be null.");
+        if (!built) {
+            this.clock = clock;
+            this.id = null;
+        }
+        return this;
+    }
+
     /**
      * Add the request ID.
      *
@@ -296,6 +318,10 @@ public class UMessageBuilder {
      * @return Returns a constructed
      */
     public UMessage build() {
+        if (id == null) {
+            id = UuidFactory.Factories.UPROTOCOL.factory().createFrom(clock);
+        }
+        built = true;
         UMessage.Builder messageBuilder = UMessage.newBuilder();
 
         UAttributes.Builder attributesBuilder = UAttributes.newBuilder()
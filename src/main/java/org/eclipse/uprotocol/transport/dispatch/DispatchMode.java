@@ -0,0 +1,37 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+/**
+ * How a transport splits the delivery of messages to listeners into tasks of its dispatch executor.
+ */
+public enum DispatchMode {
+    /**
+     * One task per message invokes all the matching listeners in turn, a blocking listener delays
+     * the other listeners of the message.
+     */
+    PER_MESSAGE,
+
+    /**
+     * One task per matching listener, listeners of the same message run concurrently. Use with
+     * {@link VirtualThreads#newExecutor(String)} when listeners block.
+     */
+    PER_LISTENER,
+
+    /**
+     * Messages of the same topic are delivered one at a time and in order through a {@link SerialExecutor},
+     * messages of different topics run concurrently. A topic queues at most
+     * {@link SerialExecutor#DEFAULT_CAPACITY} messages, further messages are rejected.
+     */
+    PER_TOPIC
+}
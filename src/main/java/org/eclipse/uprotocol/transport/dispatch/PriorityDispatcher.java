@@ -0,0 +1,316 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.v1.UPriority;
+
+/**
+ * A bounded dispatch executor with one lane per {@link UPriority} class, CS0 to CS6.
+ *
+ * <p>Each lane is a bounded FIFO queue. Worker threads pick the next task according to the
+ * {@link Scheduling} policy:
+ * <ul>
+ * <li>{@link Scheduling#STRICT}: always run the task from the highest priority non-empty lane,
+ * lower lanes only run when all higher lanes are empty.</li>
+ * <li>{@link Scheduling#WEIGHTED}: weighted round robin, in each round a lane runs at most its weight
+ * of tasks, highest priority first, so low priority lanes keep making progress under load.</li>
+ * </ul>
+ *
+ * <p>Tasks submitted for {@link UPriority#UPRIORITY_UNSPECIFIED} or unrecognized priorities are queued
+ * on the CS1 lane, the default priority of uProtocol messages. When a lane is full the task is rejected with
+ * {@link RejectedExecutionException}, other lanes are unaffected.
+ */
+public class PriorityDispatcher implements PriorityExecutor, AutoCloseable {
+    /**
+     * Default weights used by {@link Scheduling#WEIGHTED}, indexed by lane from CS0 to CS6.
+     */
+    private static final int[] DEFAULT_WEIGHTS = {1, 1, 2, 4, 8, 16, 32};
+
+    private static final int LANES = DEFAULT_WEIGHTS.length;
+
+    /**
+     * Scheduling policy between the priority lanes.
+     */
+    public enum Scheduling {
+        STRICT,
+        WEIGHTED
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // The following are guarded by lock
+    private final ArrayDeque<Runnable>[] lanes;
+    private final int[] credits;
+    private final int[] maxDepths = new int[LANES];
+    private final long[] rejected = new long[LANES];
+    private final long[] completed = new long[LANES];
+    private int pending;
+    private boolean shutdown;
+
+    private final int laneCapacity;
+    private final int[] weights;
+    private final Thread[] workers;
+
+
+    /**
+     * Create a dispatcher with the given number of worker threads.
+     *
+     * @param threads The number of worker threads.
+     * @param laneCapacity The maximum number of tasks waiting in each lane.
+     * @param scheduling The scheduling policy between lanes, {@link Scheduling#WEIGHTED} uses
+     *                   weights doubling from CS2 (2) to CS6 (32).
+     */
+    public PriorityDispatcher(int threads, int laneCapacity, Scheduling scheduling) {
+        this(threads, laneCapacity,
+            Objects.requireNonNull(scheduling, "Scheduling cannot be null") == Scheduling.STRICT
+                ? null : DEFAULT_WEIGHTS);
+    }
+
+
+    /**
+     * Create a dispatcher that uses weighted round robin scheduling with the given weights.
+     *
+     * @param threads The number of worker threads.
+     * @param laneCapacity The maximum number of tasks waiting in each lane.
+     * @param weights The number of tasks each lane may run per round, indexed by lane from CS0 to CS6,
+     *                or null for strict scheduling.
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityDispatcher(int threads, int laneCapacity, int[] weights) {
+        if (threads <= 0 || laneCapacity <= 0) {
+            throw new IllegalArgumentException("Threads and lane capacity must be positive");
+        }
+        if (weights != null && (weights.length != LANES || Arrays.stream(weights).anyMatch(w -> w <= 0))) {
+            throw new IllegalArgumentException("Weights must be " + LANES + " positive values from CS0 to CS6");
+        }
+        this.laneCapacity = laneCapacity;
+        this.weights = weights == null ? null : weights.clone();
+        this.credits = weights == null ? null : weights.clone();
+        this.lanes = new ArrayDeque[LANES];
+        for (int i = 0; i < LANES; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(this::work, "up-priority-dispatch-" + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+
+    /**
+     * Queue a task on the lane of the given priority.
+     *
+     * @param priority The priority of the message processed by the task.
+     * @param command The task to execute.
+     * @throws RejectedExecutionException if the lane is full or the dispatcher is closed.
+     */
+    @Override
+    public void execute(UPriority priority, Runnable command) {
+        Objects.requireNonNull(command, "Command cannot be null");
+        final int lane = laneOf(priority);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Dispatcher is closed");
+            }
+            final ArrayDeque<Runnable> queue = lanes[lane];
+            if (queue.size() >= laneCapacity) {
+                rejected[lane]++;
+                throw new RejectedExecutionException("Dispatch lane " + priority + " is full");
+            }
+            queue.addLast(command);
+            maxDepths[lane] = Math.max(maxDepths[lane], queue.size());
+            pending++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of tasks waiting in the lane of the given priority.
+     *
+     * @param priority The priority of the lane.
+     * @return Returns the current queue depth of the lane.
+     */
+    public int getQueueDepth(UPriority priority) {
+        lock.lock();
+        try {
+            return lanes[laneOf(priority)].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the highest number of tasks that waited in the lane of the given priority.
+     *
+     * @param priority The priority of the lane.
+     * @return Returns the maximum queue depth observed on the lane.
+     */
+    public int getMaxQueueDepth(UPriority priority) {
+        lock.lock();
+        try {
+            return maxDepths[laneOf(priority)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of tasks rejected because the lane of the given priority was full.
+     *
+     * @param priority The priority of the lane.
+     * @return Returns the number of rejected tasks.
+     */
+    public long getRejectedCount(UPriority priority) {
+        lock.lock();
+        try {
+            return rejected[laneOf(priority)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of tasks taken from the lane of the given priority and run.
+     *
+     * @param priority The priority of the lane.
+     * @return Returns the number of tasks run.
+     */
+    public long getCompletedCount(UPriority priority) {
+        lock.lock();
+        try {
+            return completed[laneOf(priority)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Stop accepting new tasks, the tasks already queued are still run by the worker threads.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            shutdown = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Wait for the worker threads to exit after {@link #close()}.
+     *
+     * @param millis The maximum time to wait for each worker thread.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public void awaitTermination(long millis) throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join(millis);
+        }
+    }
+
+
+    private static int laneOf(UPriority priority) {
+        if (priority == null || priority == UPriority.UNRECOGNIZED || priority == UPriority.UPRIORITY_UNSPECIFIED) {
+            return UPriority.UPRIORITY_CS1_VALUE - UPriority.UPRIORITY_CS0_VALUE;
+        }
+        return priority.getNumber() - UPriority.UPRIORITY_CS0_VALUE;
+    }
+
+
+    private void work() {
+        while (true) {
+            final Runnable task = take();
+            if (task == null) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "Dispatched task failed", e);
+            }
+        }
+    }
+
+
+    /**
+     * Take the next task according to the scheduling policy.
+     *
+     * @return Returns the next task, or null when the dispatcher is closed and all lanes are empty.
+     */
+    private Runnable take() {
+        lock.lock();
+        try {
+            while (pending == 0) {
+                if (shutdown) {
+                    return null;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+            final int lane = weights == null ? nextStrict() : nextWeighted();
+            pending--;
+            completed[lane]++;
+            return lanes[lane].pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private int nextStrict() {
+        for (int lane = LANES - 1; lane > 0; lane--) {
+            if (!lanes[lane].isEmpty()) {
+                return lane;
+            }
+        }
+        return 0;
+    }
+
+
+    private int nextWeighted() {
+        for (int lane = LANES - 1; lane >= 0; lane--) {
+            if (credits[lane] > 0 && !lanes[lane].isEmpty()) {
+                credits[lane]--;
+                return lane;
+            }
+        }
+        // Every non-empty lane used its credits, start a new round
+        System.arraycopy(weights, 0, credits, 0, LANES);
+        final int lane = nextStrict();
+        credits[lane]--;
+        return lane;
+    }
+}
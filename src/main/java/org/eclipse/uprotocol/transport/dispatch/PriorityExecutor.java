@@ -0,0 +1,63 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.uprotocol.v1.UPriority;
+
+/**
+ * An {@link Executor} that schedules tasks according to the {@link UPriority} of the message
+ * they process. Transports and communication layer implementations that are given an executor
+ * use {@link #execute(Executor, UPriority, Runnable)} so that priorities are honoured when the
+ * executor supports them.
+ */
+public interface PriorityExecutor extends Executor {
+
+    /**
+     * Execute a task for a message of the given priority.
+     *
+     * @param priority The priority of the message processed by the task.
+     * @param command The task to execute.
+     * @throws java.util.concurrent.RejectedExecutionException if the task cannot be accepted.
+     */
+    void execute(UPriority priority, Runnable command);
+
+
+    /**
+     * Execute a task with the default priority {@link UPriority#UPRIORITY_CS1}.
+     *
+     * @param command The task to execute.
+     */
+    @Override
+    default void execute(Runnable command) {
+        execute(UPriority.UPRIORITY_CS1, command);
+    }
+
+
+    /**
+     * Execute a task on the given executor, passing the priority if the executor is a
+     * {@link PriorityExecutor}.
+     *
+     * @param executor The executor to run the task on.
+     * @param priority The priority of the message processed by the task.
+     * @param command The task to execute.
+     */
+    static void execute(Executor executor, UPriority priority, Runnable command) {
+        if (executor instanceof PriorityExecutor priorityExecutor) {
+            priorityExecutor.execute(priority, command);
+        } else {
+            executor.execute(command);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.v1.UPriority;
+
+/**
+ * Runs the tasks submitted for the same key one at a time and in order, on top of another executor.
+ * Tasks of different keys run concurrently.
+ *
+ * <p>Each key with pending tasks uses at most one task of the underlying executor at a time, so with a
+ * thread per task executor such as {@link VirtualThreads#newExecutor(String)} every key gets its own
+ * serial queue without holding a thread while it is idle. Keys without pending tasks are forgotten.
+ *
+ * <p>The tasks of a key are submitted to the underlying executor one by one with their own priority,
+ * through a {@link PriorityExecutor} when it is one, so a busy key does not hold a thread of the
+ * executor ahead of higher priority work. Each key queues at most the given number of tasks, further
+ * tasks are rejected so that a slow key cannot grow the memory without bound.
+ */
+public final class SerialExecutor {
+    /** The default maximum number of tasks waiting for each key. */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private final Executor executor;
+    private final int capacity;
+
+    // Keys with pending or running tasks, a queue is removed once it is drained
+    private final ConcurrentHashMap<Object, Queue> queues = new ConcurrentHashMap<>();
+
+
+    /**
+     * Create a serial executor queuing at most {@link #DEFAULT_CAPACITY} tasks per key.
+     *
+     * @param executor The executor that runs the tasks.
+     */
+    public SerialExecutor(Executor executor) {
+        this(executor, DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * Create a serial executor queuing at most {@code capacity} tasks per key.
+     *
+     * @param executor The executor that runs the tasks.
+     * @param capacity The maximum number of tasks waiting for each key.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public SerialExecutor(Executor executor, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Run the task after all the tasks previously submitted for the same key, with the default
+     * priority.
+     *
+     * @param key The key that serializes the tasks, for example a topic.
+     * @param task The task to run.
+     * @throws RejectedExecutionException if the queue of the key is full or the underlying executor
+     *         rejects the task.
+     */
+    public void execute(Object key, Runnable task) {
+        execute(key, UPriority.UPRIORITY_CS1, task);
+    }
+
+
+    /**
+     * Run the task after all the tasks previously submitted for the same key.
+     *
+     * @param key The key that serializes the tasks, for example a topic.
+     * @param priority The priority of the message processed by the task.
+     * @param task The task to run.
+     * @throws RejectedExecutionException if the queue of the key is full or the underlying executor
+     *         rejects the task.
+     */
+    public void execute(Object key, UPriority priority, Runnable task) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(task, "Task cannot be null");
+        final Pending pending = new Pending(priority, task);
+        final boolean[] start = new boolean[1];
+        final Queue queue = queues.compute(key, (k, current) -> {
+            final Queue q = current == null ? new Queue(k) : current;
+            if (q.tasks.size() >= capacity) {
+                throw new RejectedExecutionException("Serial queue of " + k + " is full");
+            }
+            q.tasks.addLast(pending);
+            if (!q.running) {
+                q.running = true;
+                start[0] = true;
+            }
+            return q;
+        });
+        if (!start[0]) {
+            return;
+        }
+        try {
+            PriorityExecutor.execute(executor, priority, queue);
+        } catch (RejectedExecutionException e) {
+            // Drop the task and let the next submission for the key restart the queue
+            queues.computeIfPresent(key, (k, q) -> {
+                q.tasks.removeLastOccurrence(pending);
+                q.running = false;
+                return q.tasks.isEmpty() ? null : q;
+            });
+            throw e;
+        }
+    }
+
+
+    /**
+     * Return the number of keys that have pending or running tasks.
+     *
+     * @return Returns the number of active keys.
+     */
+    public int getActiveKeyCount() {
+        return queues.size();
+    }
+
+
+    /**
+     * Return the maximum number of tasks waiting for each key.
+     *
+     * @return Returns the capacity of the queue of a key.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    /**
+     * A task waiting with the priority it is submitted with.
+     */
+    private record Pending(UPriority priority, Runnable task) {
+    }
+
+
+    /**
+     * Tasks of a key, guarded by the map entry of the key. The queue runs one task each time it is
+     * submitted to the executor and submits itself again with the priority of the next task.
+     */
+    private final class Queue implements Runnable {
+        private final Object key;
+        private final ArrayDeque<Pending> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        Queue(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final Pending[] current = new Pending[1];
+                queues.compute(key, (k, q) -> {
+                    current[0] = tasks.pollFirst();
+                    return this;
+                });
+                if (current[0] != null) {
+                    try {
+                        current[0].task().run();
+                    } catch (RuntimeException e) {
+                        Logger.getGlobal().log(Level.WARNING, "Serial task failed", e);
+                    }
+                }
+                final Pending[] next = new Pending[1];
+                queues.compute(key, (k, q) -> {
+                    next[0] = tasks.peekFirst();
+                    running = next[0] != null;
+                    return running ? this : null;
+                });
+                if (next[0] == null) {
+                    return;
+                }
+                try {
+                    PriorityExecutor.execute(executor, next[0].priority(), this);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Keep the tasks of the key moving on this thread rather than stranding them
+                    continue;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors that run each task on its own virtual thread, for listeners and request handlers that block.
+ *
+ * <p>Virtual threads need Java 21 while the library is built for Java 17, so the virtual thread API is
+ * looked up reflectively when the class is loaded. On older JVMs the executors fall back to a pool of
+ * platform daemon threads sized for blocking work.
+ */
+public final class VirtualThreads {
+    /**
+     * Number of platform threads of the fallback pool.
+     */
+    public static final int FALLBACK_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    // Thread.ofVirtual(), Thread.Builder.name(String, long), Thread.Builder.factory() and
+    // Executors.newThreadPerTaskExecutor(ThreadFactory), empty when virtual threads are not available
+    private static final Method[] VIRTUAL = lookupVirtual();
+
+    private VirtualThreads() {
+    }
+
+
+    /**
+     * Return whether tasks run on virtual threads in this JVM.
+     *
+     * @return Returns true on Java 21 and later, false when the platform thread fallback is used.
+     */
+    public static boolean isSupported() {
+        return VIRTUAL.length > 0;
+    }
+
+
+    /**
+     * Create an executor that runs each task on a new virtual thread, or on a pool of
+     * {@link #FALLBACK_THREADS} platform daemon threads when virtual threads are not supported.
+     *
+     * @param name The prefix of the thread names.
+     * @return Returns the executor, it should be shut down when no longer used.
+     */
+    public static ExecutorService newExecutor(String name) {
+        Objects.requireNonNull(name, "Name cannot be null");
+        if (isSupported()) {
+            try {
+                return (ExecutorService) VIRTUAL[3].invoke(null, virtualFactory(VIRTUAL, name));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Failed to create a virtual thread executor", e);
+            }
+        }
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS,
+            60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+
+    private static Method[] lookupVirtual() {
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            final Method[] methods = {
+                Thread.class.getMethod("ofVirtual"),
+                builder.getMethod("name", String.class, long.class),
+                builder.getMethod("factory"),
+                Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+            };
+            // Java 19 and 20 have the methods but throw when virtual threads, then a preview, are not enabled
+            virtualFactory(methods, "up-virtual");
+            return methods;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new Method[0];
+        }
+    }
+
+
+    private static ThreadFactory virtualFactory(Method[] methods, String name)
+            throws IllegalAccessException, InvocationTargetException {
+        final Object builder = methods[1].invoke(methods[0].invoke(null), name + "-", 1L);
+        return (ThreadFactory) methods[2].invoke(builder);
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+
+/**
+ * Interceptor that counts the messages sent and received, for metrics.
+ *
+ * <p>Messages short-circuited or dropped by an interceptor earlier in the chain are not counted.
+ */
+public class CountingInterceptor implements UTransportInterceptor {
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+
+    @Override
+    public UStatus onSend(UMessage message) {
+        sent.increment();
+        return null;
+    }
+
+    @Override
+    public boolean onReceive(UMessage message) {
+        received.increment();
+        return true;
+    }
+
+    /**
+     * Return the number of messages sent.
+     *
+     * @return Returns the number of messages that reached this interceptor on send.
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * Return the number of messages received.
+     *
+     * @return Returns the number of messages that reached this interceptor on receive.
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+}
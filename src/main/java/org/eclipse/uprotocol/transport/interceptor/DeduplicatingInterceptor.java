@@ -0,0 +1,74 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import java.util.Objects;
+
+import org.eclipse.uprotocol.uuid.dedup.UuidDeduplicator;
+import org.eclipse.uprotocol.v1.UMessage;
+
+/**
+ * Interceptor that drops received messages whose id was already received, so that the listeners see
+ * each message once when the transport delivers it more than once.
+ *
+ * <p>The ids are remembered for the window of the {@link UuidDeduplicator}, messages created before
+ * the window are dropped as well since they cannot be checked anymore. The id of a message is added
+ * once, before the message is passed to all the listeners registered with the same filters, so that
+ * a topic with several listeners does not see its own deliveries as duplicates.
+ */
+public class DeduplicatingInterceptor implements UTransportInterceptor {
+    private final UuidDeduplicator deduplicator;
+
+
+    /**
+     * Create a deduplicating interceptor that uses the system clock.
+     *
+     * @param window The time in milliseconds during which a message id is remembered.
+     */
+    public DeduplicatingInterceptor(long window) {
+        this(new UuidDeduplicator(window));
+    }
+
+
+    /**
+     * Create a deduplicating interceptor.
+     *
+     * @param deduplicator The deduplicator remembering the ids received.
+     */
+    public DeduplicatingInterceptor(UuidDeduplicator deduplicator) {
+        this.deduplicator = Objects.requireNonNull(deduplicator, "Deduplicator cannot be null");
+    }
+
+
+    /**
+     * Drop the message if its id was already received.
+     *
+     * @param message The message received.
+     * @return Returns false if the message is a duplicate or too old to be checked.
+     */
+    @Override
+    public boolean onReceive(UMessage message) {
+        return deduplicator.add(message.getAttributes().getId());
+    }
+
+
+    /**
+     * Return the deduplicator, for its counts of dropped messages.
+     *
+     * @return Returns the deduplicator remembering the ids received.
+     */
+    public UuidDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.eclipse.uprotocol.clock.UClock;
+import org.eclipse.uprotocol.uuid.factory.UuidUtils;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UMessageType;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Interceptor that drops received messages whose time to live has passed before they reach the
+ * listener, so that no work is done on messages nobody waits for anymore, for example after a GC
+ * pause or a burst of messages on reconnect.
+ *
+ * <p>A message is expired when the creation time of its id plus its ttl is before the current time,
+ * as with {@link org.eclipse.uprotocol.transport.validate.UAttributesValidator#isExpired(UAttributes)}.
+ * The clock is read for each message with a ttl, by default {@link UClock#SYSTEM}. Pass
+ * {@link UClock#cached()} so that the check costs a volatile read instead of a call to the system clock,
+ * at the cost of the thread updating it. The discarded messages are counted per
+ * topic, the method for requests and the source for other messages.
+ */
+public class ExpiryInterceptor implements UTransportInterceptor {
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<UUri, LongAdder> expired = new ConcurrentHashMap<>();
+
+
+    /**
+     * Create an expiry interceptor that uses the system clock.
+     */
+    public ExpiryInterceptor() {
+        this(UClock.SYSTEM);
+    }
+
+
+    /**
+     * Create an expiry interceptor.
+     *
+     * @param clock The clock returning the current time in milliseconds since the epoch.
+     */
+    public ExpiryInterceptor(LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+    }
+
+
+    /**
+     * Drop the message if it is expired.
+     *
+     * @param message The message received.
+     * @return Returns false if the message is expired.
+     */
+    @Override
+    public boolean onReceive(UMessage message) {
+        if (!isExpired(message.getAttributes())) {
+            return true;
+        }
+        expired.computeIfAbsent(topicOf(message.getAttributes()), topic -> new LongAdder()).increment();
+        return false;
+    }
+
+
+    /**
+     * Check if the time to live of a message has passed.
+     *
+     * @param attributes The attributes of the message.
+     * @return Returns true if the message has a ttl and a creation time and it is expired.
+     */
+    public boolean isExpired(UAttributes attributes) {
+        final int ttl = attributes.getTtl();
+        if (ttl <= 0) {
+            return false;
+        }
+        final long created = UuidUtils.timeMillis(attributes.getId());
+        if (created < 0) {
+            return false;
+        }
+        return created + ttl < clock.getAsLong();
+    }
+
+
+    /**
+     * Return the number of expired messages discarded for a topic.
+     *
+     * @param topic The topic, the method for requests and the source for other messages.
+     * @return Returns the number of discarded messages.
+     */
+    public long getExpiredCount(UUri topic) {
+        final LongAdder count = expired.get(topic);
+        return count == null ? 0 : count.sum();
+    }
+
+
+    /**
+     * Return the number of expired messages discarded for each topic.
+     *
+     * @return Returns a snapshot of the counts per topic.
+     */
+    public Map<UUri, Long> getExpiredCounts() {
+        final Map<UUri, Long> counts = new HashMap<>();
+        expired.forEach((topic, count) -> counts.put(topic, count.sum()));
+        return counts;
+    }
+
+
+    private static UUri topicOf(UAttributes attributes) {
+        return attributes.getType() == UMessageType.UMESSAGE_TYPE_REQUEST ? attributes.getSink()
+            : attributes.getSource();
+    }
+
+}
@@ -0,0 +1,298 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.transport.BatchStatus;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * {@link UTransport} decorator that runs a chain of {@link UTransportInterceptor} on the messages sent
+ * and received, in the order the interceptors were added.
+ *
+ * <p>The whole chain runs in one pass over an array. When no interceptor short-circuits, a send returns
+ * the {@link CompletionStage} of the wrapped transport as is and a received message is passed straight
+ * to the listeners, the chain adds no futures and no lambdas.
+ *
+ * <p>Listeners registered with the same filters share one registration on the wrapped transport, the
+ * inbound chain runs once for each message that registration receives and the message is then passed
+ * to each of the listeners in turn. Interceptors that count or deduplicate received messages therefore
+ * see a message once, however many of these listeners it is delivered to.
+ *
+ * <pre>{@code
+ * UTransport transport = InterceptingUTransport.newBuilder(delegate)
+ *     .withInterceptor(new ValidatingInterceptor())
+ *     .withInterceptor(counter)
+ *     .build();
+ * }</pre>
+ */
+public class InterceptingUTransport implements UTransport {
+    private final UTransport transport;
+    private final UTransportInterceptor[] interceptors;
+
+    // Listeners registered through the chain, grouped by filters, guarded by itself
+    private final Map<Filter, InterceptedListeners> registrations = new HashMap<>();
+
+
+    private InterceptingUTransport(UTransport transport, UTransportInterceptor[] interceptors) {
+        this.transport = transport;
+        this.interceptors = interceptors;
+    }
+
+
+    /**
+     * Start building an interceptor chain around a transport.
+     *
+     * @param transport The transport to wrap.
+     * @return Returns the builder of the chain.
+     */
+    public static Builder newBuilder(UTransport transport) {
+        return new Builder(Objects.requireNonNull(transport, UTransport.TRANSPORT_NULL_ERROR));
+    }
+
+
+    /**
+     * Run the outbound interceptors and send the message on the wrapped transport.
+     *
+     * @param message the {@link UMessage} to be sent.
+     * @return Returns the status of the wrapped transport send, or the status of the first
+     *         interceptor that short-circuited the send.
+     */
+    @Override
+    public CompletionStage<UStatus> send(UMessage message) {
+        final UStatus status = intercept(message);
+        return status == null ? transport.send(message) : CompletableFuture.completedFuture(status);
+    }
+
+
+    /**
+     * Run the outbound interceptors on each message and send the remaining messages as one batch
+     * on the wrapped transport.
+     *
+     * @param messages the list of {@link UMessage} to be sent.
+     * @return Returns {@link BatchStatus} with the aggregate status of the batch and the status of each
+     *         message that was short-circuited or failed to send.
+     */
+    @Override
+    public CompletionStage<BatchStatus> sendBatch(List<UMessage> messages) {
+        if (messages == null || interceptors.length == 0) {
+            return transport.sendBatch(messages);
+        }
+        final int count = messages.size();
+        Map<Integer, UStatus> failures = null;
+        for (int i = 0; i < count; i++) {
+            final UStatus status = intercept(messages.get(i));
+            if (status != null) {
+                if (failures == null) {
+                    failures = new HashMap<>();
+                }
+                failures.put(i, status);
+            }
+        }
+        if (failures == null) {
+            return transport.sendBatch(messages);
+        }
+
+        // Send what is left and map the failures back to the indexes of the original batch
+        final int[] indexes = new int[count - failures.size()];
+        final List<UMessage> remaining = new ArrayList<>(indexes.length);
+        for (int i = 0; i < count; i++) {
+            if (!failures.containsKey(i)) {
+                indexes[remaining.size()] = i;
+                remaining.add(messages.get(i));
+            }
+        }
+        final Map<Integer, UStatus> intercepted = failures;
+        if (remaining.isEmpty()) {
+            return CompletableFuture.completedFuture(BatchStatus.of(count, intercepted));
+        }
+        return transport.sendBatch(remaining).thenApply(result -> {
+            if (!result.isSuccess() && result.failures().isEmpty()) {
+                // The whole batch failed without per message statuses
+                for (int index : indexes) {
+                    intercepted.put(index, result.status());
+                }
+            }
+            result.failures().forEach((index, status) -> intercepted.put(indexes[index], status));
+            return BatchStatus.of(count, intercepted);
+        });
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null || interceptors.length == 0) {
+            return transport.registerListener(sourceFilter, sinkFilter, listener);
+        }
+        final Filter filter = new Filter(sourceFilter, sinkFilter);
+        synchronized (registrations) {
+            final InterceptedListeners registered = registrations.get(filter);
+            if (registered != null) {
+                registered.listeners.addIfAbsent(listener);
+                return CompletableFuture.completedFuture(UStatus.newBuilder().setCode(UCode.OK).build());
+            }
+            final InterceptedListeners group = new InterceptedListeners(listener);
+            registrations.put(filter, group);
+            return transport.registerListener(sourceFilter, sinkFilter, group).thenApply(status -> {
+                if (status.getCode() != UCode.OK) {
+                    synchronized (registrations) {
+                        registrations.remove(filter, group);
+                    }
+                }
+                return status;
+            });
+        }
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null || interceptors.length == 0) {
+            return transport.unregisterListener(sourceFilter, sinkFilter, listener);
+        }
+        final Filter filter = new Filter(sourceFilter, sinkFilter);
+        synchronized (registrations) {
+            final InterceptedListeners registered = registrations.get(filter);
+            if (registered == null || !registered.listeners.remove(listener)) {
+                return CompletableFuture.completedFuture(UStatus.newBuilder()
+                    .setCode(UCode.NOT_FOUND).setMessage("Listener not found").build());
+            }
+            if (!registered.listeners.isEmpty()) {
+                return CompletableFuture.completedFuture(UStatus.newBuilder().setCode(UCode.OK).build());
+            }
+            registrations.remove(filter);
+            return transport.unregisterListener(sourceFilter, sinkFilter, registered);
+        }
+    }
+
+
+    @Override
+    public UUri getSource() {
+        return transport.getSource();
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> open() {
+        return transport.open();
+    }
+
+
+    @Override
+    public void close() {
+        transport.close();
+    }
+
+
+    /**
+     * Run the outbound interceptors.
+     *
+     * @return Returns null if the message can be sent, otherwise the status of the first interceptor
+     *         that short-circuited the send.
+     */
+    private UStatus intercept(UMessage message) {
+        if (message == null) {
+            return null;
+        }
+        for (UTransportInterceptor interceptor : interceptors) {
+            final UStatus status = interceptor.onSend(message);
+            if (status != null) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * The filters a listener is registered with.
+     */
+    private record Filter(UUri source, UUri sink) { }
+
+
+    /**
+     * Listener registered on the wrapped transport for the listeners that share the same filters, it runs
+     * the inbound interceptors once and then passes the message to each of the listeners.
+     */
+    private final class InterceptedListeners implements UListener {
+        private final CopyOnWriteArrayList<UListener> listeners = new CopyOnWriteArrayList<>();
+
+        InterceptedListeners(UListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void onReceive(UMessage message) {
+            for (UTransportInterceptor interceptor : interceptors) {
+                if (!interceptor.onReceive(message)) {
+                    return;
+                }
+            }
+            for (UListener listener : listeners) {
+                try {
+                    listener.onReceive(message);
+                } catch (RuntimeException e) {
+                    Logger.getGlobal().log(Level.WARNING, "Listener failed to process message", e);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Builder of an interceptor chain.
+     */
+    public static final class Builder {
+        private final UTransport transport;
+        private final List<UTransportInterceptor> interceptors = new ArrayList<>();
+
+        private Builder(UTransport transport) {
+            this.transport = transport;
+        }
+
+        /**
+         * Add an interceptor at the end of the chain.
+         *
+         * @param interceptor The interceptor to add.
+         * @return Returns the builder.
+         */
+        public Builder withInterceptor(UTransportInterceptor interceptor) {
+            interceptors.add(Objects.requireNonNull(interceptor, "Interceptor cannot be null"));
+            return this;
+        }
+
+        /**
+         * Build the transport that runs the chain.
+         *
+         * @return Returns the intercepting transport.
+         */
+        public InterceptingUTransport build() {
+            return new InterceptingUTransport(transport, interceptors.toArray(new UTransportInterceptor[0]));
+        }
+    }
+}
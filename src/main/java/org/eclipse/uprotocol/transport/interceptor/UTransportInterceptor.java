@@ -0,0 +1,50 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+
+/**
+ * Hook run by {@link InterceptingUTransport} on every message sent and received, for cross cutting
+ * concerns such as validation, dropping expired messages, counting or tracing.
+ *
+ * <p>Interceptors are called synchronously on the thread sending or receiving the message and should
+ * not block. {@link #onReceive(UMessage)} is called once per received message before it is passed to
+ * the listeners registered with the same filters, not once per listener. The default methods let every
+ * message through, an interceptor only overrides the direction it cares about.
+ */
+public interface UTransportInterceptor {
+
+    /**
+     * Called before a message is sent.
+     *
+     * @param message The message to be sent.
+     * @return Returns null to let the message through, or the status the send completes with
+     *         instead of sending the message.
+     */
+    default UStatus onSend(UMessage message) {
+        return null;
+    }
+
+
+    /**
+     * Called before a received message is passed to the listeners.
+     *
+     * @param message The message received.
+     * @return Returns true to pass the message to the listeners, false to drop it.
+     */
+    default boolean onReceive(UMessage message) {
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import org.eclipse.uprotocol.transport.validate.UAttributesValidator;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.validation.ValidationResult;
+
+/**
+ * Interceptor that validates the attributes of the messages sent with {@link UAttributesValidator},
+ * invalid messages fail with {@link UCode#INVALID_ARGUMENT} without reaching the transport.
+ */
+public class ValidatingInterceptor implements UTransportInterceptor {
+
+    @Override
+    public UStatus onSend(UMessage message) {
+        final UAttributes attributes = message.getAttributes();
+        final ValidationResult result = UAttributesValidator.getValidator(attributes).validate(attributes);
+        if (result.isFailure()) {
+            return UStatus.newBuilder().setCode(UCode.INVALID_ARGUMENT).setMessage(result.getMessage()).build();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,378 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import org.eclipse.uprotocol.v1.UMessage;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Ring buffer of serialized {@link UMessage} frames in a memory mapped file, written by a single
+ * writer and read by any number of readers in the same or other processes.
+ *
+ * <p>The file starts with a header holding the capacity of the ring and two positions, each on its
+ * own cache line: the claim position is moved before a frame is written and the publish position
+ * after, positions only grow and are mapped to offsets in the ring by masking. Readers never slow
+ * down the writer, a reader that is lapped notices it when the claim position moved more than the
+ * capacity past the frame it read, drops the frame and skips to the latest published position.
+ *
+ * <p>The writer holds a lock on the file for as long as the ring is open so that two writers never
+ * share a ring. When it closes the ring, the writer marks it closed in the header and deletes the
+ * file, readers drop the ring once they read the messages left in it.
+ *
+ * <p>A frame is the serialized size as an int, 4 reserved bytes and the serialized message, aligned
+ * to 8 bytes. A frame that does not fit before the end of the ring is written at the start, after a
+ * padding marker.
+ */
+final class MappedRing {
+    static final int MIN_CAPACITY = 1024;
+
+    private static final int MAGIC = 0x75505348;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CLOSED_OFFSET = 12;
+    private static final int CLAIM_OFFSET = 64;
+    private static final int PUBLISH_OFFSET = 128;
+    private static final int DATA_OFFSET = 192;
+    private static final int FRAME_HEADER = 8;
+    private static final int PADDING = -1;
+
+    private static final VarHandle POSITION =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle STATE =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+
+    // Lock held by the writer until the ring is closed, null for readers
+    private final FileLock lock;
+
+    // Next position to write, only used by the writer
+    private long writePosition;
+
+
+    private MappedRing(Path path, MappedByteBuffer buffer, int capacity, FileLock lock) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.lock = lock;
+        this.writePosition = (long) POSITION.getAcquire(buffer, PUBLISH_OFFSET);
+    }
+
+
+    /**
+     * Create the ring of a writer, or reuse the existing one so that readers keep their positions
+     * when the writer restarts.
+     *
+     * @param path The file of the ring.
+     * @param capacity The size of the ring in bytes, a power of two.
+     * @return Returns the ring to write to.
+     * @throws IOException if the file cannot be mapped or another writer has the ring open.
+     */
+    static MappedRing create(Path path, int capacity) throws IOException {
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least " + MIN_CAPACITY);
+        }
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            final FileLock lock = tryLock(channel);
+            if (lock == null) {
+                throw new IOException("Ring " + path + " is used by another writer");
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + capacity);
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.getInt(MAGIC_OFFSET) == MAGIC && buffer.getInt(VERSION_OFFSET) == VERSION
+                    && buffer.getInt(CAPACITY_OFFSET) == capacity) {
+                // A write may have been interrupted, readers must not wait for it
+                POSITION.setRelease(buffer, CLAIM_OFFSET, (long) POSITION.getAcquire(buffer, PUBLISH_OFFSET));
+                STATE.setRelease(buffer, CLOSED_OFFSET, 0);
+            } else {
+                buffer.putInt(MAGIC_OFFSET, 0);
+                POSITION.setRelease(buffer, CLAIM_OFFSET, 0L);
+                POSITION.setRelease(buffer, PUBLISH_OFFSET, 0L);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                buffer.putInt(CLOSED_OFFSET, 0);
+                // The magic is written last so readers never open a ring that is not initialized
+                VarHandle.storeStoreFence();
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+            }
+            return new MappedRing(path, buffer, capacity, lock);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Lock the file of a ring, the lock is released when the channel is closed or the process exits.
+     *
+     * @return Returns the lock, or null if another process or channel holds it.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Open the ring of another writer for reading.
+     *
+     * @param path The file of the ring.
+     * @return Returns the ring, or null if the file is not an initialized and open ring.
+     * @throws IOException if the file cannot be mapped.
+     */
+    static MappedRing open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < DATA_OFFSET + MIN_CAPACITY) {
+                return null;
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+                return null;
+            }
+            VarHandle.loadLoadFence();
+            final int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (buffer.getInt(VERSION_OFFSET) != VERSION || Integer.bitCount(capacity) != 1
+                    || DATA_OFFSET + (long) capacity > size || (int) STATE.getAcquire(buffer, CLOSED_OFFSET) != 0) {
+                return null;
+            }
+            return new MappedRing(path, buffer, capacity, null);
+        }
+    }
+
+
+    /**
+     * Return the file of the ring.
+     *
+     * @return Returns the path of the ring.
+     */
+    Path getPath() {
+        return path;
+    }
+
+
+    /**
+     * Return the size of the ring.
+     *
+     * @return Returns the capacity in bytes.
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Return whether the writer closed the ring.
+     *
+     * @return Returns true once the ring is closed, messages published before remain readable.
+     */
+    boolean isClosed() {
+        return (int) STATE.getAcquire(buffer, CLOSED_OFFSET) != 0;
+    }
+
+
+    /**
+     * Mark the ring of a writer closed, delete its file and release the lock on it.
+     *
+     * @throws IOException if the file cannot be deleted or unlocked.
+     */
+    void close() throws IOException {
+        STATE.setRelease(buffer, CLOSED_OFFSET, 1);
+        try {
+            // Delete while the lock is held so that the ring of a new writer is never deleted
+            Files.deleteIfExists(path);
+        } finally {
+            release();
+        }
+    }
+
+
+    /**
+     * Release the lock of a writer on the file, leaving the ring as it is like a writer that stops
+     * without closing it.
+     *
+     * @throws IOException if the file cannot be unlocked.
+     */
+    void release() throws IOException {
+        if (lock != null) {
+            lock.channel().close();
+        }
+    }
+
+
+    /**
+     * Write a message to the ring, the caller makes sure that only one thread writes at a time.
+     *
+     * @param message The message to write.
+     * @return Returns false if the message is too large for the ring.
+     */
+    boolean offer(UMessage message) {
+        final int size = message.getSerializedSize();
+        final int frame = align(FRAME_HEADER + size);
+        if (frame > capacity) {
+            return false;
+        }
+        long start = writePosition;
+        int offset = (int) (start & mask);
+        final boolean wrap = capacity - offset < frame;
+        if (wrap) {
+            start += capacity - offset;
+            offset = 0;
+        }
+        final long end = start + frame;
+
+        // Claim the space before overwriting it so that readers can tell that their frame is gone
+        POSITION.setOpaque(buffer, CLAIM_OFFSET, end);
+        VarHandle.storeStoreFence();
+        if (wrap) {
+            buffer.putInt(DATA_OFFSET + (int) (writePosition & mask), PADDING);
+        }
+        try {
+            final CodedOutputStream output =
+                CodedOutputStream.newInstance(buffer.slice(DATA_OFFSET + offset + FRAME_HEADER, size));
+            message.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.putInt(DATA_OFFSET + offset, size);
+        POSITION.setRelease(buffer, PUBLISH_OFFSET, end);
+        writePosition = end;
+        return true;
+    }
+
+
+    /**
+     * Create a reader that starts at the latest published position.
+     *
+     * @return Returns the reader.
+     */
+    Cursor newCursor() {
+        return new Cursor();
+    }
+
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+
+    /**
+     * Position of one reader in the ring, used by a single thread.
+     */
+    final class Cursor {
+        private long position = (long) POSITION.getAcquire(buffer, PUBLISH_OFFSET);
+        private long overruns;
+
+        /**
+         * Return the ring read by this cursor.
+         *
+         * @return Returns the ring.
+         */
+        MappedRing getRing() {
+            return MappedRing.this;
+        }
+
+        /**
+         * Return the number of times the writer overwrote frames before they were read.
+         *
+         * @return Returns the number of overruns.
+         */
+        long getOverrunCount() {
+            return overruns;
+        }
+
+        /**
+         * Read the messages published since the last poll.
+         *
+         * @param consumer Receives the messages in the order they were written.
+         * @param max The maximum number of messages to read.
+         * @return Returns the number of messages read.
+         */
+        int poll(Consumer<UMessage> consumer, int max) {
+            final long limit = (long) POSITION.getAcquire(buffer, PUBLISH_OFFSET);
+            if (limit < position) {
+                // The ring was reset by a new writer
+                position = limit;
+                return 0;
+            }
+            int count = 0;
+            while (position < limit && count < max) {
+                final int offset = (int) (position & mask);
+                final int size = buffer.getInt(DATA_OFFSET + offset);
+                final long next;
+                UMessage message = null;
+                if (size == PADDING) {
+                    next = position + capacity - offset;
+                } else if (size < 0 || size > capacity - offset - FRAME_HEADER) {
+                    next = -1;
+                } else {
+                    next = position + align(FRAME_HEADER + size);
+                    message = parse(offset, size);
+                }
+
+                // The frame is only valid if the writer did not start overwriting it while it was read
+                VarHandle.loadLoadFence();
+                final long claim = (long) POSITION.getOpaque(buffer, CLAIM_OFFSET);
+                if (claim - position > capacity || next < 0 || size != PADDING && message == null) {
+                    overruns++;
+                    position = (long) POSITION.getAcquire(buffer, PUBLISH_OFFSET);
+                    return count;
+                }
+                position = next;
+                if (message != null) {
+                    consumer.accept(message);
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private UMessage parse(int offset, int size) {
+            try {
+                return UMessage.parseFrom(buffer.slice(DATA_OFFSET + offset + FRAME_HEADER, size));
+            } catch (InvalidProtocolBufferException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.validate.UAttributesValidator;
+import org.eclipse.uprotocol.uri.validator.UriFilter;
+import org.eclipse.uprotocol.uri.validator.UriFilterIndex;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.eclipse.uprotocol.validation.ValidationResult;
+
+/**
+ * {@link UTransport} between uEntities in different JVMs on the same host, over ring buffers in memory
+ * mapped files.
+ *
+ * <p>All the transports sharing a directory, ideally on a tmpfs such as {@code /dev/shm}, see each
+ * other. Each transport writes the messages it sends to its own ring file, named after its source, and
+ * a reader thread polls the rings of all the other transports of the directory and invokes the
+ * listeners whose {@link UriFilter} match. Sending and receiving a message does not make any system
+ * call, the reader waits for messages according to the {@link WaitStrategy}: spinning gives the lowest
+ * latency at the cost of a busy core.
+ *
+ * <p>Messages are not delivered to the listeners of the transport that sent them. Readers never slow
+ * down writers, a reader that falls more than a ring behind loses messages, see
+ * {@link #getOverrunCount()}. Listeners run on the reader thread and should not block.
+ *
+ * <p>Only one transport at a time can use the ring of a source, the ring file is locked until the
+ * transport is closed.
+ */
+public class SharedMemoryUTransport implements UTransport {
+
+    /**
+     * How the reader thread waits when there are no messages to read.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spin on the CPU, for the lowest latency.
+         */
+        BUSY_SPIN,
+
+        /**
+         * Yield the CPU to other threads between polls.
+         */
+        YIELD,
+
+        /**
+         * Spin, then yield, then park for short periods while there are no messages.
+         */
+        BACKOFF
+    }
+
+    /**
+     * Default size of the ring of a transport in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final String RING_SUFFIX = ".ring";
+    private static final long SCAN_INTERVAL_NANOS = 100_000_000L;
+    private static final int POLL_LIMIT = 256;
+    private static final int SPIN_POLLS = 1000;
+    private static final int YIELD_POLLS = 1100;
+    private static final long PARK_NANOS = 50_000L;
+
+    private static final CompletionStage<UStatus> OK =
+        CompletableFuture.completedStage(UStatus.newBuilder().setCode(UCode.OK).build());
+
+    private final UUri source;
+    private final Path directory;
+    private final WaitStrategy strategy;
+    private final MappedRing ring;
+    private final UriFilterIndex<UListener> listeners = new UriFilterIndex<>();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    // Rings of the other transports, only used by the reader thread
+    private MappedRing.Cursor[] cursors = new MappedRing.Cursor[0];
+    private long retiredOverruns;
+    private volatile long overruns;
+
+    private final Consumer<UMessage> delivery = this::deliver;
+
+
+    /**
+     * Create a transport with a ring of {@link #DEFAULT_CAPACITY} bytes and the
+     * {@link WaitStrategy#BACKOFF} wait strategy.
+     *
+     * @param source The source address of the uE using this transport.
+     * @param directory The directory of the rings shared by the transports.
+     */
+    public SharedMemoryUTransport(UUri source, Path directory) {
+        this(source, directory, DEFAULT_CAPACITY, WaitStrategy.BACKOFF);
+    }
+
+
+    /**
+     * Create a transport.
+     *
+     * @param source The source address of the uE using this transport.
+     * @param directory The directory of the rings shared by the transports.
+     * @param capacity The size of the ring of this transport in bytes, a power of two, it limits the size
+     *                 of a message and how far behind readers can fall.
+     * @param strategy How the reader thread waits for messages.
+     * @throws UncheckedIOException if the ring cannot be created or another transport of the same source
+     *         has it open.
+     */
+    public SharedMemoryUTransport(UUri source, Path directory, int capacity, WaitStrategy strategy) {
+        this.source = Objects.requireNonNull(source, "Source cannot be null");
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        this.strategy = Objects.requireNonNull(strategy, "Wait strategy cannot be null");
+        try {
+            this.ring = MappedRing.create(directory.resolve(ringName(source)), capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the ring of " + source, e);
+        }
+        this.reader = new Thread(this::read, "up-shm-reader-" + ring.getPath().getFileName());
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+
+    /**
+     * Write the message to the ring of this transport.
+     *
+     * @param message the {@link UMessage} to be sent.
+     * @return Returns {@link UStatus} with {@link UCode#OK} once the message is in the ring,
+     *         {@link UCode#INVALID_ARGUMENT} if the message is invalid or larger than the ring,
+     *         or {@link UCode#UNAVAILABLE} if the transport is closed.
+     */
+    @Override
+    public CompletionStage<UStatus> send(UMessage message) {
+        if (message == null) {
+            return failure(UCode.INVALID_ARGUMENT, "Message cannot be null");
+        }
+        final UAttributes attributes = message.getAttributes();
+        final ValidationResult result = UAttributesValidator.getValidator(attributes).validate(attributes);
+        if (result.isFailure()) {
+            return failure(UCode.INVALID_ARGUMENT, result.getMessage());
+        }
+        final boolean written;
+        synchronized (ring) {
+            if (closed) {
+                return failure(UCode.UNAVAILABLE, "Transport is closed");
+            }
+            written = ring.offer(message);
+        }
+        return written ? OK : failure(UCode.INVALID_ARGUMENT, "Message is larger than the ring");
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return failure(UCode.INVALID_ARGUMENT, "Listener cannot be null");
+        }
+        listeners.add(new UriFilter(sourceFilter, sinkFilter), listener);
+        return OK;
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return failure(UCode.INVALID_ARGUMENT, "Listener cannot be null");
+        }
+        if (listeners.remove(new UriFilter(sourceFilter, sinkFilter), listener)) {
+            return OK;
+        }
+        return failure(UCode.NOT_FOUND, "Listener not found");
+    }
+
+
+    @Override
+    public UUri getSource() {
+        return source;
+    }
+
+
+    /**
+     * Stop the reader thread, unregister all the listeners and close the ring, the other transports
+     * receive the messages left in the ring before they drop it.
+     */
+    @Override
+    public void close() {
+        synchronized (ring) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                ring.close();
+            } catch (IOException e) {
+                Logger.getGlobal().log(Level.WARNING, "Failed to close the ring " + ring.getPath(), e);
+            }
+        }
+        LockSupport.unpark(reader);
+        listeners.clear();
+    }
+
+
+    /**
+     * Return the number of times this transport fell more than a ring behind a writer and lost messages,
+     * updated periodically by the reader thread.
+     *
+     * @return Returns the number of overruns.
+     */
+    public long getOverrunCount() {
+        return overruns;
+    }
+
+
+    /**
+     * Return the name of the ring file of a source.
+     */
+    static String ringName(UUri source) {
+        return String.format("%s-%x-%x%s", source.getAuthorityName().replaceAll("[^A-Za-z0-9._]", "_"),
+            source.getUeId(), source.getUeVersionMajor(), RING_SUFFIX);
+    }
+
+
+    private void read() {
+        long nextScan = System.nanoTime();
+        int idle = 0;
+        while (!closed) {
+            final long now = System.nanoTime();
+            if (now - nextScan >= 0) {
+                scan();
+                nextScan = now + SCAN_INTERVAL_NANOS;
+            }
+            int count = 0;
+            for (MappedRing.Cursor cursor : cursors) {
+                count += cursor.poll(delivery, POLL_LIMIT);
+            }
+            idle = count > 0 ? 0 : idle(idle);
+        }
+    }
+
+
+    /**
+     * Wait before the next poll according to the wait strategy.
+     *
+     * @return Returns the number of consecutive idle polls.
+     */
+    private int idle(int idle) {
+        if (strategy == WaitStrategy.BUSY_SPIN || strategy == WaitStrategy.BACKOFF && idle < SPIN_POLLS) {
+            Thread.onSpinWait();
+        } else if (strategy == WaitStrategy.YIELD || idle < YIELD_POLLS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle == Integer.MAX_VALUE ? idle : idle + 1;
+    }
+
+
+    /**
+     * Look for rings of transports that started or stopped since the last scan.
+     */
+    private void scan() {
+        final List<MappedRing.Cursor> current = new ArrayList<>();
+        for (MappedRing.Cursor cursor : cursors) {
+            final MappedRing other = cursor.getRing();
+            if (!other.isClosed() && Files.exists(other.getPath())) {
+                current.add(cursor);
+            } else {
+                // Deliver the messages the writer published before it closed the ring
+                cursor.poll(delivery, Integer.MAX_VALUE);
+                retiredOverruns += cursor.getOverrunCount();
+            }
+        }
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + RING_SUFFIX)) {
+            for (Path path : paths) {
+                if (!path.equals(ring.getPath()) && !isOpen(current, path)) {
+                    final MappedRing other = MappedRing.open(path);
+                    if (other != null) {
+                        current.add(other.newCursor());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Logger.getGlobal().log(Level.WARNING, "Failed to scan the rings in " + directory, e);
+        }
+        cursors = current.toArray(new MappedRing.Cursor[0]);
+        long lost = retiredOverruns;
+        for (MappedRing.Cursor cursor : cursors) {
+            lost += cursor.getOverrunCount();
+        }
+        overruns = lost;
+    }
+
+
+    private static boolean isOpen(List<MappedRing.Cursor> cursors, Path path) {
+        for (MappedRing.Cursor cursor : cursors) {
+            if (cursor.getRing().getPath().equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private void deliver(UMessage message) {
+        for (UListener listener : listeners.match(message.getAttributes())) {
+            try {
+                listener.onReceive(message);
+            } catch (RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "Listener failed to process message", e);
+            }
+        }
+    }
+
+
+    private static CompletionStage<UStatus> failure(UCode code, String message) {
+        return CompletableFuture.completedStage(UStatus.newBuilder().setCode(code).setMessage(message).build());
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.socket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non blocking socket connection exchanging length prefixed frames: a 4 bytes big endian length
+ * followed by that many bytes.
+ *
+ * <p>Frames are read by the selector thread. Any thread can write, a write goes straight to the socket
+ * with a gathering write and whatever the socket does not accept is queued and flushed by the selector
+ * thread when the socket becomes writable.
+ */
+final class FrameConnection {
+    /**
+     * Length of the frame header.
+     */
+    static final int HEADER_SIZE = 4;
+
+    /**
+     * Maximum size of a frame body.
+     */
+    static final int MAX_FRAME_SIZE = 16 << 20;
+
+    /**
+     * Maximum number of bytes waiting to be written before writes are rejected.
+     */
+    static final long MAX_BACKLOG = 64L << 20;
+
+    private static final int READ_BUFFER_SIZE = 64 << 10;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    // The following are guarded by this
+    private final ArrayDeque<ByteBuffer> backlog = new ArrayDeque<>();
+    private long backlogBytes;
+
+
+    /**
+     * Register a connected channel with a selector.
+     *
+     * @param channel The connected channel.
+     * @param selector The selector of the thread reading the frames.
+     * @throws IOException if the channel cannot be registered.
+     */
+    FrameConnection(SocketChannel channel, Selector selector) throws IOException {
+        channel.configureBlocking(false);
+        this.channel = channel;
+        this.key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+
+    /**
+     * Read the available bytes and pass the complete frames to the consumer, called by the selector
+     * thread when the channel is readable. The frame buffers are only valid during the call.
+     *
+     * @param consumer Receives the body of each frame.
+     * @return Returns false if the peer closed the connection.
+     * @throws IOException if the read fails or a frame is invalid.
+     */
+    boolean read(Consumer<ByteBuffer> consumer) throws IOException {
+        if (channel.read(in) < 0) {
+            return false;
+        }
+        in.flip();
+        int needed = 0;
+        while (in.remaining() >= HEADER_SIZE) {
+            final int size = in.getInt(in.position());
+            if (size < 0 || size > MAX_FRAME_SIZE) {
+                throw new IOException("Invalid frame size " + size);
+            }
+            if (in.remaining() < HEADER_SIZE + size) {
+                needed = HEADER_SIZE + size;
+                break;
+            }
+            final ByteBuffer frame = in.slice(in.position() + HEADER_SIZE, size);
+            in.position(in.position() + HEADER_SIZE + size);
+            consumer.accept(frame);
+        }
+        in.compact();
+        if (needed > in.capacity()) {
+            final ByteBuffer larger = ByteBuffer.allocate(needed);
+            in.flip();
+            larger.put(in);
+            in = larger;
+        }
+        return true;
+    }
+
+
+    /**
+     * Write buffers holding complete frames, the buffers must not be modified afterwards.
+     *
+     * @param buffers The buffers to write in order.
+     * @return Returns false if too many bytes are already waiting to be written.
+     * @throws IOException if the write fails.
+     */
+    synchronized boolean write(ByteBuffer... buffers) throws IOException {
+        if (backlog.isEmpty()) {
+            channel.write(buffers);
+            for (ByteBuffer buffer : buffers) {
+                enqueue(buffer);
+            }
+            if (!backlog.isEmpty()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                key.selector().wakeup();
+            }
+            return true;
+        }
+        if (backlogBytes >= MAX_BACKLOG) {
+            return false;
+        }
+        for (ByteBuffer buffer : buffers) {
+            enqueue(buffer);
+        }
+        return true;
+    }
+
+
+    /**
+     * Write the queued bytes, called by the selector thread when the channel is writable.
+     *
+     * @throws IOException if the write fails.
+     */
+    synchronized void flush() throws IOException {
+        channel.write(backlog.toArray(new ByteBuffer[0]));
+        while (!backlog.isEmpty() && !backlog.peekFirst().hasRemaining()) {
+            backlog.pollFirst();
+        }
+        backlogBytes = 0;
+        for (ByteBuffer buffer : backlog) {
+            backlogBytes += buffer.remaining();
+        }
+        if (backlog.isEmpty()) {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+
+    /**
+     * Close the connection.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with the channel
+            Logger.getGlobal().log(Level.FINE, "Failed to close the connection", e);
+        }
+    }
+
+
+    private void enqueue(ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            backlog.addLast(buffer);
+            backlogBytes += buffer.remaining();
+        }
+    }
+}
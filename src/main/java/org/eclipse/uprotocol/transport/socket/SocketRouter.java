@@ -0,0 +1,331 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.socket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small local router for {@link SocketUTransport}: it accepts connections on a Unix domain or TCP socket
+ * and forwards every frame it receives to all the other connections.
+ *
+ * <p>The router does not parse the messages, the transports filter what they receive. A connection that
+ * does not read its frames fast enough gets frames dropped once {@link FrameConnection#MAX_BACKLOG} bytes
+ * are waiting for it, see {@link #getDroppedCount()}, so that it cannot stall the others.
+ *
+ * <p>The router runs in a thread of the application with {@link #start()}, or as its own process:
+ * <pre>
+ * java -cp uprotocol-java.jar org.eclipse.uprotocol.transport.socket.SocketRouter unix:/run/uprotocol.sock
+ * java -cp uprotocol-java.jar org.eclipse.uprotocol.transport.socket.SocketRouter tcp:localhost:7500
+ * </pre>
+ */
+public class SocketRouter implements AutoCloseable {
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final Selector selector;
+    private final List<FrameConnection> connections = new ArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile Thread runner;
+    private volatile boolean closed;
+    private volatile int connected;
+    private volatile long dropped;
+
+
+    /**
+     * Create a router listening on an address. A Unix domain socket file left by a router that did not
+     * close is replaced, but the router fails if another router still listens on it.
+     *
+     * @param address The {@link UnixDomainSocketAddress} or {@link InetSocketAddress} to listen on.
+     * @throws UncheckedIOException if the router cannot listen on the address or another router does.
+     */
+    public SocketRouter(SocketAddress address) {
+        Objects.requireNonNull(address, "Address cannot be null");
+        ServerSocketChannel channel = null;
+        try {
+            if (address instanceof UnixDomainSocketAddress unix) {
+                deleteStale(unix);
+                channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            } else {
+                channel = ServerSocketChannel.open();
+            }
+            channel.bind(address);
+            channel.configureBlocking(false);
+            this.selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_ACCEPT);
+            this.server = channel;
+            this.address = channel.getLocalAddress();
+        } catch (IOException e) {
+            if (channel != null) {
+                close(channel);
+            }
+            throw new UncheckedIOException("Failed to listen on " + address, e);
+        }
+    }
+
+
+    /**
+     * Delete the socket file of an address if no router answers on it anymore.
+     *
+     * @throws IOException if a router still listens on the address or the file cannot be deleted.
+     */
+    private static void deleteStale(UnixDomainSocketAddress address) throws IOException {
+        if (!Files.exists(address.getPath())) {
+            return;
+        }
+        try (SocketChannel probe = SocketChannel.open(address)) {
+            throw new IOException("Another router is listening on " + address);
+        } catch (ConnectException e) {
+            // Nothing listens on the file anymore
+            Files.deleteIfExists(address.getPath());
+        }
+    }
+
+
+    /**
+     * Run the router in a new daemon thread.
+     *
+     * @return Returns the router.
+     */
+    public SocketRouter start() {
+        final Thread thread = new Thread(this::run, "up-socket-router");
+        thread.setDaemon(true);
+        runner = thread;
+        thread.start();
+        return this;
+    }
+
+
+    /**
+     * Run the router in the calling thread until it is closed.
+     */
+    public void run() {
+        runner = Thread.currentThread();
+        try {
+            while (!closed) {
+                selector.select(this::handle);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            if (!closed) {
+                Logger.getGlobal().log(Level.SEVERE, "Router failed", e);
+            }
+        } finally {
+            shutdown();
+            stopped.countDown();
+        }
+    }
+
+
+    /**
+     * Return the address the router listens on, with the actual port when it listens on TCP port 0.
+     *
+     * @return Returns the address to connect the transports to.
+     */
+    public SocketAddress getLocalAddress() {
+        return address;
+    }
+
+
+    /**
+     * Return the number of transports connected to the router.
+     *
+     * @return Returns the number of open connections.
+     */
+    public int getConnectionCount() {
+        return connected;
+    }
+
+
+    /**
+     * Return the number of frames dropped because a connection was too slow to read them.
+     *
+     * @return Returns the number of dropped frames.
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+
+    /**
+     * Stop the router and close all the connections, waits for the thread running the router to stop.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        final Thread thread = runner;
+        if (thread == null) {
+            shutdown();
+        } else if (thread != Thread.currentThread()) {
+            try {
+                stopped.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * Parse an address of the form {@code unix:<path>} or {@code tcp:<host>:<port>}.
+     *
+     * @param address The address to parse.
+     * @return Returns the socket address.
+     * @throws IllegalArgumentException if the address is not valid.
+     */
+    public static SocketAddress parseAddress(String address) {
+        Objects.requireNonNull(address, "Address cannot be null");
+        if (address.startsWith("unix:") && address.length() > 5) {
+            return UnixDomainSocketAddress.of(address.substring(5));
+        }
+        final int colon = address.lastIndexOf(':');
+        if (address.startsWith("tcp:") && colon > 4) {
+            try {
+                final int port = Integer.parseInt(address.substring(colon + 1));
+                return new InetSocketAddress(address.substring(4, colon), port);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid TCP address " + address, e);
+            }
+        }
+        throw new IllegalArgumentException("Address must be unix:<path> or tcp:<host>:<port>, not " + address);
+    }
+
+
+    /**
+     * Run a router as a process.
+     *
+     * @param args The address to listen on, see {@link #parseAddress(String)}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: SocketRouter unix:<path> | tcp:<host>:<port>");
+            System.exit(1);
+        }
+        final SocketRouter router = new SocketRouter(parseAddress(args[0]));
+        Runtime.getRuntime().addShutdownHook(new Thread(router::close));
+        Logger.getGlobal().info("Router listening on " + router.getLocalAddress());
+        router.run();
+    }
+
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isValid() && key.isAcceptable()) {
+                accept();
+                return;
+            }
+            final FrameConnection connection = (FrameConnection) key.attachment();
+            try {
+                if (key.isValid() && key.isWritable()) {
+                    connection.flush();
+                }
+                if (key.isValid() && key.isReadable() && !connection.read(frame -> forward(connection, frame))) {
+                    disconnect(connection);
+                }
+            } catch (IOException e) {
+                Logger.getGlobal().log(Level.INFO, "Closing a failed connection", e);
+                disconnect(connection);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private void accept() throws IOException {
+        final SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        if (channel.getLocalAddress() instanceof InetSocketAddress) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        connections.add(new FrameConnection(channel, selector));
+        connected = connections.size();
+    }
+
+
+    private void forward(FrameConnection from, ByteBuffer frame) {
+        if (connections.size() < 2) {
+            return;
+        }
+        final ByteBuffer copy = ByteBuffer.allocate(FrameConnection.HEADER_SIZE + frame.remaining());
+        copy.putInt(frame.remaining()).put(frame).flip();
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            final FrameConnection to = connections.get(i);
+            if (to == from) {
+                continue;
+            }
+            try {
+                if (!to.write(copy.duplicate())) {
+                    dropped++;
+                }
+            } catch (IOException e) {
+                disconnect(to);
+            }
+        }
+    }
+
+
+    private void disconnect(FrameConnection connection) {
+        connections.remove(connection);
+        connected = connections.size();
+        connection.close();
+    }
+
+
+    private void shutdown() {
+        for (FrameConnection connection : connections) {
+            connection.close();
+        }
+        connections.clear();
+        connected = 0;
+        close(server);
+        close(selector);
+        if (address instanceof UnixDomainSocketAddress unix) {
+            try {
+                Files.deleteIfExists(unix.getPath());
+            } catch (IOException e) {
+                // Left for the next router to replace
+                Logger.getGlobal().log(Level.FINE, "Failed to delete the socket file", e);
+            }
+        }
+    }
+
+
+    private static void close(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+            Logger.getGlobal().log(Level.FINE, "Failed to close", e);
+        }
+    }
+}
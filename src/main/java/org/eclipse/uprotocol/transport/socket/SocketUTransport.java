@@ -0,0 +1,336 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.socket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.transport.BatchStatus;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.validate.UAttributesValidator;
+import org.eclipse.uprotocol.uri.validator.UriFilter;
+import org.eclipse.uprotocol.uri.validator.UriFilterIndex;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.eclipse.uprotocol.validation.ValidationResult;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * {@link UTransport} between uEntities on the same host over a socket connected to a {@link SocketRouter},
+ * a Unix domain socket ({@link UnixDomainSocketAddress}) or a TCP socket ({@link InetSocketAddress}).
+ *
+ * <p>Messages travel as frames holding the length of the serialized {@link UMessage} followed by the
+ * message. A send writes its frame straight to the socket, a batch is written with a single gathering
+ * write. A reader thread waits on a {@link Selector}, reads the frames and invokes the listeners whose
+ * {@link UriFilter} match. The router forwards every frame to all the other connected transports, so
+ * messages are not delivered to the listeners of the transport that sent them. Listeners run on the
+ * reader thread and should not block.
+ *
+ * <pre>{@code
+ * UTransport transport = new SocketUTransport(source, UnixDomainSocketAddress.of("/run/uprotocol.sock"));
+ * }</pre>
+ */
+public class SocketUTransport implements UTransport {
+    private static final UStatus OK_STATUS = UStatus.newBuilder().setCode(UCode.OK).build();
+    private static final CompletionStage<UStatus> OK = CompletableFuture.completedStage(OK_STATUS);
+
+    private final UUri source;
+    private final Selector selector;
+    private final FrameConnection connection;
+    private final UriFilterIndex<UListener> listeners = new UriFilterIndex<>();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private final Consumer<ByteBuffer> delivery = this::deliver;
+
+
+    /**
+     * Create a transport connected to a router.
+     *
+     * @param source The source address of the uE using this transport.
+     * @param router The address of the {@link SocketRouter}.
+     * @throws UncheckedIOException if the router cannot be reached.
+     */
+    public SocketUTransport(UUri source, SocketAddress router) {
+        this.source = Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(router, "Router address cannot be null");
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open(router);
+            if (router instanceof InetSocketAddress) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            this.selector = Selector.open();
+            this.connection = new FrameConnection(channel, selector);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Failed to connect to the router at " + router, e);
+        }
+        this.reader = new Thread(this::read, "up-socket-reader-" + router);
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+
+    /**
+     * Write the message to the socket.
+     *
+     * @param message the {@link UMessage} to be sent.
+     * @return Returns {@link UStatus} with {@link UCode#OK} once the message is written or queued,
+     *         {@link UCode#INVALID_ARGUMENT} if the message is invalid or too large,
+     *         {@link UCode#RESOURCE_EXHAUSTED} if the router does not keep up with the messages sent,
+     *         or {@link UCode#UNAVAILABLE} if the connection is closed.
+     */
+    @Override
+    public CompletionStage<UStatus> send(UMessage message) {
+        final UStatus invalid = validate(message);
+        if (invalid != null) {
+            return CompletableFuture.completedStage(invalid);
+        }
+        final ByteBuffer[] frame = new ByteBuffer[2];
+        frame(message, frame, 0);
+        final UStatus status = write(frame);
+        return status == OK_STATUS ? OK : CompletableFuture.completedStage(status);
+    }
+
+
+    /**
+     * Write all the valid messages of the batch to the socket with a single gathering write.
+     *
+     * @param messages the list of {@link UMessage} to be sent.
+     * @return Returns {@link BatchStatus} with the status of each message that is invalid, or the
+     *         failure of the write for the whole batch.
+     */
+    @Override
+    public CompletionStage<BatchStatus> sendBatch(List<UMessage> messages) {
+        if (messages == null) {
+            return CompletableFuture.completedStage(
+                BatchStatus.failure(UCode.INVALID_ARGUMENT, "Messages cannot be null"));
+        }
+        final int count = messages.size();
+        final Map<Integer, UStatus> failures = new HashMap<>();
+        final ByteBuffer[] frames = new ByteBuffer[count * 2];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            final UMessage message = messages.get(i);
+            final UStatus invalid = validate(message);
+            if (invalid != null) {
+                failures.put(i, invalid);
+            } else {
+                length = frame(message, frames, length);
+            }
+        }
+        if (length > 0) {
+            final UStatus status = write(length == frames.length ? frames : Arrays.copyOf(frames, length));
+            if (status.getCode() != UCode.OK) {
+                for (int i = 0; i < count; i++) {
+                    failures.putIfAbsent(i, status);
+                }
+            }
+        }
+        return CompletableFuture.completedStage(BatchStatus.of(count, failures));
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return failure(UCode.INVALID_ARGUMENT, "Listener cannot be null");
+        }
+        listeners.add(new UriFilter(sourceFilter, sinkFilter), listener);
+        return OK;
+    }
+
+
+    @Override
+    public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+        if (listener == null) {
+            return failure(UCode.INVALID_ARGUMENT, "Listener cannot be null");
+        }
+        if (listeners.remove(new UriFilter(sourceFilter, sinkFilter), listener)) {
+            return OK;
+        }
+        return failure(UCode.NOT_FOUND, "Listener not found");
+    }
+
+
+    @Override
+    public UUri getSource() {
+        return source;
+    }
+
+
+    /**
+     * Close the connection to the router, stop the reader thread and unregister all the listeners.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        listeners.clear();
+    }
+
+
+    /**
+     * Return whether the connection to the router is open.
+     *
+     * @return Returns true until the transport is closed or the router closes the connection.
+     */
+    public boolean isConnected() {
+        return !closed;
+    }
+
+
+    /**
+     * Validate a message before it is written.
+     *
+     * @return Returns null if the message can be sent, otherwise the failure status.
+     */
+    private UStatus validate(UMessage message) {
+        if (message == null) {
+            return status(UCode.INVALID_ARGUMENT, "Message cannot be null");
+        }
+        final UAttributes attributes = message.getAttributes();
+        final ValidationResult result = UAttributesValidator.getValidator(attributes).validate(attributes);
+        if (result.isFailure()) {
+            return status(UCode.INVALID_ARGUMENT, result.getMessage());
+        }
+        if (message.getSerializedSize() > FrameConnection.MAX_FRAME_SIZE) {
+            return status(UCode.INVALID_ARGUMENT, "Message is larger than the maximum frame size");
+        }
+        return null;
+    }
+
+
+    /**
+     * Add the header and the body of the frame of a message to the buffers.
+     *
+     * @return Returns the number of buffers used.
+     */
+    private static int frame(UMessage message, ByteBuffer[] buffers, int offset) {
+        final byte[] body = message.toByteArray();
+        buffers[offset] = ByteBuffer.allocate(FrameConnection.HEADER_SIZE).putInt(0, body.length);
+        buffers[offset + 1] = ByteBuffer.wrap(body);
+        return offset + 2;
+    }
+
+
+    private UStatus write(ByteBuffer[] buffers) {
+        if (closed) {
+            return status(UCode.UNAVAILABLE, "Transport is closed");
+        }
+        try {
+            if (connection.write(buffers)) {
+                return OK_STATUS;
+            }
+            return status(UCode.RESOURCE_EXHAUSTED, "Too many bytes waiting to be written");
+        } catch (IOException e) {
+            return status(UCode.UNAVAILABLE, "Failed to write to the router: " + e.getMessage());
+        }
+    }
+
+
+    private void read() {
+        try {
+            while (!closed) {
+                selector.select(this::handle);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            if (!closed) {
+                Logger.getGlobal().log(Level.WARNING, "Connection to the router failed", e);
+            }
+        } finally {
+            closed = true;
+            connection.close();
+            closeQuietly(selector);
+        }
+    }
+
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+            if (key.isValid() && key.isReadable() && !connection.read(delivery)) {
+                closed = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private void deliver(ByteBuffer frame) {
+        final UMessage message;
+        try {
+            message = UMessage.parseFrom(frame);
+        } catch (InvalidProtocolBufferException e) {
+            Logger.getGlobal().log(Level.WARNING, "Dropping a frame that is not a UMessage", e);
+            return;
+        }
+        for (UListener listener : listeners.match(message.getAttributes())) {
+            try {
+                listener.onReceive(message);
+            } catch (RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "Listener failed to process message", e);
+            }
+        }
+    }
+
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+            Logger.getGlobal().log(Level.FINE, "Failed to close", e);
+        }
+    }
+
+
+    private static UStatus status(UCode code, String message) {
+        return UStatus.newBuilder().setCode(code).setMessage(message).build();
+    }
+
+
+    private static CompletionStage<UStatus> failure(UCode code, String message) {
+        return CompletableFuture.completedStage(status(code, message));
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.uprotocol.transport.validate;
 
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
 import org.eclipse.uprotocol.uuid.factory.UuidUtils;
 import org.eclipse.uprotocol.v1.UAttributes;
@@ -22,7 +23,6 @@ import org.eclipse.uprotocol.v1.UUID;
 import org.eclipse.uprotocol.validation.ValidationResult;
 
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -92,18 +92,19 @@ public abstract class UAttributesValidator {
      *         current time
      */
     public boolean isExpired(UAttributes uAttributes) {
-        final int ttl = uAttributes.getTtl();
-        final Optional<Long> maybeTime = UuidUtils.getTime(uAttributes.getId());
-
-        // if the message does not have a ttl or the original time is not present or the
-        // ttl is less than 0
-        if (maybeTime.isEmpty() || ttl <= 0) {
-            return false;
-        }
+        return isExpired(uAttributes, UClock.SYSTEM);
+    }
 
-        // the original time plus the ttl is less than the current time, the message has
-        // expired
-        return (maybeTime.get() + ttl) < System.currentTimeMillis();
+    /**
+     * Check the time-to-live attribute to see if it has expired at the time of a clock.
+     *
+     * @param uAttributes UAttributes with time to live value.
+     * @param clock       The clock giving the current time.
+     * @return Returns a true if the original time plus the ttl is less than the
+     *         time of the clock
+     */
+    public boolean isExpired(UAttributes uAttributes, UClock clock) {
+        return UuidUtils.isExpiredAt(uAttributes.getId(), uAttributes.getTtl(), clock.millis());
     }
 
     /**
@@ -0,0 +1,177 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.factory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.uprotocol.Uoptions;
+import org.eclipse.uprotocol.v1.UUri;
+
+import com.google.protobuf.DescriptorProtos.MethodOptions;
+import com.google.protobuf.DescriptorProtos.ServiceOptions;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.Descriptors.ServiceDescriptor;
+
+/**
+ * URIs of a service and of its methods, read once from the options of a protobuf generated code Service
+ * Descriptor.
+ *
+ * <p>The entity id and version come from the {@code service_id} and {@code service_version_major}
+ * service options and the resource id of each method from its {@code method_id} option, methods without
+ * it are left out. The URIs are built when the catalog is created and looked up by method name or
+ * resource id without reading the descriptor again.
+ */
+public final class ServiceUriCatalog {
+    // Largest resource id of a method, ids above are topics
+    private static final int MAX_METHOD_ID = 0x7FFF;
+
+    // Catalogs of the local authority, one per descriptor
+    private static final Map<ServiceDescriptor, ServiceUriCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final ServiceDescriptor descriptor;
+    private final String authorityName;
+    private final int ueId;
+    private final int ueVersionMajor;
+    private final Map<String, UUri> methodsByName;
+    // Method URIs indexed by resource id
+    private final UUri[] methodsById;
+    private final List<UUri> methods;
+
+
+    private ServiceUriCatalog(ServiceDescriptor descriptor, String authorityName) {
+        final ServiceOptions options = descriptor.getOptions();
+        this.descriptor = descriptor;
+        this.authorityName = authorityName == null ? "" : authorityName;
+        this.ueId = options.<Integer>getExtension(Uoptions.serviceId);
+        this.ueVersionMajor = options.<Integer>getExtension(Uoptions.serviceVersionMajor);
+
+        final Map<String, UUri> byName = new HashMap<>();
+        final List<UUri> all = new ArrayList<>();
+        int maxId = -1;
+        for (MethodDescriptor method : descriptor.getMethods()) {
+            final MethodOptions methodOptions = method.getOptions();
+            if (!methodOptions.hasExtension(Uoptions.methodId)) {
+                continue;
+            }
+            final UUri uri = build(methodOptions.<Integer>getExtension(Uoptions.methodId));
+            byName.put(method.getName(), uri);
+            all.add(uri);
+            if (uri.getResourceId() >= 0 && uri.getResourceId() <= MAX_METHOD_ID) {
+                maxId = Math.max(maxId, uri.getResourceId());
+            }
+        }
+        this.methodsByName = Map.copyOf(byName);
+        this.methods = Collections.unmodifiableList(all);
+        this.methodsById = new UUri[maxId + 1];
+        for (UUri uri : all) {
+            if (uri.getResourceId() >= 0 && uri.getResourceId() <= maxId) {
+                methodsById[uri.getResourceId()] = uri;
+            }
+        }
+    }
+
+
+    /**
+     * Return the catalog of a service for the local authority, created on the first call for the
+     * descriptor and shared afterwards.
+     *
+     * @param descriptor The protobuf generated code Service Descriptor.
+     * @return Returns the catalog of the service.
+     */
+    public static ServiceUriCatalog of(ServiceDescriptor descriptor) {
+        Objects.requireNonNull(descriptor, "Descriptor cannot be null");
+        return CATALOGS.computeIfAbsent(descriptor, key -> new ServiceUriCatalog(key, ""));
+    }
+
+
+    /**
+     * Create the catalog of a service running on an authority, the caller should keep it.
+     *
+     * @param descriptor The protobuf generated code Service Descriptor.
+     * @param authorityName The authority name, null or empty for the local authority.
+     * @return Returns the catalog of the service.
+     */
+    public static ServiceUriCatalog of(ServiceDescriptor descriptor, String authorityName) {
+        if (authorityName == null || authorityName.isEmpty()) {
+            return of(descriptor);
+        }
+        return new ServiceUriCatalog(Objects.requireNonNull(descriptor, "Descriptor cannot be null"),
+            authorityName);
+    }
+
+
+    /**
+     * Return the URI of a method.
+     *
+     * @param name The name of the method as declared in the service.
+     * @return Returns the URI of the method.
+     * @throws IllegalArgumentException if the service has no such method or the method has no
+     *         {@code method_id} option.
+     */
+    public UUri getMethod(String name) {
+        final UUri uri = methodsByName.get(name);
+        if (uri == null) {
+            throw new IllegalArgumentException("Unknown method " + name + " in " + descriptor.getFullName());
+        }
+        return uri;
+    }
+
+
+    /**
+     * Return the URI of a resource of the service, the cached instance for the resource id of a method.
+     *
+     * @param resourceId The resource id.
+     * @return Returns the URI of the resource.
+     */
+    public UUri getResource(int resourceId) {
+        if (resourceId >= 0 && resourceId < methodsById.length && methodsById[resourceId] != null) {
+            return methodsById[resourceId];
+        }
+        return build(resourceId);
+    }
+
+
+    /**
+     * Return the URIs of all the methods that have a {@code method_id} option, in declaration order.
+     *
+     * @return Returns the method URIs.
+     */
+    public List<UUri> getMethods() {
+        return methods;
+    }
+
+
+    /**
+     * Return the descriptor the catalog was read from.
+     *
+     * @return Returns the service descriptor.
+     */
+    public ServiceDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+
+    private UUri build(int resourceId) {
+        return UUri.newBuilder()
+            .setAuthorityName(authorityName)
+            .setUeId(ueId)
+            .setUeVersionMajor(ueVersionMajor)
+            .setResourceId(resourceId).build();
+    }
+}
@@ -12,14 +12,13 @@
  */
 package org.eclipse.uprotocol.uri.factory;
 
-import org.eclipse.uprotocol.Uoptions;
 import org.eclipse.uprotocol.v1.UUri;
 
-import com.google.protobuf.DescriptorProtos.ServiceOptions;
 import com.google.protobuf.Descriptors.ServiceDescriptor;
 
 /**
- * URI Factory that builds URIs from protos.
+ * URI Factory that builds URIs from protos. The service options of a descriptor are read once, see
+ * {@link ServiceUriCatalog}.
  */
 public interface UriFactory {
     String WILDCARD_AUTHORITY = "*";
@@ -51,17 +50,11 @@ public interface UriFactory {
             return UUri.getDefaultInstance();
         }
 
-        final ServiceOptions options = descriptor.getOptions();
-
-        UUri.Builder builder = UUri.newBuilder()
-                .setUeId(options.<Integer>getExtension(Uoptions.serviceId))
-                .setUeVersionMajor(options.<Integer>getExtension(Uoptions.serviceVersionMajor))
-                .setResourceId(resourceId);
-
+        final UUri uri = ServiceUriCatalog.of(descriptor).getResource(resourceId);
         if (authorityName != null && !authorityName.isEmpty()) {
-            builder.setAuthorityName(authorityName);
+            return uri.toBuilder().setAuthorityName(authorityName).build();
         }
-        return builder.build();
+        return uri;
     }
 
 
@@ -0,0 +1,149 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.packed;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+
+/**
+ * Process wide registry that gives each authority name a small int id, so that authorities can be
+ * compared by id and names can share one {@link String} instance.
+ *
+ * <p>Names are registered by the code that compiles patterns and keys, such as {@link PackedUri}, and
+ * looked up without registering them for names coming from messages, so that a peer sending random
+ * authority names cannot grow the registry. The registry holds at most {@link #MAX_SIZE} names
+ * and names are never removed.
+ */
+public final class AuthorityRegistry {
+
+    /**
+     * Id of the wildcard authority {@link UriFactory#WILDCARD_AUTHORITY}.
+     */
+    public static final int WILDCARD_ID = 0;
+
+    /**
+     * Id returned for names that are not registered.
+     */
+    public static final int UNKNOWN_ID = -1;
+
+    /**
+     * Maximum number of names in the registry.
+     */
+    public static final int MAX_SIZE = 1 << 16;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    // Names by id, replaced by a larger copy when full, only written while holding the class lock
+    private static volatile String[] names = new String[64];
+    private static int size;
+
+    static {
+        register(UriFactory.WILDCARD_AUTHORITY);
+    }
+
+
+    private AuthorityRegistry() {
+    }
+
+
+    /**
+     * Return the id of an authority name, registering the name if needed.
+     *
+     * @param name The authority name.
+     * @return Returns the id of the name, or {@link #UNKNOWN_ID} if the registry is full.
+     */
+    public static int register(String name) {
+        Objects.requireNonNull(name, "Authority name cannot be null");
+        final Integer id = IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (AuthorityRegistry.class) {
+            final Integer current = IDS.get(name);
+            if (current != null) {
+                return current;
+            }
+            if (size == MAX_SIZE) {
+                return UNKNOWN_ID;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size] = name;
+            IDS.put(name, size);
+            return size++;
+        }
+    }
+
+
+    /**
+     * Return the id of an authority name without registering it.
+     *
+     * @param name The authority name.
+     * @return Returns the id of the name, or {@link #UNKNOWN_ID} if it is not registered.
+     */
+    public static int find(String name) {
+        final Integer id = name == null ? null : IDS.get(name);
+        return id == null ? UNKNOWN_ID : id;
+    }
+
+
+    /**
+     * Return the name of an id.
+     *
+     * @param id The authority id.
+     * @return Returns the registered name, or null if the id is unknown.
+     */
+    public static String name(int id) {
+        final String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+
+    /**
+     * Return the registered instance of an authority name so that names compare by reference.
+     *
+     * @param name The authority name.
+     * @return Returns the registered instance, or the name itself if it is not registered.
+     */
+    public static String intern(String name) {
+        final int id = find(name);
+        return id == UNKNOWN_ID ? name : name(id);
+    }
+
+
+    /**
+     * Check if an authority id matches another one, the wildcard id matches any authority.
+     *
+     * @param patternId The id of a registered authority name or {@link #WILDCARD_ID}.
+     * @param candidateId The id of the authority to match, possibly {@link #UNKNOWN_ID}.
+     * @return Returns true if the pattern is the wildcard or both ids are the same known id.
+     */
+    public static boolean matches(int patternId, int candidateId) {
+        return patternId == WILDCARD_ID || patternId != UNKNOWN_ID && patternId == candidateId;
+    }
+
+
+    /**
+     * Return the number of registered names.
+     *
+     * @return Returns the size of the registry.
+     */
+    public static synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.packed;
+
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * {@link UUri} packed in primitives: the entity id, entity version and resource id in one {@code long}
+ * and the authority name as its {@link AuthorityRegistry} id.
+ *
+ * <p>Two packed URIs are equal when the URIs they were packed from have equal fields, comparing and
+ * hashing them does not touch any string or protobuf descriptor. Only URIs whose entity version fits
+ * in 8 bits and resource id in 16 bits can be packed, which are all the valid ones, see
+ * {@link #isPackable(UUri)}.
+ *
+ * @param authorityId The {@link AuthorityRegistry} id of the authority name.
+ * @param bits The entity id, entity version and resource id, see {@link #pack(UUri)}.
+ */
+public record PackedUri(int authorityId, long bits) {
+    /**
+     * Bits of the resource id in a packed URI.
+     */
+    public static final long RESOURCE_BITS = 0xFFFFL;
+
+    /**
+     * Bits of the entity version in a packed URI.
+     */
+    public static final long VERSION_BITS = 0xFFL << 16;
+
+    /**
+     * Bits of the entity id, the lower 16 bits of ue_id, in a packed URI.
+     */
+    public static final long ENTITY_ID_BITS = 0xFFFFL << 24;
+
+    /**
+     * Bits of the entity instance, the upper 16 bits of ue_id, in a packed URI.
+     */
+    public static final long ENTITY_INSTANCE_BITS = 0xFFFFL << 40;
+
+    /**
+     * All the bits used in a packed URI.
+     */
+    public static final long ALL_BITS = RESOURCE_BITS | VERSION_BITS | ENTITY_ID_BITS | ENTITY_INSTANCE_BITS;
+
+    // Bits of the entity version and resource id fields that cannot be packed
+    private static final int VERSION_OVERFLOW = ~0xFF;
+    private static final int RESOURCE_OVERFLOW = ~0xFFFF;
+
+
+    /**
+     * Pack a URI, registering its authority name.
+     *
+     * @param uri The URI to pack.
+     * @return Returns the packed URI.
+     * @throws IllegalArgumentException if the URI cannot be packed or the authority registry is full.
+     */
+    public static PackedUri of(UUri uri) {
+        if (!isPackable(uri)) {
+            throw new IllegalArgumentException("URI cannot be packed");
+        }
+        final int authorityId = AuthorityRegistry.register(uri.getAuthorityName());
+        if (authorityId == AuthorityRegistry.UNKNOWN_ID) {
+            throw new IllegalArgumentException("Authority registry is full");
+        }
+        return new PackedUri(authorityId, pack(uri));
+    }
+
+
+    /**
+     * Pack the entity id, entity instance, entity version and resource id of a URI in a long. Versions
+     * above 0xFF and resource ids above 0xFFFF are truncated, see {@link #isPackable(UUri)}.
+     *
+     * @param uri The URI to pack.
+     * @return Returns the packed fields.
+     */
+    public static long pack(UUri uri) {
+        return ((uri.getUeId() & 0xFFFFFFFFL) << 24) |
+               ((uri.getUeVersionMajor() & 0xFFL) << 16) |
+               (uri.getResourceId() & RESOURCE_BITS);
+    }
+
+
+    /**
+     * Check that a URI can be packed without losing information.
+     *
+     * @param uri The URI to check.
+     * @return Returns true if the entity version and resource id of the URI fit in the packed form.
+     */
+    public static boolean isPackable(UUri uri) {
+        return ((uri.getUeVersionMajor() & VERSION_OVERFLOW) | (uri.getResourceId() & RESOURCE_OVERFLOW)) == 0;
+    }
+
+
+    /**
+     * Return the ue_id of the packed URI, entity instance and entity id.
+     *
+     * @return Returns the ue_id.
+     */
+    public int ueId() {
+        return (int) (bits >>> 24);
+    }
+
+
+    /**
+     * Return the entity version of the packed URI.
+     *
+     * @return Returns the ue_version_major.
+     */
+    public int ueVersionMajor() {
+        return (int) ((bits & VERSION_BITS) >>> 16);
+    }
+
+
+    /**
+     * Return the resource id of the packed URI.
+     *
+     * @return Returns the resource_id.
+     */
+    public int resourceId() {
+        return (int) (bits & RESOURCE_BITS);
+    }
+
+
+    /**
+     * Build the URI that was packed.
+     *
+     * @return Returns the URI.
+     */
+    public UUri toUri() {
+        return UUri.newBuilder()
+            .setAuthorityName(AuthorityRegistry.name(authorityId))
+            .setUeId(ueId())
+            .setUeVersionMajor(ueVersionMajor())
+            .setResourceId(resourceId()).build();
+    }
+}
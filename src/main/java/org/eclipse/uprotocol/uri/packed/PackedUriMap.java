@@ -0,0 +1,273 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.packed;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Concurrent map keyed by {@link UUri} that stores its keys as {@link PackedUri} primitives, for the
+ * lookups done for every message such as finding the handler of a request or of a notification.
+ *
+ * <p>A lookup packs the URI on the fly and probes an open addressing table of primitive arrays, it does
+ * not allocate, never locks and does not call the protobuf {@code equals} or {@code hashCode} of the
+ * URI. URIs whose authority name was never registered by a key are not found without probing at all.
+ *
+ * <p>Updates copy the table under a lock and publish the copy, so they cost a time proportional to the
+ * size of the map. The map is meant for keys registered once and looked up many times. Keys must be
+ * packable, see {@link PackedUri#of(UUri)}.
+ *
+ * @param <V> The type of the values.
+ */
+public final class PackedUriMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private volatile Table<V> table = new Table<>(MIN_CAPACITY);
+
+
+    /**
+     * Return the value of a URI.
+     *
+     * @param uri The URI to look up.
+     * @return Returns the value, or null if the URI is not in the map.
+     */
+    public V get(UUri uri) {
+        final Table<V> current = table;
+        if (uri == null || current.size == 0 || !PackedUri.isPackable(uri)) {
+            return null;
+        }
+        final int authorityId = AuthorityRegistry.find(uri.getAuthorityName());
+        if (authorityId == AuthorityRegistry.UNKNOWN_ID) {
+            return null;
+        }
+        return current.get(authorityId, PackedUri.pack(uri));
+    }
+
+
+    /**
+     * Return the value of a packed URI.
+     *
+     * @param key The packed URI to look up.
+     * @return Returns the value, or null if the URI is not in the map.
+     */
+    public V get(PackedUri key) {
+        return key == null ? null : table.get(key.authorityId(), key.bits());
+    }
+
+
+    /**
+     * Associate a value with a URI.
+     *
+     * @param key The URI.
+     * @param value The value.
+     * @return Returns the previous value, or null if there was none.
+     * @throws IllegalArgumentException if the URI cannot be packed.
+     */
+    public synchronized V put(UUri key, V value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        final PackedUri packed = PackedUri.of(Objects.requireNonNull(key, "Key cannot be null"));
+        final V previous = get(packed);
+        table = table.with(packed, key, value);
+        return previous;
+    }
+
+
+    /**
+     * Compute the value of a URI while holding the lock of the map. The function may throw, in which
+     * case the map is unchanged.
+     *
+     * @param key The URI.
+     * @param function Called with the URI and its current value, or null, returns the new value or null
+     *                 to remove it.
+     * @return Returns the new value.
+     * @throws IllegalArgumentException if the URI cannot be packed.
+     */
+    public synchronized V compute(UUri key, BiFunction<? super UUri, ? super V, ? extends V> function) {
+        final PackedUri packed = PackedUri.of(Objects.requireNonNull(key, "Key cannot be null"));
+        final V previous = get(packed);
+        final V value = function.apply(key, previous);
+        if (value != null) {
+            table = table.with(packed, key, value);
+        } else if (previous != null) {
+            table = table.without(packed);
+        }
+        return value;
+    }
+
+
+    /**
+     * Remove the value of a URI.
+     *
+     * @param key The URI.
+     * @return Returns the removed value, or null if the URI was not in the map.
+     */
+    public synchronized V remove(UUri key) {
+        final V previous = get(key);
+        if (previous != null) {
+            table = table.without(PackedUri.of(key));
+        }
+        return previous;
+    }
+
+
+    /**
+     * Remove the value of a URI if it is the given value.
+     *
+     * @param key The URI.
+     * @param value The expected value.
+     * @return Returns true if the value was removed.
+     */
+    public synchronized boolean remove(UUri key, Object value) {
+        final V previous = get(key);
+        if (previous == null || !previous.equals(value)) {
+            return false;
+        }
+        table = table.without(PackedUri.of(key));
+        return true;
+    }
+
+
+    /**
+     * Remove all the values.
+     */
+    public synchronized void clear() {
+        table = new Table<>(MIN_CAPACITY);
+    }
+
+
+    /**
+     * Return the number of values in the map.
+     *
+     * @return Returns the size of the map.
+     */
+    public int size() {
+        return table.size;
+    }
+
+
+    /**
+     * Check if the map is empty.
+     *
+     * @return Returns true if the map has no values.
+     */
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+
+    /**
+     * Call the action for each URI and value, on a snapshot of the map.
+     *
+     * @param action The action to call.
+     */
+    public void forEach(BiConsumer<? super UUri, ? super V> action) {
+        final Table<V> current = table;
+        for (int i = 0; i < current.values.length; i++) {
+            if (current.values[i] != null) {
+                action.accept(current.keys[i], current.value(i));
+            }
+        }
+    }
+
+
+    /**
+     * Immutable once published open addressing table with linear probing, at most half full.
+     */
+    private static final class Table<V> {
+        private final int[] authorities;
+        private final long[] bits;
+        private final UUri[] keys;
+        private final Object[] values;
+        private final int mask;
+        private int size;
+
+        Table(int capacity) {
+            authorities = new int[capacity];
+            bits = new long[capacity];
+            keys = new UUri[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        V get(int authorityId, long key) {
+            int i = slot(authorityId, key);
+            Object value;
+            while ((value = values[i]) != null) {
+                if (bits[i] == key && authorities[i] == authorityId) {
+                    return cast(value);
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        V value(int slot) {
+            return cast(values[slot]);
+        }
+
+        /**
+         * Return a copy of the table with the value of a key added or replaced.
+         */
+        Table<V> with(PackedUri packed, UUri key, V value) {
+            final Table<V> copy = copy(packed, size + 1);
+            copy.insert(packed.authorityId(), packed.bits(), key, value);
+            return copy;
+        }
+
+        /**
+         * Return a copy of the table without a key.
+         */
+        Table<V> without(PackedUri packed) {
+            return copy(packed, size);
+        }
+
+        private Table<V> copy(PackedUri skip, int expected) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < expected * 2) {
+                capacity <<= 1;
+            }
+            final Table<V> copy = new Table<>(capacity);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null && (bits[i] != skip.bits() || authorities[i] != skip.authorityId())) {
+                    copy.insert(authorities[i], bits[i], keys[i], values[i]);
+                }
+            }
+            return copy;
+        }
+
+        private void insert(int authorityId, long key, UUri uri, Object value) {
+            int i = slot(authorityId, key);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            authorities[i] = authorityId;
+            bits[i] = key;
+            keys[i] = uri;
+            values[i] = value;
+            size++;
+        }
+
+        private int slot(int authorityId, long key) {
+            final long hash = (key ^ ((long) authorityId << 48)) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V cast(Object value) {
+            return (V) value;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * UUri Serializer that serializes a UUri to a compact binary form, for low bandwidth links and for
+ * storage keys.
+ *
+ * <p>The first byte holds flags telling which fields follow, fields equal to 0 or empty are left out.
+ * The authority name comes first as the varint length of its UTF-8 bytes followed by the bytes, then
+ * the ue_id, ue_version_major and resource_id as unsigned varints. The topic of a service with a 16
+ * bits ue_id takes 8 bytes plus the length prefixed authority name.
+ * The encoding is never longer than the protobuf encoding of a URI that has at least one field set.
+ *
+ * <p>All the fields round trip as they are, the URI is not validated.
+ */
+public interface BinaryUriSerializer {
+    /**
+     * Flag of the authority name field.
+     */
+    int AUTHORITY = 0x01;
+
+    /**
+     * Flag of the ue_id field.
+     */
+    int UE_ID = 0x02;
+
+    /**
+     * Flag of the ue_version_major field.
+     */
+    int UE_VERSION_MAJOR = 0x04;
+
+    /**
+     * Flag of the resource_id field.
+     */
+    int RESOURCE_ID = 0x08;
+
+
+    /**
+     * Serialize a {@link UUri} to a new array.
+     *
+     * @param uri The URI to serialize, null is serialized as the empty URI.
+     * @return Returns the bytes of the URI.
+     */
+    static byte[] serializeToBytes(UUri uri) {
+        final byte[] bytes = new byte[sizeOf(uri)];
+        serialize(uri, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Serialize a {@link UUri} at the position of a buffer, the position is moved after the URI.
+     *
+     * @param uri The URI to serialize, null is serialized as the empty URI.
+     * @param buffer The buffer to write to.
+     * @throws BufferOverflowException if the URI does not fit in the remaining bytes of the buffer, in
+     *         which case nothing is written.
+     */
+    static void serialize(UUri uri, ByteBuffer buffer) {
+        if (buffer.remaining() < sizeOf(uri)) {
+            throw new BufferOverflowException();
+        }
+        if (uri == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        final String authority = uri.getAuthorityName();
+        buffer.put((byte) flagsOf(uri));
+        if (!authority.isEmpty()) {
+            putVarint(buffer, utf8Length(authority));
+            putUtf8(buffer, authority);
+        }
+        if (uri.getUeId() != 0) {
+            putVarint(buffer, uri.getUeId());
+        }
+        if (uri.getUeVersionMajor() != 0) {
+            putVarint(buffer, uri.getUeVersionMajor());
+        }
+        if (uri.getResourceId() != 0) {
+            putVarint(buffer, uri.getResourceId());
+        }
+    }
+
+    /**
+     * Return the number of bytes of the binary form of a {@link UUri}.
+     *
+     * @param uri The URI, null is the empty URI.
+     * @return Returns the serialized size of the URI.
+     */
+    static int sizeOf(UUri uri) {
+        if (uri == null) {
+            return 1;
+        }
+        int size = 1;
+        if (!uri.getAuthorityName().isEmpty()) {
+            final int length = utf8Length(uri.getAuthorityName());
+            size += varintSize(length) + length;
+        }
+        if (uri.getUeId() != 0) {
+            size += varintSize(uri.getUeId());
+        }
+        if (uri.getUeVersionMajor() != 0) {
+            size += varintSize(uri.getUeVersionMajor());
+        }
+        if (uri.getResourceId() != 0) {
+            size += varintSize(uri.getResourceId());
+        }
+        return size;
+    }
+
+    /**
+     * Deserialize a {@link UUri} starting at an offset of an array.
+     *
+     * @param bytes The array holding the binary form of the URI.
+     * @param offset The index of the first byte of the URI.
+     * @return Returns the URI, or the default instance if the bytes are not a valid binary URI.
+     */
+    static UUri deserialize(byte[] bytes, int offset) {
+        if (bytes == null || offset < 0 || offset >= bytes.length) {
+            return UUri.getDefaultInstance();
+        }
+        return deserialize(ByteBuffer.wrap(bytes, offset, bytes.length - offset));
+    }
+
+    /**
+     * Deserialize a {@link UUri} at the position of a buffer. The position is moved after the URI when
+     * it is valid and left unchanged otherwise.
+     *
+     * @param buffer The buffer holding the binary form of the URI.
+     * @return Returns the URI, or the default instance if the bytes are not a valid binary URI.
+     */
+    static UUri deserialize(ByteBuffer buffer) {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return UUri.getDefaultInstance();
+        }
+        final int start = buffer.position();
+        final int flags = buffer.get();
+        final UUri.Builder builder = UUri.newBuilder();
+        if ((flags & AUTHORITY) != 0) {
+            final long length = getVarint(buffer);
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                return UUri.getDefaultInstance();
+            }
+            builder.setAuthorityName(AuthorityRegistry.intern(getUtf8(buffer, (int) length)));
+        }
+        final long ueId = (flags & UE_ID) == 0 ? 0 : getVarint(buffer);
+        final long ueVersionMajor = (flags & UE_VERSION_MAJOR) == 0 ? 0 : getVarint(buffer);
+        final long resourceId = (flags & RESOURCE_ID) == 0 ? 0 : getVarint(buffer);
+
+        // Unknown flags, truncated varints and fields flagged but equal to 0 are not valid, so that each
+        // URI has a single binary form
+        if ((flags & ~(AUTHORITY | UE_ID | UE_VERSION_MAJOR | RESOURCE_ID)) != 0
+            || ueId < 0 || ueVersionMajor < 0 || resourceId < 0
+            || (ueId == 0) == ((flags & UE_ID) != 0)
+            || (ueVersionMajor == 0) == ((flags & UE_VERSION_MAJOR) != 0)
+            || (resourceId == 0) == ((flags & RESOURCE_ID) != 0)) {
+            buffer.position(start);
+            return UUri.getDefaultInstance();
+        }
+        return builder.setUeId((int) ueId)
+            .setUeVersionMajor((int) ueVersionMajor)
+            .setResourceId((int) resourceId).build();
+    }
+
+    private static int flagsOf(UUri uri) {
+        return (uri.getAuthorityName().isEmpty() ? 0 : AUTHORITY)
+            | (uri.getUeId() == 0 ? 0 : UE_ID)
+            | (uri.getUeVersionMajor() == 0 ? 0 : UE_VERSION_MAJOR)
+            | (uri.getResourceId() == 0 ? 0 : RESOURCE_ID);
+    }
+
+    private static int varintSize(int value) {
+        // 1 byte for each started group of 7 bits, 1 byte for 0
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Read the unsigned varint at the position of a buffer, returns -1 if the varint is truncated, does
+     * not fit in 32 bits or has useless trailing zero groups.
+     */
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 35 && buffer.hasRemaining(); shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return (b == 0 && shift > 0) || value > 0xFFFFFFFFL ? -1 : value;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Return the number of UTF-8 bytes of a string, unpaired surrogates count for the one byte of the
+     * '?' that replaces them like in {@link String#getBytes(java.nio.charset.Charset)}.
+     */
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void putUtf8(ByteBuffer buffer, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >>> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >>> 18));
+                buffer.put((byte) (0x80 | codePoint >>> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >>> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >>> 12));
+                buffer.put((byte) (0x80 | c >>> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static String getUtf8(ByteBuffer buffer, int length) {
+        final String s;
+        if (buffer.hasArray()) {
+            s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+}
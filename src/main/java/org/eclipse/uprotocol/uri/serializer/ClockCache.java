@@ -0,0 +1,124 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent cache evicting with the CLOCK algorithm, an approximation of LRU where a hit only
+ * sets a flag on the entry.
+ *
+ * <p>Lookups do not lock. Insertions lock the cache and, once it is full, move a hand around the ring
+ * of entries clearing the flags until it finds an entry that was not used since the last turn, which
+ * is evicted.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class ClockCache<K, V> {
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final Node<K, V>[] ring;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Guarded by this
+    private int size;
+    private int hand;
+
+    @SuppressWarnings("unchecked")
+    ClockCache(int capacity) {
+        map = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        ring = (Node<K, V>[]) new Node[capacity];
+    }
+
+    /**
+     * Return the value of a key, or null if the key is not cached.
+     */
+    V get(K key) {
+        final Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Cache the value of a key unless another thread cached one first.
+     *
+     * @return Returns the cached value.
+     */
+    synchronized V putIfAbsent(K key, V value) {
+        final Node<K, V> existing = map.get(key);
+        if (existing != null) {
+            return existing.value;
+        }
+        final int slot;
+        if (size < ring.length) {
+            slot = size++;
+        } else {
+            while (ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % ring.length;
+            }
+            slot = hand;
+            hand = (hand + 1) % ring.length;
+            map.remove(ring[slot].key);
+            evictions.increment();
+        }
+        ring[slot] = new Node<>(key, value);
+        map.put(key, ring[slot]);
+        return value;
+    }
+
+    synchronized void clear() {
+        map.clear();
+        Arrays.fill(ring, null);
+        size = 0;
+        hand = 0;
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private volatile boolean referenced;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
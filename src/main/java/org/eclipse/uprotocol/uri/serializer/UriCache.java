@@ -0,0 +1,185 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import org.eclipse.uprotocol.uri.validator.UriValidator;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Bounded cache of the results of {@link UriSerializer}, for applications handling the same topics over
+ * and over. Both directions return shared instances, a cached {@link UUri} is immutable and so is its
+ * serialized {@link String}.
+ *
+ * <p>Each direction keeps at most {@code capacity} entries and evicts the least recently used ones
+ * with the CLOCK algorithm. URIs longer than {@link #MAX_LENGTH} characters and URIs that do not
+ * deserialize are not cached, so that the memory used is bounded whatever the input.
+ *
+ * <p>The cache used by {@link org.eclipse.uprotocol.cloudevent.factory.UCloudEvent} and the CloudEvent
+ * validators is the {@link #getDefault() default cache}, which does not cache anything until it is
+ * replaced with {@link #setDefault(UriCache)}.
+ */
+public final class UriCache {
+    /**
+     * Longest serialized URI that is cached.
+     */
+    public static final int MAX_LENGTH = 256;
+
+    private static final UriCache DISABLED = new UriCache(0);
+
+    private static volatile UriCache defaultCache = DISABLED;
+
+    private final int capacity;
+    private final ClockCache<UUri, String> serialized;
+    private final ClockCache<String, UUri> deserialized;
+
+
+    /**
+     * Create a cache.
+     *
+     * @param capacity The maximum number of entries in each direction, 0 to not cache anything.
+     */
+    public UriCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.capacity = capacity;
+        this.serialized = capacity == 0 ? null : new ClockCache<>(capacity);
+        this.deserialized = capacity == 0 ? null : new ClockCache<>(capacity);
+    }
+
+
+    /**
+     * Return the cache used by the SDK when converting URIs.
+     *
+     * @return Returns the default cache, which does not cache anything unless it was replaced.
+     */
+    public static UriCache getDefault() {
+        return defaultCache;
+    }
+
+
+    /**
+     * Replace the cache used by the SDK when converting URIs.
+     *
+     * @param cache The cache to use, or null to stop caching.
+     */
+    public static void setDefault(UriCache cache) {
+        defaultCache = cache == null ? DISABLED : cache;
+    }
+
+
+    /**
+     * Serialize a URI, see {@link UriSerializer#serialize(UUri)}.
+     *
+     * @param uri The URI to serialize.
+     * @return Returns the serialized URI.
+     */
+    public String serialize(UUri uri) {
+        if (serialized == null || uri == null) {
+            return UriSerializer.serialize(uri);
+        }
+        final String cached = serialized.get(uri);
+        if (cached != null) {
+            return cached;
+        }
+        final String value = UriSerializer.serialize(uri);
+        return value.isEmpty() || value.length() > MAX_LENGTH ? value : serialized.putIfAbsent(uri, value);
+    }
+
+
+    /**
+     * Deserialize a URI, see {@link UriSerializer#deserialize(String)}.
+     *
+     * @param uri The URI to deserialize.
+     * @return Returns the deserialized URI.
+     */
+    public UUri deserialize(String uri) {
+        if (deserialized == null || uri == null || uri.length() > MAX_LENGTH) {
+            return UriSerializer.deserialize(uri);
+        }
+        final UUri cached = deserialized.get(uri);
+        if (cached != null) {
+            return cached;
+        }
+        final UUri value = UriSerializer.deserialize(uri);
+        return UriValidator.isEmpty(value) ? value : deserialized.putIfAbsent(uri, value);
+    }
+
+
+    /**
+     * Remove all the cached URIs, the counters are not reset.
+     */
+    public void clear() {
+        if (serialized != null) {
+            serialized.clear();
+            deserialized.clear();
+        }
+    }
+
+
+    /**
+     * Return the maximum number of entries in each direction.
+     *
+     * @return Returns the capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Return the number of cached entries, both directions included.
+     *
+     * @return Returns the size of the cache.
+     */
+    public int size() {
+        return serialized == null ? 0 : serialized.size() + deserialized.size();
+    }
+
+
+    /**
+     * Return the number of lookups that found a cached URI.
+     *
+     * @return Returns the hit count.
+     */
+    public long getHitCount() {
+        return serialized == null ? 0 : serialized.getHitCount() + deserialized.getHitCount();
+    }
+
+
+    /**
+     * Return the number of lookups that did not find a cached URI.
+     *
+     * @return Returns the miss count.
+     */
+    public long getMissCount() {
+        return serialized == null ? 0 : serialized.getMissCount() + deserialized.getMissCount();
+    }
+
+
+    /**
+     * Return the number of cached URIs evicted to make room for other ones.
+     *
+     * @return Returns the eviction count.
+     */
+    public long getEvictionCount() {
+        return serialized == null ? 0 : serialized.getEvictionCount() + deserialized.getEvictionCount();
+    }
+
+
+    @Override
+    public String toString() {
+        return "UriCache{capacity=" + capacity + ", size=" + size() + ", hits=" + getHitCount()
+            + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+}
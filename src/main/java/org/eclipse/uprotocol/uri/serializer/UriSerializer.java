@@ -12,6 +12,11 @@
  */
 package org.eclipse.uprotocol.uri.serializer;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
 import org.eclipse.uprotocol.uri.factory.UriFactory;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
 import org.eclipse.uprotocol.v1.UUri;
@@ -19,6 +24,9 @@ import org.eclipse.uprotocol.v1.UUri;
 /**
  * UUri Serializer that serializes a UUri to a long format string per
  * https://github.com/eclipse-uprotocol/uprotocol-spec/blob/main/basics/uri.adoc
+ *
+ * <p>Serializing and deserializing is done in a single pass over the characters, without regular
+ * expressions, splitting or substrings other than the authority name.
  */
 public interface UriSerializer {
 
@@ -35,21 +43,47 @@ public interface UriSerializer {
         if (uri == null || UriValidator.isEmpty(uri)) {
             return "";
         }
+        return serialize(uri, new StringBuilder(32)).toString();
+    }
 
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Serialize a {@link UUri} at the end of a {@link StringBuilder}, nothing is appended for a null
+     * or empty URI.
+     *
+     * @param uri {@link UUri} object to be serialized to the String format.
+     * @param sb The builder to append to.
+     * @return Returns the builder.
+     */
+    static StringBuilder serialize(UUri uri, StringBuilder sb) {
+        try {
+            serialize(uri, (Appendable) sb);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new IllegalStateException(e);
+        }
+        return sb;
+    }
 
+    /**
+     * Serialize a {@link UUri} to an {@link Appendable}, nothing is appended for a null or empty URI.
+     *
+     * @param <A> The type of the appendable.
+     * @param uri {@link UUri} object to be serialized to the String format.
+     * @param out The appendable to append to.
+     * @return Returns the appendable.
+     * @throws IOException if the appendable fails.
+     */
+    static <A extends Appendable> A serialize(UUri uri, A out) throws IOException {
+        if (uri == null || UriValidator.isEmpty(uri)) {
+            return out;
+        }
         if (!uri.getAuthorityName().isBlank()) {
-            sb.append("//");
-            sb.append(uri.getAuthorityName());
+            out.append("//").append(uri.getAuthorityName());
         }
-
-        sb.append("/");
-        sb.append(Integer.toHexString(uri.getUeId()));
-        sb.append("/");
-        sb.append(Integer.toHexString(uri.getUeVersionMajor()));
-        sb.append("/");
-        sb.append(Integer.toHexString(uri.getResourceId()));
-        return sb.toString().replaceAll("/+$", "");
+        appendHex(out.append('/'), uri.getUeId());
+        appendHex(out.append('/'), uri.getUeVersionMajor());
+        appendHex(out.append('/'), uri.getResourceId());
+        return out;
     }
 
     /**
@@ -62,54 +96,117 @@ public interface UriSerializer {
         if (uProtocolUri == null) {
             return UUri.getDefaultInstance();
         }
+        final int scheme = uProtocolUri.indexOf(':');
+        return parse(uProtocolUri, scheme + 1, uProtocolUri.length(), scheme < 0);
+    }
 
-        String uri = uProtocolUri.contains(":") ? uProtocolUri.substring(uProtocolUri.indexOf(":") + 1)
-                : uProtocolUri
-                        .replace('\\', '/');
-
-        boolean isLocal = !uri.startsWith("//");
+    /**
+     * Deserialize a character sequence into a UUri object.
+     * 
+     * @param uProtocolUri A long format uProtocol URI.
+     * @return Returns an UUri data object.
+     */
+    static UUri deserialize(CharSequence uProtocolUri) {
+        if (uProtocolUri == null) {
+            return UUri.getDefaultInstance();
+        }
+        return parseScheme(uProtocolUri, 0, uProtocolUri.length());
+    }
 
-        final String[] uriParts = uri.split("/");
-        final int numberOfPartsInUri = uriParts.length;
+    /**
+     * Deserialize characters of an array into a UUri object.
+     * 
+     * @param chars The array holding a long format uProtocol URI.
+     * @param offset The index of the first character of the URI.
+     * @param length The number of characters of the URI.
+     * @return Returns an UUri data object.
+     */
+    static UUri deserialize(char[] chars, int offset, int length) {
+        if (chars == null) {
+            return UUri.getDefaultInstance();
+        }
+        return parseScheme(CharBuffer.wrap(chars), offset, offset + length);
+    }
 
-        if (numberOfPartsInUri == 0 || numberOfPartsInUri == 1) {
+    /**
+     * Deserialize UTF-8 bytes of an array into a UUri object.
+     * 
+     * @param utf8 The array holding a long format uProtocol URI encoded in UTF-8.
+     * @param offset The index of the first byte of the URI.
+     * @param length The number of bytes of the URI.
+     * @return Returns an UUri data object.
+     */
+    static UUri deserialize(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
             return UUri.getDefaultInstance();
         }
+        if (AsciiBytes.isAscii(utf8, offset, length)) {
+            return deserialize(new AsciiBytes(utf8, offset, length));
+        }
+        return deserialize(new String(utf8, offset, length, StandardCharsets.UTF_8));
+    }
 
-        UUri.Builder builder = UUri.newBuilder();
-        try {
-            if (isLocal) {
-                builder.setUeId(Integer.parseUnsignedInt(uriParts[1], 16));
-                if (numberOfPartsInUri > 2) {
-                    builder.setUeVersionMajor(Integer.parseUnsignedInt(uriParts[2], 16));
+    private static UUri parseScheme(CharSequence uri, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (uri.charAt(i) == ':') {
+                return parse(uri, i + 1, end, false);
+            }
+        }
+        return parse(uri, start, end, true);
+    }
 
-                    if (numberOfPartsInUri > 3) {
-                        builder.setResourceId(Integer.parseUnsignedInt(uriParts[3], 16));
-                    }
-                }
-            } else {
-                // If authority is blank, it is an error
-                if (uriParts[2].isBlank()) {
-                    return UUri.getDefaultInstance();
+    /**
+     * Parse the URI that follows the scheme, which ends with the first ':', or the whole string when
+     * there is no scheme. Segments are separated by slashes, and by backslashes as well when there is
+     * no scheme. Trailing separators are ignored and any field that does not parse gives the default
+     * instance.
+     */
+    private static UUri parse(CharSequence uri, int start, int end, boolean backslash) {
+        while (end > start && isSeparator(uri.charAt(end - 1), backslash)) {
+            end--;
+        }
+        if (end == start) {
+            return UUri.getDefaultInstance();
+        }
+        final boolean isLocal = end - start < 2
+            || !isSeparator(uri.charAt(start), backslash) || !isSeparator(uri.charAt(start + 1), backslash);
+
+        // For a local URI the segments after the first one are the ue_id, version and resource id,
+        // for a remote one the first two segments are empty and the third one is the authority
+        final int firstField = isLocal ? 1 : 3;
+        final UUri.Builder builder = UUri.newBuilder();
+        int segment = 0;
+        int segmentStart = start;
+        try {
+            for (int i = start; i <= end && segment <= firstField + 2; i++) {
+                if (i < end && !isSeparator(uri.charAt(i), backslash)) {
+                    continue;
                 }
-                builder.setAuthorityName(uriParts[2]);
-
-                if (uriParts.length > 3) {
-                    builder.setUeId(Integer.parseUnsignedInt(uriParts[3], 16));
-                    if (numberOfPartsInUri > 4) {
-                        builder.setUeVersionMajor(Integer.parseUnsignedInt(uriParts[4], 16));
-
-                        if (numberOfPartsInUri > 5) {
-                            builder.setResourceId(Integer.parseUnsignedInt(uriParts[5], 16));
-                        }
-
+                if (segment == 2 && !isLocal) {
+                    if (isBlank(uri, segmentStart, i)) {
+                        return UUri.getDefaultInstance();
                     }
+                    // Registered names share one instance so that matching them compares references
+                    builder.setAuthorityName(AuthorityRegistry.intern(uri.subSequence(segmentStart, i).toString()));
+                } else if (segment == firstField) {
+                    builder.setUeId(Integer.parseUnsignedInt(uri, segmentStart, i, 16));
+                } else if (segment == firstField + 1) {
+                    builder.setUeVersionMajor(Integer.parseUnsignedInt(uri, segmentStart, i, 16));
+                } else if (segment == firstField + 2) {
+                    builder.setResourceId(Integer.parseUnsignedInt(uri, segmentStart, i, 16));
                 }
+                segment++;
+                segmentStart = i + 1;
             }
         } catch (NumberFormatException e) {
             return UUri.getDefaultInstance();
         }
 
+        // A local URI needs at least a ue_id segment
+        if (isLocal && segment < 2) {
+            return UUri.getDefaultInstance();
+        }
+
         // Ensure the major version is less than the wildcard
         if (builder.getUeVersionMajor() > UriFactory.WILDCARD_ENTITY_VERSION) {
             return UUri.getDefaultInstance();
@@ -122,4 +219,23 @@ public interface UriSerializer {
 
         return builder.build();
     }
+
+    private static boolean isSeparator(char c, boolean backslash) {
+        return c == '/' || backslash && c == '\\';
+    }
+
+    private static boolean isBlank(CharSequence uri, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(uri.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendHex(Appendable out, int value) throws IOException {
+        for (int shift = (31 - Integer.numberOfLeadingZeros(value | 1)) & ~3; shift >= 0; shift -= 4) {
+            out.append(Character.forDigit((value >>> shift) & 0xF, 16));
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.uri.packed.PackedUri;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * {@link UriFilter} compiled once into primitive values so that matching a message costs a few integer
+ * operations instead of protobuf {@code equals} and field by field comparisons.
+ *
+ * <p>Each side of the filter becomes the entity id, entity instance, entity version and resource id of
+ * the pattern packed in a {@code long}, a mask with the bits of the wildcard fields cleared and the
+ * registered authority name and {@link AuthorityRegistry} id, or nothing at all when the side is
+ * {@link UriFactory#ANY}. A candidate matches when its packed value masked with the pattern mask equals
+ * the pattern value and the authorities match. The result is always the same as
+ * {@link UriValidator#matches(UUri, UUri)}, candidates or patterns whose version or resource id are
+ * too large to be packed fall back to it. The packed form is {@link PackedUri}.
+ */
+public final class CompiledUriFilter {
+    private final Pattern source;
+    private final Pattern sink;
+
+
+    private CompiledUriFilter(Pattern source, Pattern sink) {
+        this.source = source;
+        this.sink = sink;
+    }
+
+
+    /**
+     * Compile a source and a sink pattern, a null pattern is the same as {@link UriFactory#ANY}.
+     *
+     * @param source The source URI pattern.
+     * @param sink The sink URI pattern.
+     * @return Returns the compiled filter.
+     */
+    public static CompiledUriFilter compile(UUri source, UUri sink) {
+        return new CompiledUriFilter(Pattern.of(source), Pattern.of(sink));
+    }
+
+
+    /**
+     * Matches the given attributes with the source and sink patterns.
+     *
+     * @param attributes The attributes to match.
+     * @return Returns true if the attributes match the source and sink patterns.
+     */
+    public boolean matches(UAttributes attributes) {
+        if (attributes == null) {
+            return false;
+        }
+        return (source == null || source.matches(attributes.getSource()))
+            && (sink == null || sink.matches(attributes.getSink()));
+    }
+
+
+    /**
+     * Matches a packed source and sink URI. A pattern whose authority could not be registered because
+     * the registry is full only matches through {@link #matches(UAttributes)}.
+     *
+     * @param source The packed source URI.
+     * @param sink The packed sink URI.
+     * @return Returns true if the URIs match the source and sink patterns.
+     */
+    public boolean matches(PackedUri source, PackedUri sink) {
+        return (this.source == null || this.source.matches(source.bits(), source.authorityId()))
+            && (this.sink == null || this.sink.matches(sink.bits(), sink.authorityId()));
+    }
+
+
+    /**
+     * Return the bits of a packed URI that a candidate needs to match, wildcard fields are cleared.
+     */
+    static long maskOf(UUri pattern) {
+        long mask = PackedUri.ALL_BITS;
+        if ((pattern.getUeId() & UriFactory.WILDCARD_ENTITY_ID) == UriFactory.WILDCARD_ENTITY_ID) {
+            mask &= ~PackedUri.ENTITY_ID_BITS;
+        }
+        if ((pattern.getUeId() & 0xFFFF0000) == 0) {
+            mask &= ~PackedUri.ENTITY_INSTANCE_BITS;
+        }
+        if (pattern.getUeVersionMajor() == UriFactory.WILDCARD_ENTITY_VERSION) {
+            mask &= ~PackedUri.VERSION_BITS;
+        }
+        if (pattern.getResourceId() == UriFactory.WILDCARD_RESOURCE_ID) {
+            mask &= ~PackedUri.RESOURCE_BITS;
+        }
+        return mask;
+    }
+
+
+    /**
+     * One side of a compiled filter.
+     */
+    private static final class Pattern {
+        private final UUri uri;
+        private final long value;
+        private final long mask;
+        // Null and WILDCARD_ID for the wildcard authority
+        private final String authority;
+        private final int authorityId;
+        private final boolean packable;
+
+        private Pattern(UUri uri) {
+            this.uri = uri;
+            this.mask = maskOf(uri);
+            this.value = PackedUri.pack(uri) & mask;
+            this.packable = PackedUri.isPackable(uri);
+            if (UriFactory.WILDCARD_AUTHORITY.equals(uri.getAuthorityName())) {
+                this.authority = null;
+                this.authorityId = AuthorityRegistry.WILDCARD_ID;
+            } else {
+                this.authorityId = AuthorityRegistry.register(uri.getAuthorityName());
+                this.authority = AuthorityRegistry.intern(uri.getAuthorityName());
+            }
+        }
+
+        /**
+         * Compile a pattern, return null for patterns that match any URI.
+         */
+        static Pattern of(UUri uri) {
+            if (uri == null) {
+                return null;
+            }
+            final Pattern pattern = new Pattern(uri);
+            return pattern.packable && pattern.mask == 0 && pattern.authority == null ? null : pattern;
+        }
+
+        boolean matches(UUri candidate) {
+            if (!packable || !PackedUri.isPackable(candidate)) {
+                return UriValidator.matches(uri, candidate);
+            }
+            return (PackedUri.pack(candidate) & mask) == value
+                && (authority == null || authority.equals(candidate.getAuthorityName()));
+        }
+
+        boolean matches(long packed, int candidateAuthority) {
+            return (packed & mask) == value && (authorityId == AuthorityRegistry.WILDCARD_ID
+                || authorityId == candidateAuthority && authorityId != AuthorityRegistry.UNKNOWN_ID);
+        }
+    }
+}
@@ -35,6 +35,19 @@ public record UriFilter(UUri source, UUri sink) {
         source = Objects.requireNonNullElse(source, UriFactory.ANY);
         sink = Objects.requireNonNullElse(sink, UriFactory.ANY);
     }
+
+
+    /**
+     * Compile this filter into a {@link CompiledUriFilter} for repeated matching. Compiling registers the
+     * authority names of the patterns in the process wide
+     * {@link org.eclipse.uprotocol.uri.packed.AuthorityRegistry}, so only the filters that are kept, such
+     * as the filters added to a {@link UriFilterIndex}, should be compiled.
+     *
+     * @return Returns the compiled filter.
+     */
+    public CompiledUriFilter compile() {
+        return CompiledUriFilter.compile(source, sink);
+    }
     
 
     /**
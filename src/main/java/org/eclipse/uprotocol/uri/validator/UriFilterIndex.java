@@ -0,0 +1,534 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.uri.packed.PackedUri;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Index of values registered for {@link UriFilter}s that finds the values whose filter matches
+ * a message in a time proportional to the number of matches instead of the number of filters.
+ *
+ * <p>Each filter is indexed on its source pattern, or on its sink pattern when the source is
+ * {@link UriFactory#ANY}. Patterns are bucketed by the {@link AuthorityRegistry} id of their authority
+ * and then by the shape of their wildcards, where the entity id, entity instance, entity version and
+ * resource id are each either a wildcard or an exact value. A lookup finds the id of the source and of
+ * the sink authority of the message with one {@link AuthorityRegistry#find} each, a hash of the name,
+ * then indexes the buckets of that authority and of the wildcard authority by id, probes one bucket per
+ * shape that is in use and checks the candidates with their {@link CompiledUriFilter}, so the results
+ * are identical to a linear scan over all the filters. Filters are compiled, and the authority names of
+ * their patterns registered, when a value is added, removing a value only looks the names up.
+ *
+ * <p>Values can be added and removed while other threads are looking up matches, lookups never lock.
+ *
+ * @param <T> The type of values stored in the index.
+ */
+public final class UriFilterIndex<T> {
+
+    // Filters indexed on their source pattern
+    private final Side<T> sources = new Side<>();
+
+    // Filters with an ANY source, indexed on their sink pattern
+    private final Side<T> sinks = new Side<>();
+
+    private int size;
+
+
+    /**
+     * Add a value for the given filter.
+     *
+     * @param filter The filter that the message attributes need to match.
+     * @param value The value to return when a message matches the filter.
+     * @return Returns true if the value was added, false if it was already registered for the filter.
+     */
+    public synchronized boolean add(UriFilter filter, T value) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        final boolean added = sideOf(filter).add(patternOf(filter), new Entry<>(filter, value, filter.compile()));
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+
+    /**
+     * Remove a value that was added for the given filter.
+     *
+     * @param filter The filter the value was added for.
+     * @param value The value to remove.
+     * @return Returns true if the value was removed, false if it was not found.
+     */
+    public synchronized boolean remove(UriFilter filter, T value) {
+        if (filter == null || value == null) {
+            return false;
+        }
+        final boolean removed = sideOf(filter).remove(patternOf(filter), new Entry<>(filter, value, null));
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+
+    /**
+     * Remove all the values for which the predicate returns true.
+     *
+     * @param predicate The predicate called with each filter and value.
+     * @return Returns the number of values removed.
+     */
+    public synchronized int removeIf(BiPredicate<UriFilter, ? super T> predicate) {
+        final int removed = sources.removeIf(predicate) + sinks.removeIf(predicate);
+        size -= removed;
+        return removed;
+    }
+
+
+    /**
+     * Remove all the values from the index.
+     */
+    public synchronized void clear() {
+        removeIf((filter, value) -> true);
+    }
+
+
+    /**
+     * Return the number of values in the index.
+     *
+     * @return Returns the number of values in the index.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+
+    /**
+     * Check if the index is empty.
+     *
+     * @return Returns true if no values are in the index.
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Call the action for each value whose filter matches the attributes.
+     *
+     * @param attributes The message attributes to match.
+     * @param action The action to call for each matching value.
+     */
+    public void forEachMatch(UAttributes attributes, Consumer<? super T> action) {
+        if (attributes == null) {
+            return;
+        }
+        final UUri source = attributes.getSource();
+        final UUri sink = attributes.getSink();
+        sources.forEachMatch(source, AuthorityRegistry.find(source.getAuthorityName()), attributes, action);
+        sinks.forEachMatch(sink, AuthorityRegistry.find(sink.getAuthorityName()), attributes, action);
+    }
+
+
+    /**
+     * Return the values whose filter matches the attributes, the list is only allocated when there are matches.
+     *
+     * @param attributes The message attributes to match.
+     * @return Returns the matching values, or an empty list if none match.
+     */
+    public List<T> match(UAttributes attributes) {
+        if (attributes == null) {
+            return Collections.emptyList();
+        }
+        final UUri source = attributes.getSource();
+        final UUri sink = attributes.getSink();
+        List<T> matches = sources.collect(source, AuthorityRegistry.find(source.getAuthorityName()), attributes, null);
+        matches = sinks.collect(sink, AuthorityRegistry.find(sink.getAuthorityName()), attributes, matches);
+        return matches == null ? Collections.emptyList() : matches;
+    }
+
+
+    private Side<T> sideOf(UriFilter filter) {
+        return filter.source().equals(UriFactory.ANY) ? sinks : sources;
+    }
+
+
+    private static UUri patternOf(UriFilter filter) {
+        return filter.source().equals(UriFactory.ANY) ? filter.sink() : filter.source();
+    }
+
+
+    /**
+     * A value and its filter, compiled when the value is added. Entries are equal when their filters
+     * and values are, so that removing a value does not compile its filter.
+     */
+    private static final class Entry<T> {
+        private final UriFilter filter;
+        private final T value;
+        private final CompiledUriFilter compiled;
+
+        Entry(UriFilter filter, T value, CompiledUriFilter compiled) {
+            this.filter = filter;
+            this.value = value;
+            this.compiled = compiled;
+        }
+
+        UriFilter filter() {
+            return filter;
+        }
+
+        T value() {
+            return value;
+        }
+
+        boolean matches(UAttributes attributes) {
+            return compiled.matches(attributes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry<?> entry && filter.equals(entry.filter) && value.equals(entry.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * filter.hashCode() + value.hashCode();
+        }
+    }
+
+
+    /**
+     * Patterns of one side (source or sink) of the filters, bucketed by the {@link AuthorityRegistry} id
+     * of their authority, {@link AuthorityRegistry#WILDCARD_ID} holding the wildcard authority.
+     */
+    private static final class Side<T> {
+        // Replaced on every change so that lookups see fully built buckets
+        @SuppressWarnings("unchecked")
+        private volatile Shapes<T>[] authorities = new Shapes[0];
+
+        // Patterns whose authority could not be registered because the registry is full, probed for all
+        // candidates and checked by name
+        private final Shapes<T> unregistered = new Shapes<>();
+
+        boolean add(UUri pattern, Entry<T> entry) {
+            final int id = AuthorityRegistry.register(pattern.getAuthorityName());
+            if (id == AuthorityRegistry.UNKNOWN_ID) {
+                return unregistered.add(pattern, entry);
+            }
+            Shapes<T> shapes = get(id);
+            if (shapes == null) {
+                shapes = new Shapes<>();
+                final Shapes<T>[] updated = Arrays.copyOf(authorities, Math.max(authorities.length, id + 1));
+                updated[id] = shapes;
+                authorities = updated;
+            }
+            return shapes.add(pattern, entry);
+        }
+
+        boolean remove(UUri pattern, Entry<T> entry) {
+            final int id = AuthorityRegistry.find(pattern.getAuthorityName());
+            if (id == AuthorityRegistry.UNKNOWN_ID) {
+                return unregistered.remove(pattern, entry);
+            }
+            final Shapes<T> shapes = get(id);
+            if (shapes == null || !shapes.remove(pattern, entry)) {
+                return false;
+            }
+            if (shapes.isEmpty()) {
+                clear(id);
+            }
+            return true;
+        }
+
+        int removeIf(BiPredicate<UriFilter, ? super T> predicate) {
+            int removed = unregistered.removeIf(predicate);
+            final Shapes<T>[] current = authorities;
+            for (int id = 0; id < current.length; id++) {
+                if (current[id] != null) {
+                    removed += current[id].removeIf(predicate);
+                    if (current[id].isEmpty()) {
+                        clear(id);
+                    }
+                }
+            }
+            return removed;
+        }
+
+        void forEachMatch(UUri candidate, int authorityId, UAttributes attributes, Consumer<? super T> action) {
+            final long packed = PackedUri.pack(candidate);
+            final Shapes<T> any = get(AuthorityRegistry.WILDCARD_ID);
+            if (any != null) {
+                any.forEachMatch(packed, attributes, action);
+            }
+            final Shapes<T> shapes = authorityId == AuthorityRegistry.WILDCARD_ID ? null : get(authorityId);
+            if (shapes != null) {
+                shapes.forEachMatch(packed, attributes, action);
+            }
+            unregistered.forEachMatch(packed, attributes, action);
+        }
+
+        // Add the matches to the list, the list is created on the first match
+        List<T> collect(UUri candidate, int authorityId, UAttributes attributes, List<T> matches) {
+            final long packed = PackedUri.pack(candidate);
+            final Shapes<T> any = get(AuthorityRegistry.WILDCARD_ID);
+            if (any != null) {
+                matches = any.collect(packed, attributes, matches);
+            }
+            final Shapes<T> shapes = authorityId == AuthorityRegistry.WILDCARD_ID ? null : get(authorityId);
+            if (shapes != null) {
+                matches = shapes.collect(packed, attributes, matches);
+            }
+            return unregistered.collect(packed, attributes, matches);
+        }
+
+        private Shapes<T> get(int id) {
+            final Shapes<T>[] current = authorities;
+            return id >= 0 && id < current.length ? current[id] : null;
+        }
+
+        private void clear(int id) {
+            final Shapes<T>[] updated = authorities.clone();
+            updated[id] = null;
+            authorities = updated;
+        }
+    }
+
+
+    /**
+     * Patterns of one authority grouped by the shape of their wildcards. There are at most
+     * 16 shapes, in practice only a few of them are used.
+     */
+    private static final class Shapes<T> {
+        @SuppressWarnings("unchecked")
+        private volatile Shape<T>[] shapes = new Shape[0];
+
+        boolean isEmpty() {
+            return shapes.length == 0;
+        }
+
+        boolean add(UUri pattern, Entry<T> entry) {
+            final long mask = CompiledUriFilter.maskOf(pattern);
+            Shape<T> shape = find(mask);
+            if (shape == null) {
+                shape = new Shape<>(mask);
+                final Shape<T>[] updated = Arrays.copyOf(shapes, shapes.length + 1);
+                updated[updated.length - 1] = shape;
+                shapes = updated;
+            }
+            return shape.add(PackedUri.pack(pattern) & mask, entry);
+        }
+
+        boolean remove(UUri pattern, Entry<T> entry) {
+            final long mask = CompiledUriFilter.maskOf(pattern);
+            final Shape<T> shape = find(mask);
+            if (shape == null || !shape.remove(PackedUri.pack(pattern) & mask, entry)) {
+                return false;
+            }
+            if (shape.isEmpty()) {
+                shapes = Arrays.stream(shapes).filter(s -> s != shape).toArray(size -> Arrays.copyOf(shapes, size));
+            }
+            return true;
+        }
+
+        int removeIf(BiPredicate<UriFilter, ? super T> predicate) {
+            int removed = 0;
+            for (Shape<T> shape : shapes) {
+                removed += shape.removeIf(predicate);
+            }
+            shapes = Arrays.stream(shapes).filter(s -> !s.isEmpty()).toArray(size -> Arrays.copyOf(shapes, size));
+            return removed;
+        }
+
+        void forEachMatch(long packed, UAttributes attributes, Consumer<? super T> action) {
+            for (Shape<T> shape : shapes) {
+                final Entry<T>[] entries = shape.get(packed);
+                if (entries != null) {
+                    for (Entry<T> entry : entries) {
+                        if (entry.matches(attributes)) {
+                            action.accept(entry.value());
+                        }
+                    }
+                }
+            }
+        }
+
+        List<T> collect(long packed, UAttributes attributes, List<T> matches) {
+            for (Shape<T> shape : shapes) {
+                final Entry<T>[] entries = shape.get(packed);
+                if (entries != null) {
+                    for (Entry<T> entry : entries) {
+                        if (entry.matches(attributes)) {
+                            if (matches == null) {
+                                matches = new ArrayList<>(entries.length);
+                            }
+                            matches.add(entry.value());
+                        }
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private Shape<T> find(long mask) {
+            for (Shape<T> shape : shapes) {
+                if (shape.mask == mask) {
+                    return shape;
+                }
+            }
+            return null;
+        }
+    }
+
+
+    /**
+     * Patterns that share the same wildcard shape, keyed by their packed value with the wildcard
+     * bits cleared. Each bucket is an immutable array replaced on every change.
+     */
+    private static final class Shape<T> {
+        private final long mask;
+        private volatile Buckets<T> buckets = new Buckets<>(Buckets.MIN_CAPACITY);
+
+        Shape(long mask) {
+            this.mask = mask;
+        }
+
+        boolean isEmpty() {
+            return buckets.size == 0;
+        }
+
+        Entry<T>[] get(long packed) {
+            return buckets.get(packed & mask);
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean add(long key, Entry<T> entry) {
+            final Entry<T>[] current = buckets.get(key);
+            if (current != null && Arrays.asList(current).contains(entry)) {
+                return false;
+            }
+            final Entry<T>[] updated = current == null ? new Entry[1] : Arrays.copyOf(current, current.length + 1);
+            updated[updated.length - 1] = entry;
+            buckets = buckets.with(key, updated);
+            return true;
+        }
+
+        boolean remove(long key, Entry<T> entry) {
+            final Entry<T>[] current = buckets.get(key);
+            if (current == null || !Arrays.asList(current).contains(entry)) {
+                return false;
+            }
+            buckets = buckets.with(key, Arrays.stream(current).filter(e -> !e.equals(entry))
+                .toArray(size -> Arrays.copyOf(current, size)));
+            return true;
+        }
+
+        int removeIf(BiPredicate<UriFilter, ? super T> predicate) {
+            int removed = 0;
+            final Buckets<T> current = buckets;
+            for (int i = 0; i < current.entries.length; i++) {
+                final Entry<T>[] entries = current.entries[i];
+                if (entries == null) {
+                    continue;
+                }
+                final Entry<T>[] kept = Arrays.stream(entries)
+                    .filter(e -> !predicate.test(e.filter(), e.value()))
+                    .toArray(size -> Arrays.copyOf(entries, size));
+                if (kept.length != entries.length) {
+                    removed += entries.length - kept.length;
+                    buckets = buckets.with(current.keys[i], kept);
+                }
+            }
+            return removed;
+        }
+    }
+
+
+    /**
+     * Immutable once published open addressing table of the buckets of a shape, keyed by a primitive
+     * {@code long} so that a lookup neither boxes the key nor allocates, at most half full.
+     */
+    private static final class Buckets<T> {
+        static final int MIN_CAPACITY = 8;
+
+        private final long[] keys;
+        private final Entry<T>[][] entries;
+        private final int mask;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        Buckets(int capacity) {
+            keys = new long[capacity];
+            entries = new Entry[capacity][];
+            mask = capacity - 1;
+        }
+
+        Entry<T>[] get(long key) {
+            int i = slot(key);
+            Entry<T>[] bucket;
+            while ((bucket = entries[i]) != null) {
+                if (keys[i] == key) {
+                    return bucket;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Return a copy of the table with the bucket of a key replaced, or removed when it is empty.
+         */
+        Buckets<T> with(long key, Entry<T>[] bucket) {
+            final boolean present = get(key) != null;
+            final int expected = size + (present ? 0 : 1);
+            int capacity = MIN_CAPACITY;
+            while (capacity < expected * 2) {
+                capacity <<= 1;
+            }
+            final Buckets<T> copy = new Buckets<>(capacity);
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] != null && keys[i] != key) {
+                    copy.insert(keys[i], entries[i]);
+                }
+            }
+            if (bucket.length > 0) {
+                copy.insert(key, bucket);
+            }
+            return copy;
+        }
+
+        private void insert(long key, Entry<T>[] bucket) {
+            int i = slot(key);
+            while (entries[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            entries[i] = bucket;
+            size++;
+        }
+
+        private int slot(long key) {
+            final long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
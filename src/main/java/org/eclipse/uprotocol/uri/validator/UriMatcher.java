@@ -0,0 +1,201 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.uri.packed.PackedUri;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Matches one candidate {@link UUri} against a list of patterns at once, for access control and routing
+ * tables with thousands of patterns. The result of each pattern is the same as
+ * {@link UriValidator#matches(UUri, UUri)}.
+ *
+ * <p>The patterns are stored like {@link CompiledUriFilter} patterns in parallel primitive arrays of
+ * packed values, masks and {@link AuthorityRegistry} ids, and the candidate is compared with all of them
+ * in a branch free loop. When the library is built with the {@code vector} Maven profile and the JVM
+ * runs with {@code --add-modules jdk.incubator.vector} the loop uses the Vector API and compares as many
+ * patterns per instruction as the CPU has long lanes, otherwise a scalar loop is used, see
+ * {@link #isVectorized()}.
+ *
+ * <p>The matcher is immutable and can be used from any thread.
+ */
+public final class UriMatcher {
+    // Kernel using the Vector API, only present when compiled and loadable
+    private static final String VECTOR_KERNEL = "org.eclipse.uprotocol.uri.validator.VectorMatchKernel";
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private final List<UUri> patterns;
+    private final Kernel kernel;
+    // One entry per pattern, padded with entries that never match to a multiple of 64
+    private final long[] values;
+    private final long[] masks;
+    private final long[] authorities;
+    // Patterns that cannot be packed or whose authority could not be registered
+    private final int[] unpacked;
+
+
+    /**
+     * Create a matcher for a list of patterns, the index of a pattern in the list is its index in the
+     * results.
+     *
+     * @param patterns The URI patterns.
+     */
+    public UriMatcher(List<UUri> patterns) {
+        this(patterns, KERNEL);
+    }
+
+
+    UriMatcher(List<UUri> patterns, Kernel kernel) {
+        this.patterns = List.copyOf(Objects.requireNonNull(patterns, "Patterns cannot be null"));
+        this.kernel = kernel;
+        final int length = (this.patterns.size() + 63) & ~63;
+        values = new long[length];
+        masks = new long[length];
+        authorities = new long[length];
+        // A zero mask and a value of 1 never match
+        Arrays.fill(values, 1);
+        int[] others = new int[0];
+        for (int i = 0; i < this.patterns.size(); i++) {
+            final UUri pattern = this.patterns.get(i);
+            final int authority = UriFactory.WILDCARD_AUTHORITY.equals(pattern.getAuthorityName())
+                ? AuthorityRegistry.WILDCARD_ID : AuthorityRegistry.register(pattern.getAuthorityName());
+            if (!PackedUri.isPackable(pattern) || authority == AuthorityRegistry.UNKNOWN_ID) {
+                others = Arrays.copyOf(others, others.length + 1);
+                others[others.length - 1] = i;
+                continue;
+            }
+            masks[i] = CompiledUriFilter.maskOf(pattern);
+            values[i] = PackedUri.pack(pattern) & masks[i];
+            authorities[i] = authority;
+        }
+        unpacked = others;
+    }
+
+
+    /**
+     * Return whether matching uses the Vector API in this JVM.
+     *
+     * @return Returns true if the Vector API is used, false if the scalar loop is used.
+     */
+    public static boolean isVectorized() {
+        return KERNEL != Kernel.SCALAR;
+    }
+
+
+    /**
+     * Return the number of patterns.
+     *
+     * @return Returns the number of patterns.
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+
+    /**
+     * Return the pattern at an index.
+     *
+     * @param index The index of the pattern.
+     * @return Returns the pattern.
+     */
+    public UUri getPattern(int index) {
+        return patterns.get(index);
+    }
+
+
+    /**
+     * Match a candidate against all the patterns.
+     *
+     * @param candidate The URI to match.
+     * @return Returns the set of the indexes of the matching patterns.
+     */
+    public BitSet matches(UUri candidate) {
+        final long[] words = new long[values.length >>> 6];
+        matches(candidate, words);
+        return BitSet.valueOf(words);
+    }
+
+
+    /**
+     * Match a candidate against all the patterns into an array of bits, in the layout of
+     * {@link BitSet#valueOf(long[])}, so that the array can be reused from one candidate to the next.
+     *
+     * @param candidate The URI to match.
+     * @param words The array to fill, bit {@code i % 64} of {@code words[i / 64]} is set if pattern
+     *              {@code i} matches. It needs at least {@code (size() + 63) / 64} elements, the bits
+     *              that follow are cleared.
+     */
+    public void matches(UUri candidate, long[] words) {
+        Arrays.fill(words, 0);
+        if (candidate == null) {
+            return;
+        }
+        if (!PackedUri.isPackable(candidate)) {
+            for (int i = 0; i < patterns.size(); i++) {
+                setIf(words, i, UriValidator.matches(patterns.get(i), candidate));
+            }
+            return;
+        }
+        // An authority that no pattern registered only matches the wildcard authority
+        kernel.match(values, masks, authorities, PackedUri.pack(candidate),
+            AuthorityRegistry.find(candidate.getAuthorityName()), words);
+        for (int i : unpacked) {
+            setIf(words, i, UriValidator.matches(patterns.get(i), candidate));
+        }
+    }
+
+
+    private static void setIf(long[] words, int index, boolean matches) {
+        if (matches) {
+            words[index >>> 6] |= 1L << index;
+        }
+    }
+
+
+    private static Kernel loadKernel() {
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The incubator module is not part of the boot layer of this JVM
+            Logger.getGlobal().log(Level.FINE, "Vector API not available, using the scalar matcher", e);
+            return Kernel.SCALAR;
+        }
+    }
+
+
+    /**
+     * Loop matching a packed candidate against packed patterns, the arrays have a length that is a
+     * multiple of 64.
+     */
+    interface Kernel {
+        Kernel SCALAR = (values, masks, authorities, packed, authority, words) -> {
+            for (int i = 0; i < values.length; i++) {
+                final boolean hit = (packed & masks[i]) == values[i]
+                    & (authorities[i] == authority | authorities[i] == AuthorityRegistry.WILDCARD_ID);
+                words[i >>> 6] |= (hit ? 1L : 0L) << i;
+            }
+        };
+
+        void match(long[] values, long[] masks, long[] authorities, long packed, long authority, long[] words);
+    }
+}
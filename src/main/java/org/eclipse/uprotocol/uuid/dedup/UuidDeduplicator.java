@@ -0,0 +1,262 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.dedup;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.eclipse.uprotocol.clock.UClock;
+import org.eclipse.uprotocol.uuid.factory.UuidUtils;
+import org.eclipse.uprotocol.v1.UUID;
+
+/**
+ * Sliding window of the ids seen recently, to drop the messages delivered more than once, for example
+ * redelivered by an at least once transport after a reconnect.
+ *
+ * <p>The ids are bucketed by their creation time, {@link UuidUtils#timeMillis}, one compact hash set
+ * per millisecond in a ring covering the window before and after the current time. A bucket is
+ * reused once its millisecond leaves the window, so the memory is bounded by the number of ids of a
+ * window whatever the message rate and the deduplicator never grows beyond it.
+ *
+ * <p>An id created before the window can no longer be checked and is reported as a duplicate, the
+ * window should be longer than the longest redelivery delay. Ids without a creation time and ids
+ * created further than the window in the future, from a peer whose clock is off, cannot be tracked
+ * and are always reported as new.
+ */
+public class UuidDeduplicator {
+
+    /**
+     * Longest window in milliseconds.
+     */
+    public static final long MAX_WINDOW = 300_000;
+
+    private final long window;
+    private final LongSupplier clock;
+    private final Bucket[] buckets;
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder late = new LongAdder();
+
+
+    /**
+     * Create a deduplicator that uses the system clock.
+     *
+     * @param window The time in milliseconds during which an id is remembered.
+     */
+    public UuidDeduplicator(long window) {
+        this(window, UClock.SYSTEM);
+    }
+
+
+    /**
+     * Create a deduplicator.
+     *
+     * @param window The time in milliseconds during which an id is remembered.
+     * @param clock The clock returning the current time in milliseconds since the epoch.
+     * @throws IllegalArgumentException if the window is not positive or longer than {@link #MAX_WINDOW}.
+     */
+    public UuidDeduplicator(long window, LongSupplier clock) {
+        if (window <= 0 || window > MAX_WINDOW) {
+            throw new IllegalArgumentException("Window must be between 1 and " + MAX_WINDOW + " milliseconds");
+        }
+        this.window = window;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.buckets = new Bucket[(int) window * 2 + 1];
+    }
+
+
+    /**
+     * Record an id and check if it was seen before.
+     *
+     * @param id The id of a message.
+     * @return Returns true if the id was not seen during the window, false if it is a duplicate or
+     *         was created before the window.
+     */
+    public boolean add(UUID id) {
+        final long time = UuidUtils.timeMillis(id);
+        if (time < 0) {
+            return true;
+        }
+        final long now = clock.getAsLong();
+        if (time < now - window) {
+            late.increment();
+            return false;
+        }
+        if (time > now + window) {
+            return true;
+        }
+        synchronized (this) {
+            final int index = (int) Math.floorMod(time, (long) buckets.length);
+            Bucket bucket = buckets[index];
+            if (bucket == null) {
+                bucket = new Bucket();
+                buckets[index] = bucket;
+            }
+            bucket.reset(time);
+            if (bucket.add(id.getMsb(), id.getLsb())) {
+                return true;
+            }
+        }
+        duplicates.increment();
+        return false;
+    }
+
+
+    /**
+     * Check if an id was seen during the window, without recording it.
+     *
+     * @param id The id of a message.
+     * @return Returns true if the id was recorded and its bucket is still in the window.
+     */
+    public boolean contains(UUID id) {
+        final long time = UuidUtils.timeMillis(id);
+        final long now = clock.getAsLong();
+        if (time < 0 || time < now - window || time > now + window) {
+            return false;
+        }
+        synchronized (this) {
+            final Bucket bucket = buckets[(int) Math.floorMod(time, (long) buckets.length)];
+            return bucket != null && bucket.time == time && bucket.contains(id.getMsb(), id.getLsb());
+        }
+    }
+
+
+    /**
+     * Return the number of ids remembered in the window.
+     *
+     * @return Returns the number of ids recorded whose creation time is still in the window.
+     */
+    public synchronized int size() {
+        final long now = clock.getAsLong();
+        int size = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket != null && bucket.time >= now - window && bucket.time <= now + window) {
+                size += bucket.size;
+            }
+        }
+        return size;
+    }
+
+
+    /**
+     * Forget all the ids.
+     */
+    public synchronized void clear() {
+        Arrays.fill(buckets, null);
+    }
+
+
+    /**
+     * Return the time during which an id is remembered.
+     *
+     * @return Returns the window in milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+
+    /**
+     * Return the number of duplicate ids found.
+     *
+     * @return Returns the number of ids added that were seen during the window.
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+
+    /**
+     * Return the number of ids created before the window.
+     *
+     * @return Returns the number of ids added that were too old to be checked.
+     */
+    public long getLateCount() {
+        return late.sum();
+    }
+
+
+    /**
+     * Open addressing hash set of the ids of one millisecond, holding the most and least significant
+     * bits of each id in consecutive longs. A slot is empty when its most significant bits are 0,
+     * which they never are for an id that has a creation time since they hold its version.
+     */
+    private static final class Bucket {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private long time = Long.MIN_VALUE;
+        private long[] slots = new long[INITIAL_CAPACITY * 2];
+        private int size;
+
+        /**
+         * Empty the bucket when it is reused for another millisecond.
+         */
+        private void reset(long millis) {
+            if (time == millis) {
+                return;
+            }
+            time = millis;
+            if (slots.length > INITIAL_CAPACITY * 2) {
+                // Do not keep the memory of a burst for the next use of the bucket
+                slots = new long[INITIAL_CAPACITY * 2];
+            } else if (size > 0) {
+                Arrays.fill(slots, 0);
+            }
+            size = 0;
+        }
+
+        private boolean add(long msb, long lsb) {
+            if ((size + 1) * 2 > slots.length / 2) {
+                grow();
+            }
+            final int slot = find(slots, msb, lsb);
+            if (slots[slot] != 0) {
+                return false;
+            }
+            slots[slot] = msb;
+            slots[slot + 1] = lsb;
+            size++;
+            return true;
+        }
+
+        private boolean contains(long msb, long lsb) {
+            return slots[find(slots, msb, lsb)] != 0;
+        }
+
+        private void grow() {
+            final long[] old = slots;
+            slots = new long[old.length * 2];
+            for (int i = 0; i < old.length; i += 2) {
+                if (old[i] != 0) {
+                    final int slot = find(slots, old[i], old[i + 1]);
+                    slots[slot] = old[i];
+                    slots[slot + 1] = old[i + 1];
+                }
+            }
+        }
+
+        /**
+         * Return the index of the slot holding an id, or of the empty slot where it belongs.
+         */
+        private static int find(long[] slots, long msb, long lsb) {
+            final int mask = slots.length / 2 - 1;
+            long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+            int index = (int) (hash ^ hash >>> 32) & mask;
+            while (slots[index * 2] != 0 && (slots[index * 2] != msb || slots[index * 2 + 1] != lsb)) {
+                index = (index + 1) & mask;
+            }
+            return index * 2;
+        }
+    }
+}
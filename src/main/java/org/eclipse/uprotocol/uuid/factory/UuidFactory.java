@@ -13,11 +13,14 @@
 package org.eclipse.uprotocol.uuid.factory;
 
 import com.github.f4b6a3.uuid.UuidCreator;
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.v1.UUID;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The UuidFactory class is an abstract class that provides a factory method to
@@ -44,6 +47,74 @@ public abstract class UuidFactory {
      */
     public abstract UUID create(Instant instant);
 
+    /**
+     * Create a UUID based on the time of a clock.
+     *
+     * @param clock the clock giving the current time
+     * @return a UUID
+     */
+    public UUID createFrom(UClock clock) {
+        return create(Instant.ofEpochMilli(clock.millis()));
+    }
+
+    /**
+     * Create UUIDs based on the current time.
+     *
+     * @param count the number of UUIDs to create
+     * @return the UUIDs in the order they were created
+     */
+    public List<UUID> createBatch(int count) {
+        final long[] msb = new long[count];
+        final long[] lsb = new long[count];
+        fill(msb, lsb, 0, count);
+        final List<UUID> uuids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            uuids.add(UUID.newBuilder().setMsb(msb[i]).setLsb(lsb[i]).build());
+        }
+        return uuids;
+    }
+
+    /**
+     * Create UUIDs based on the current time into arrays of their most and least significant bits,
+     * without creating the protobuf UUIDs.
+     *
+     * @param msb the array receiving the most significant bits
+     * @param lsb the array receiving the least significant bits
+     * @param offset the index of the first UUID in the arrays
+     * @param length the number of UUIDs to create
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of one of the arrays
+     */
+    public void fill(long[] msb, long[] lsb, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, msb.length);
+        Objects.checkFromIndexSize(offset, length, lsb.length);
+        for (int i = offset; i < offset + length; i++) {
+            final UUID uuid = create();
+            msb[i] = uuid.getMsb();
+            lsb[i] = uuid.getLsb();
+        }
+    }
+
+    /**
+     * Create UUIDs based on the time of a clock into arrays of their most and least significant bits,
+     * without creating the protobuf UUIDs.
+     *
+     * @param msb the array receiving the most significant bits
+     * @param lsb the array receiving the least significant bits
+     * @param offset the index of the first UUID in the arrays
+     * @param length the number of UUIDs to create
+     * @param clock the clock giving the current time
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of one of the arrays
+     */
+    public void fill(long[] msb, long[] lsb, int offset, int length, UClock clock) {
+        Objects.checkFromIndexSize(offset, length, msb.length);
+        Objects.checkFromIndexSize(offset, length, lsb.length);
+        for (int i = offset; i < offset + length; i++) {
+            final UUID uuid = createFrom(clock);
+            msb[i] = uuid.getMsb();
+            lsb[i] = uuid.getLsb();
+        }
+    }
+
     /**
      * The Factories enum provides a list of factories that can be used to create
      * UUIDs.
@@ -82,17 +153,111 @@ public abstract class UuidFactory {
     /**
      * The Uuidv7Factory class is an implementation of the UuidFactory class that
      * creates UUIDs based on the UUIDv7 version of the protocol.
+     *
+     * <p>Each thread has its own sequence so that threads never contend, and the UUIDs created by a
+     * thread are strictly increasing. Following method 1 of rfc9562 section 6.2, rand_a and the upper
+     * 30 bits of rand_b hold a 42 bits counter that starts at a random value with its top bit cleared
+     * at each new millisecond and is incremented for the UUIDs of the same millisecond, the lower 32
+     * bits of rand_b are random. When the clock goes back the last millisecond is kept, and when the
+     * counter overflows the millisecond is moved forward by one.
+     * A UUID created for a given instant is left out of the sequence unless the instant is in its last
+     * millisecond. A UUID created from a {@link UClock} joins the sequence unless the clock is behind
+     * it, as a {@link org.eclipse.uprotocol.clock.ManualClock} set back in time may be, so that it has
+     * the time of the clock.
      */
     private static class Uuidv7Factory extends UuidFactory {
+        private static final int COUNTER_BITS = 42;
+        private static final int COUNTER_LOW_BITS = 30;
+        private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+        private static final long COUNTER_LOW_MASK = (1L << COUNTER_LOW_BITS) - 1;
+        private static final int CLOCK_READ_INTERVAL = 1024;
+
+        private final ThreadLocal<Sequence> sequences = ThreadLocal.withInitial(Sequence::new);
+
+        @Override
+        public UUID create() {
+            return create(System.currentTimeMillis(), true);
+        }
+
         public UUID create(Instant instant) {
-            final long time = Objects.requireNonNullElse(instant, Instant.now()).toEpochMilli();
+            return instant == null ? create() : create(instant.toEpochMilli(), false);
+        }
+
+        @Override
+        public UUID createFrom(UClock clock) {
+            final long now = clock.millis();
+            return create(now, now >= sequences.get().time);
+        }
+
+        private UUID create(long now, boolean clock) {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final Sequence sequence = sequences.get();
+            if (!clock && now != sequence.time) {
+                return build(now, seed(random), random);
+            }
+            sequence.next(now, random);
+            return build(sequence.time, sequence.counter, random);
+        }
+
+        @Override
+        public void fill(long[] msb, long[] lsb, int offset, int length) {
+            fill(msb, lsb, offset, length, UClock.SYSTEM);
+        }
+
+        /**
+         * Create UUIDs from the sequence of the thread, reading the clock once for every
+         * {@link #CLOCK_READ_INTERVAL} UUIDs.
+         */
+        @Override
+        public void fill(long[] msb, long[] lsb, int offset, int length, UClock clock) {
+            Objects.checkFromIndexSize(offset, length, msb.length);
+            Objects.checkFromIndexSize(offset, length, lsb.length);
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final Sequence sequence = sequences.get();
+            long now = 0;
+            for (int i = 0; i < length; i++) {
+                if (i % CLOCK_READ_INTERVAL == 0) {
+                    now = clock.millis();
+                }
+                sequence.next(now, random);
+                msb[offset + i] = msb(sequence.time, sequence.counter);
+                lsb[offset + i] = lsb(sequence.counter, random);
+            }
+        }
+
+        private static long seed(ThreadLocalRandom random) {
+            // The top bit is cleared so that the counter has room to be incremented
+            return random.nextLong() & COUNTER_MAX >>> 1;
+        }
+
+        private static UUID build(long time, long counter, ThreadLocalRandom random) {
+            return UUID.newBuilder().setMsb(msb(time, counter)).setLsb(lsb(counter, random)).build();
+        }
+
+        private static long msb(long time, long counter) {
+            return time << 16 | 7L << 12 | counter >>> COUNTER_LOW_BITS;
+        }
+
+        private static long lsb(long counter, ThreadLocalRandom random) {
+            return 1L << 63 | (counter & COUNTER_LOW_MASK) << 32 | random.nextInt() & 0xFFFFFFFFL;
+        }
 
-            final int rand_a = new Random().nextInt() & 0xfff;
-            final long rand_b = new Random().nextLong() & 0x3fffffffffffffffL;
+        /**
+         * The last millisecond and counter of a thread.
+         */
+        private static final class Sequence {
+            private long time = Long.MIN_VALUE;
+            private long counter;
 
-            return UUID.newBuilder()
-                .setMsb((time << 16) | 7L << 12 | rand_a)
-                .setLsb(rand_b | 1L << 63).build();
+            private void next(long now, ThreadLocalRandom random) {
+                if (now > time) {
+                    time = now;
+                    counter = seed(random);
+                } else if (++counter > COUNTER_MAX) {
+                    time++;
+                    counter = seed(random);
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
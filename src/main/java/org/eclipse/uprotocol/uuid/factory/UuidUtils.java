@@ -14,7 +14,7 @@ package org.eclipse.uprotocol.uuid.factory;
 
 import com.github.f4b6a3.uuid.enums.UuidVariant;
 import com.github.f4b6a3.uuid.util.UuidTime;
-import com.github.f4b6a3.uuid.util.UuidUtil;
+import org.eclipse.uprotocol.clock.UClock;
 import org.eclipse.uprotocol.v1.UUID;
 
 import java.util.Optional;
@@ -33,7 +33,18 @@ public interface UuidUtils {
      */
     static Optional<Version> getVersion(UUID uuid) {
         // Version is bits masked by 0x000000000000F000 in MS long
-        return uuid == null ? Optional.empty() : Version.getVersion((int) ((uuid.getMsb() >> 12) & 0x0f));
+        return uuid == null ? Optional.empty() : Version.getVersion(versionOf(uuid));
+    }
+
+    /**
+     * Fetch the UUID version number without looking it up in {@link Version}.
+     *
+     * @param uuid The UUID to fetch the version from.
+     * @return the version bits of the UUID.
+     */
+    private static int versionOf(UUID uuid) {
+        // Version is bits masked by 0x000000000000F000 in MS long
+        return (int) (uuid.getMsb() >> 12) & 0x0f;
     }
 
     /**
@@ -55,8 +66,7 @@ public interface UuidUtils {
      *         or the UUID is not uProtocol format.
      */
     static boolean isUProtocol(UUID uuid) {
-        final Optional<Version> version = getVersion(uuid);
-        return uuid != null && version.isPresent() && version.get() == Version.VERSION_UPROTOCOL;
+        return uuid != null && versionOf(uuid) == Version.VERSION_UPROTOCOL.getValue();
     }
 
     /**
@@ -65,10 +75,9 @@ public interface UuidUtils {
      * @return true if is UUID version 6 or false if uuid is null or not version 6
      */
     static boolean isUuidv6(UUID uuid) {
-        final Optional<Version> version = getVersion(uuid);
-        final Optional<Integer> variant = getVariant(uuid);
-        return uuid != null && version.isPresent() && version.get() == Version.VERSION_TIME_ORDERED
-                && variant.get() == UuidVariant.VARIANT_RFC_4122.getValue();
+        // The RFC 4122 variant is the 2 bits 10 at the top of the LS long
+        return uuid != null && versionOf(uuid) == Version.VERSION_TIME_ORDERED.getValue()
+                && uuid.getLsb() >>> 62 == UuidVariant.VARIANT_RFC_4122.getValue();
     }
 
     /**
@@ -87,30 +96,37 @@ public interface UuidUtils {
      * @return number of milliseconds since unix epoch or empty if uuid is null.
      */
     static Optional<Long> getTime(UUID uuid) {
-        Long time = null;
-        Optional<Version> version = getVersion(uuid);
-        if (uuid == null || version.isEmpty()) {
-            return Optional.empty();
-        }
+        final long time = timeMillis(uuid);
+        return time < 0 ? Optional.empty() : Optional.of(time);
+    }
 
-        switch (version.get()) {
-            case VERSION_UPROTOCOL:
-                time = uuid.getMsb() >> 16;
-                break;
-            case VERSION_TIME_ORDERED:
-                // convert Ticks to Millis
-                try {
-                    java.util.UUID uuidJava = new java.util.UUID(uuid.getMsb(), uuid.getLsb());
-                    time = UuidTime.toUnixTimestamp(UuidUtil.getTimestamp(uuidJava)) / UuidTime.TICKS_PER_MILLI;
-                } catch (IllegalArgumentException e) {
-                    return Optional.empty();
+    /**
+     * Return the number of milliseconds since unix epoch from a passed UUID without allocating.
+     *
+     * @param uuid passed uuid to fetch the time.
+     * @return number of milliseconds since unix epoch, or -1 if the uuid is null, is neither a UUIDv6
+     *         of the RFC 4122 variant nor a UUIDv7 or has a time before the unix epoch.
+     */
+    static long timeMillis(UUID uuid) {
+        if (uuid == null) {
+            return -1;
+        }
+        final long msb = uuid.getMsb();
+        switch (versionOf(uuid)) {
+            case 7:
+                return msb >>> 16;
+            case 6:
+                if (!isUuidv6(uuid)) {
+                    return -1;
                 }
-                break;
+                // time_high and time_mid are above the version bits and time_low below them, in 100ns ticks
+                // since the gregorian epoch
+                final long ticks = ((msb >>> 16) << 12 | msb & 0xfff)
+                        - (UuidTime.EPOCH_UNIX_SECONDS - UuidTime.EPOCH_GREG_SECONDS) * UuidTime.TICKS_PER_SECOND;
+                return ticks < 0 ? -1 : ticks / UuidTime.TICKS_PER_MILLI;
             default:
-                break;
+                return -1;
         }
-
-        return Optional.ofNullable(time);
     }
 
     /**
@@ -121,11 +137,23 @@ public interface UuidUtils {
      *         or an empty Optional if the creation time cannot be determined.
      */
     static Optional<Long> getElapsedTime(UUID id) {
-        final long creationTime = getTime(id).orElse(-1L);
+        return getElapsedTime(id, UClock.SYSTEM);
+    }
+
+    /**
+     * Calculates the elapsed time since the creation of the specified UUID, at the time of a clock.
+     *
+     * @param id    The UUID of the object whose creation time needs to be determined.
+     * @param clock The clock giving the current time.
+     * @return An Optional containing the elapsed time in milliseconds,
+     *         or an empty Optional if the creation time cannot be determined.
+     */
+    static Optional<Long> getElapsedTime(UUID id, UClock clock) {
+        final long creationTime = timeMillis(id);
         if (creationTime < 0) {
             return Optional.empty();
         }
-        final long now = System.currentTimeMillis();
+        final long now = clock.millis();
         return now >= creationTime ? Optional.of(now - creationTime) : Optional.empty();
     }
 
@@ -142,10 +170,25 @@ public interface UuidUtils {
      *         creation time cannot be determined.
      */
     static Optional<Long> getRemainingTime(UUID id, int ttl) {
+        return getRemainingTime(id, ttl, UClock.SYSTEM);
+    }
+
+    /**
+     * Calculates the remaining time until the expiration of the event identified by
+     * the given UUID, at the time of a clock.
+     *
+     * @param id    The UUID of the object whose remaining time needs to be determined.
+     * @param ttl   The time-to-live (TTL) in milliseconds.
+     * @param clock The clock giving the current time.
+     * @return An Optional containing the remaining time in milliseconds until the event expires,
+     *         or an empty Optional if the UUID is null, TTL is non-positive, or the
+     *         creation time cannot be determined.
+     */
+    static Optional<Long> getRemainingTime(UUID id, int ttl, UClock clock) {
         if (id == null || ttl <= 0) {
             return Optional.empty();
         }
-        return getElapsedTime(id).filter(elapsedTime -> ttl > elapsedTime).map(elapsedTime -> ttl - elapsedTime);
+        return getElapsedTime(id, clock).filter(elapsedTime -> ttl > elapsedTime).map(elapsedTime -> ttl - elapsedTime);
     }
 
     /**
@@ -154,12 +197,54 @@ public interface UuidUtils {
      *
      * @param id  The UUID identifying the event.
      * @param ttl The time-to-live (TTL) in milliseconds for the event.
-     * @return true if the event has expired, false otherwise. Returns false if TTL
-     *         is non-positive or creation time
-     *         cannot be determined.
+     * @return true if the event has expired or its creation time cannot be determined or is in the
+     *         future, false otherwise. Returns false if TTL is non-positive.
+     * @see #isExpiredAt(UUID, int, long)
      */
     static boolean isExpired(UUID id, int ttl) {
-        return ttl > 0 && getRemainingTime(id, ttl).isEmpty();
+        return isExpired(id, ttl, UClock.SYSTEM);
+    }
+
+    /**
+     * Checks if the event identified by the given UUID has expired at the time of a clock, based on the
+     * specified time-to-live (TTL).
+     *
+     * @param id    The UUID identifying the event.
+     * @param ttl   The time-to-live (TTL) in milliseconds for the event.
+     * @param clock The clock giving the current time.
+     * @return true if the event has expired, that is at least ttl milliseconds passed since its
+     *         creation, or its creation time cannot be determined or is in the future, false otherwise.
+     *         Returns false if TTL is non-positive.
+     * @see #isExpiredAt(UUID, int, long)
+     */
+    static boolean isExpired(UUID id, int ttl, UClock clock) {
+        if (ttl <= 0) {
+            return false;
+        }
+        final long creationTime = timeMillis(id);
+        final long now = clock.millis();
+        return creationTime < 0 || now < creationTime || now - creationTime >= ttl;
+    }
+
+    /**
+     * Checks if a received message identified by the given UUID has expired at a given time, without
+     * allocating. Unlike {@link #isExpired(UUID, int, UClock)}, a message without a creation time or
+     * created in the future is not expired, and a message is only expired once its creation time plus
+     * the ttl is strictly before the given time, the rule {@code UAttributesValidator.isExpired} applies
+     * to received messages.
+     *
+     * @param id        The UUID identifying the event.
+     * @param ttl       The time-to-live (TTL) in milliseconds for the event.
+     * @param nowMillis The current time in milliseconds since unix epoch.
+     * @return true if the event has expired, false if TTL is non-positive, the creation time cannot be
+     *         determined or the event has not expired.
+     */
+    static boolean isExpiredAt(UUID id, int ttl, long nowMillis) {
+        if (ttl <= 0) {
+            return false;
+        }
+        final long creationTime = timeMillis(id);
+        return creationTime >= 0 && creationTime + ttl < nowMillis;
     }
 
     /**
@@ -186,8 +271,12 @@ public interface UuidUtils {
 
         private final int value;
 
+        // Shared by all the lookups of the version so that they do not allocate
+        private final Optional<Version> optional;
+
         Version(int value) {
             this.value = value;
+            this.optional = Optional.of(this);
         }
 
         /**
@@ -198,12 +287,18 @@ public interface UuidUtils {
          *         version.
          */
         public static Optional<Version> getVersion(int value) {
-            for (Version version : Version.values()) {
-                if (version.getValue() == value) {
-                    return Optional.of(version);
-                }
+            switch (value) {
+                case 0:
+                    return VERSION_UNKNOWN.optional;
+                case 4:
+                    return VERSION_RANDOM_BASED.optional;
+                case 6:
+                    return VERSION_TIME_ORDERED.optional;
+                case 7:
+                    return VERSION_UPROTOCOL.optional;
+                default:
+                    return Optional.empty();
             }
-            return Optional.empty();
         }
 
         public int getValue() {
@@ -0,0 +1,161 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.serializer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.uprotocol.v1.UUID;
+
+/**
+ * Table based encoding and decoding of the canonical text form of a UUID, 32 hex digits with dashes
+ * after the 8th, 12th, 16th and 20th digits, to and from characters or ASCII bytes.
+ */
+final class UuidHex {
+    private static final byte[] DIGITS = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+
+    // Value of each hex digit by its ISO-8859-1 code, -1 for the other characters
+    private static final byte[] VALUES = new byte[256];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+            VALUES[Character.toUpperCase(DIGITS[i])] = (byte) i;
+        }
+    }
+
+
+    private UuidHex() {
+    }
+
+
+    /**
+     * Write the text form of a UUID as ASCII bytes.
+     */
+    static void encode(long msb, long lsb, byte[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, UuidSerializer.TEXT_LENGTH, dst.length);
+        encode(msb >>> 32, dst, offset, 8);
+        dst[offset + 8] = '-';
+        encode(msb >>> 16, dst, offset + 9, 4);
+        dst[offset + 13] = '-';
+        encode(msb, dst, offset + 14, 4);
+        dst[offset + 18] = '-';
+        encode(lsb >>> 48, dst, offset + 19, 4);
+        dst[offset + 23] = '-';
+        encode(lsb, dst, offset + 24, 12);
+    }
+
+    /**
+     * Write the text form of a UUID as characters.
+     */
+    static void encode(long msb, long lsb, char[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, UuidSerializer.TEXT_LENGTH, dst.length);
+        encode(msb >>> 32, dst, offset, 8);
+        dst[offset + 8] = '-';
+        encode(msb >>> 16, dst, offset + 9, 4);
+        dst[offset + 13] = '-';
+        encode(msb, dst, offset + 14, 4);
+        dst[offset + 18] = '-';
+        encode(lsb >>> 48, dst, offset + 19, 4);
+        dst[offset + 23] = '-';
+        encode(lsb, dst, offset + 24, 12);
+    }
+
+    /**
+     * Decode the text form of a UUID from characters.
+     *
+     * @return Returns the UUID, or null if the characters are not the canonical text form.
+     */
+    static UUID decode(CharSequence text, int offset) {
+        if (text.charAt(offset + 8) != '-' || text.charAt(offset + 13) != '-'
+            || text.charAt(offset + 18) != '-' || text.charAt(offset + 23) != '-') {
+            return null;
+        }
+        final long time = decode(text, offset, 8);
+        final long mid = decode(text, offset + 9, 4);
+        final long high = decode(text, offset + 14, 4);
+        final long sequence = decode(text, offset + 19, 4);
+        final long node = decode(text, offset + 24, 12);
+        if ((time | mid | high | sequence | node) < 0) {
+            return null;
+        }
+        return UUID.newBuilder().setMsb(time << 32 | mid << 16 | high).setLsb(sequence << 48 | node).build();
+    }
+
+    /**
+     * Decode the text form of a UUID from ASCII bytes.
+     *
+     * @return Returns the UUID, or null if the bytes are not the canonical text form.
+     */
+    static UUID decode(byte[] text, int offset) {
+        Objects.checkFromIndexSize(offset, UuidSerializer.TEXT_LENGTH, text.length);
+        if (text[offset + 8] != '-' || text[offset + 13] != '-'
+            || text[offset + 18] != '-' || text[offset + 23] != '-') {
+            return null;
+        }
+        final long time = decode(text, offset, 8);
+        final long mid = decode(text, offset + 9, 4);
+        final long high = decode(text, offset + 14, 4);
+        final long sequence = decode(text, offset + 19, 4);
+        final long node = decode(text, offset + 24, 12);
+        if ((time | mid | high | sequence | node) < 0) {
+            return null;
+        }
+        return UUID.newBuilder().setMsb(time << 32 | mid << 16 | high).setLsb(sequence << 48 | node).build();
+    }
+
+    // The digits of a group are written and read independently of each other, without a chain of
+    // shifts from one digit to the next, so that they can be processed in parallel
+    private static void encode(long value, byte[] dst, int offset, int digits) {
+        for (int i = 0; i < digits; i++) {
+            dst[offset + i] = DIGITS[(int) (value >>> (digits - 1 - i) * 4) & 0xF];
+        }
+    }
+
+    private static void encode(long value, char[] dst, int offset, int digits) {
+        for (int i = 0; i < digits; i++) {
+            dst[offset + i] = (char) DIGITS[(int) (value >>> (digits - 1 - i) * 4) & 0xF];
+        }
+    }
+
+    /**
+     * Decode a group of hex digits.
+     *
+     * @return Returns the value of the digits, or -1 if one of them is not a hex digit.
+     */
+    private static long decode(CharSequence text, int offset, int digits) {
+        long value = 0;
+        int invalid = 0;
+        for (int i = 0; i < digits; i++) {
+            final char c = text.charAt(offset + i);
+            final int digit = c < VALUES.length ? VALUES[c] : -1;
+            invalid |= digit;
+            value |= (long) digit << (digits - 1 - i) * 4;
+        }
+        return invalid < 0 ? -1 : value;
+    }
+
+    private static long decode(byte[] text, int offset, int digits) {
+        long value = 0;
+        int invalid = 0;
+        for (int i = 0; i < digits; i++) {
+            final int digit = VALUES[text[offset + i] & 0xFF];
+            invalid |= digit;
+            value |= (long) digit << (digits - 1 - i) * 4;
+        }
+        return invalid < 0 ? -1 : value;
+    }
+}
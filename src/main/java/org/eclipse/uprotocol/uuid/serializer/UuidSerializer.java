@@ -12,17 +12,35 @@
  */
 package org.eclipse.uprotocol.uuid.serializer;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.eclipse.uprotocol.v1.UUID;
 
 /**
  * UUID Serializer interface used to serialize/deserialize UUIDs to/from either
  * Long (string) or micro (bytes) form
- * 
- * @param <T> The data structure that the UUID will be serialized into. For
- *            example String or byte[].
+ *
+ * <p>The text form is the canonical form of 32 lower case hex digits and 4 dashes. It is read with a
+ * lookup table from strings, characters or ASCII bytes, and written with one into characters or ASCII
+ * bytes. Text in another form accepted by {@link java.util.UUID#fromString} is still deserialized.
+ * The binary form is the 16 bytes of the most then least significant bits in big endian order.
  */
 public interface UuidSerializer {
 
+    /**
+     * Number of characters of the text form of a UUID.
+     */
+    int TEXT_LENGTH = 36;
+
+    /**
+     * Number of bytes of the binary form of a UUID.
+     */
+    int BINARY_LENGTH = 16;
+
     /**
      * Deserialize from a specific serialization format to a {@link UUID}.
      * 
@@ -30,16 +48,75 @@ public interface UuidSerializer {
      * @return Returns the {@link UUID} object.
      */
     static UUID deserialize(String stringUuid) {
-        if (stringUuid == null || stringUuid.isBlank()) {
+        return deserialize((CharSequence) stringUuid);
+    }
+
+    /**
+     * Deserialize the text form of a {@link UUID} from a character sequence.
+     *
+     * @param text The UUID in the transport serialized format.
+     * @return Returns the {@link UUID} object, or the default instance if the text is not a UUID.
+     */
+    static UUID deserialize(CharSequence text) {
+        if (text == null) {
             return UUID.getDefaultInstance();
         }
-        try {
-            java.util.UUID uuidJava = java.util.UUID.fromString(stringUuid);
-            return UUID.newBuilder().setMsb(uuidJava.getMostSignificantBits())
-                    .setLsb(uuidJava.getLeastSignificantBits()).build();
-        } catch (IllegalArgumentException e) {
+        final UUID uuid = text.length() == TEXT_LENGTH ? UuidHex.decode(text, 0) : null;
+        return uuid != null ? uuid : deserializeLenient(text.toString());
+    }
+
+    /**
+     * Deserialize the text form of a {@link UUID} from characters of an array.
+     *
+     * @param chars The array holding the UUID in the transport serialized format.
+     * @param offset The index of the first character of the UUID.
+     * @param length The number of characters of the UUID.
+     * @return Returns the {@link UUID} object, or the default instance if the characters are not a UUID.
+     */
+    static UUID deserialize(char[] chars, int offset, int length) {
+        if (chars == null) {
+            return UUID.getDefaultInstance();
+        }
+        return deserialize(CharBuffer.wrap(chars, offset, length));
+    }
+
+    /**
+     * Deserialize the text form of a {@link UUID} from ASCII bytes of an array.
+     *
+     * @param ascii The array holding the UUID in the transport serialized format.
+     * @param offset The index of the first byte of the UUID.
+     * @param length The number of bytes of the UUID.
+     * @return Returns the {@link UUID} object, or the default instance if the bytes are not a UUID.
+     */
+    static UUID deserialize(byte[] ascii, int offset, int length) {
+        if (ascii == null) {
+            return UUID.getDefaultInstance();
+        }
+        if (offset < 0 || length < 0 || offset > ascii.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        final UUID uuid = length == TEXT_LENGTH ? UuidHex.decode(ascii, offset) : null;
+        return uuid != null ? uuid
+            : deserializeLenient(new String(ascii, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Deserialize the binary form of a {@link UUID} at the position of a buffer, the position is moved
+     * after the UUID when the buffer holds one.
+     *
+     * @param buffer The buffer holding the big endian binary form of the UUID, whatever its order.
+     * @return Returns the {@link UUID} object, or the default instance if fewer than
+     *         {@link #BINARY_LENGTH} bytes remain.
+     */
+    static UUID deserializeFromBytes(ByteBuffer buffer) {
+        if (buffer == null || buffer.remaining() < BINARY_LENGTH) {
             return UUID.getDefaultInstance();
         }
+        final long msb = buffer.getLong();
+        final long lsb = buffer.getLong();
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        return UUID.newBuilder().setMsb(bigEndian ? msb : Long.reverseBytes(msb))
+            .setLsb(bigEndian ? lsb : Long.reverseBytes(lsb)).build();
     }
 
     /**
@@ -49,6 +126,95 @@ public interface UuidSerializer {
      * @return Returns the {@link UUID} in the transport serialized format.
      */
     static String serialize(UUID uuid) {
-        return uuid == null ? new String() : new java.util.UUID(uuid.getMsb(), uuid.getLsb()).toString();
+        // java.util.UUID formats the digits directly into the bytes of the string, which no formatter
+        // outside of the JDK can do without copying them
+        return uuid == null ? "" : new java.util.UUID(uuid.getMsb(), uuid.getLsb()).toString();
+    }
+
+    /**
+     * Serialize a {@link UUID} at the end of a {@link StringBuilder}, nothing is appended for a null UUID.
+     *
+     * @param uuid The {@link UUID} object to serialize.
+     * @param sb The builder to append to.
+     * @return Returns the builder.
+     */
+    static StringBuilder serialize(UUID uuid, StringBuilder sb) {
+        return uuid == null ? sb : sb.append(serialize(uuid));
+    }
+
+    /**
+     * Serialize a {@link UUID} into characters of an array, nothing is written for a null UUID.
+     *
+     * @param uuid The {@link UUID} object to serialize.
+     * @param chars The array to write the {@link #TEXT_LENGTH} characters to.
+     * @param offset The index of the first character to write.
+     * @return Returns the index after the last character written.
+     */
+    static int serialize(UUID uuid, char[] chars, int offset) {
+        if (uuid == null) {
+            return offset;
+        }
+        UuidHex.encode(uuid.getMsb(), uuid.getLsb(), chars, offset);
+        return offset + TEXT_LENGTH;
+    }
+
+    /**
+     * Serialize a {@link UUID} into ASCII bytes of an array, nothing is written for a null UUID.
+     *
+     * @param uuid The {@link UUID} object to serialize.
+     * @param ascii The array to write the {@link #TEXT_LENGTH} bytes to.
+     * @param offset The index of the first byte to write.
+     * @return Returns the index after the last byte written.
+     */
+    static int serialize(UUID uuid, byte[] ascii, int offset) {
+        if (uuid == null) {
+            return offset;
+        }
+        UuidHex.encode(uuid.getMsb(), uuid.getLsb(), ascii, offset);
+        return offset + TEXT_LENGTH;
+    }
+
+    /**
+     * Serialize a {@link UUID} to its binary form.
+     *
+     * @param uuid The {@link UUID} object to serialize, null is serialized as the default instance.
+     * @return Returns the {@link #BINARY_LENGTH} bytes of the UUID.
+     */
+    static byte[] serializeToBytes(UUID uuid) {
+        final byte[] bytes = new byte[BINARY_LENGTH];
+        serialize(uuid, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Serialize a {@link UUID} to its binary form at the position of a buffer, the position is moved
+     * after the UUID.
+     *
+     * @param uuid The {@link UUID} object to serialize, null is serialized as the default instance.
+     * @param buffer The buffer to write to, the bytes are big endian whatever the order of the buffer.
+     * @throws BufferOverflowException if fewer than {@link #BINARY_LENGTH} bytes remain, nothing is
+     *         written then.
+     */
+    static void serialize(UUID uuid, ByteBuffer buffer) {
+        if (buffer.remaining() < BINARY_LENGTH) {
+            throw new BufferOverflowException();
+        }
+        final UUID value = uuid == null ? UUID.getDefaultInstance() : uuid;
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        buffer.putLong(bigEndian ? value.getMsb() : Long.reverseBytes(value.getMsb()))
+            .putLong(bigEndian ? value.getLsb() : Long.reverseBytes(value.getLsb()));
+    }
+
+    private static UUID deserializeLenient(String text) {
+        if (text.isBlank()) {
+            return UUID.getDefaultInstance();
+        }
+        try {
+            java.util.UUID uuidJava = java.util.UUID.fromString(text);
+            return UUID.newBuilder().setMsb(uuidJava.getMostSignificantBits())
+                    .setLsb(uuidJava.getLeastSignificantBits()).build();
+        } catch (IllegalArgumentException e) {
+            return UUID.getDefaultInstance();
+        }
     }
 }
@@ -56,7 +56,17 @@ public abstract class UuidValidator {
         }
     }
 
+    /**
+     * Validate the version, variant and time of a UUID.
+     *
+     * @param uuid The UUID to validate.
+     * @return Returns {@link ValidationResult#STATUS_SUCCESS} if the UUID is valid, or a status with
+     *         {@link UCode#INVALID_ARGUMENT} and the messages of all the failed checks.
+     */
     public UStatus validate(UUID uuid) {
+        if (isValid(uuid)) {
+            return ValidationResult.STATUS_SUCCESS;
+        }
         final String errorMessage = Stream.of(validateVersion(uuid),
                 validateVariant(uuid),
                 validateTime(uuid))
@@ -67,11 +77,22 @@ public abstract class UuidValidator {
                 : UStatus.newBuilder().setCode(UCode.INVALID_ARGUMENT).setMessage(errorMessage).build();
     }
 
+    /**
+     * Check a UUID without building the messages of the failed checks, the checks stop at the first
+     * failure.
+     *
+     * @param uuid The UUID to check.
+     * @return Returns true if the version, variant and time of the UUID are valid.
+     */
+    public boolean isValid(UUID uuid) {
+        return validateVersion(uuid).isSuccess() && validateVariant(uuid).isSuccess()
+                && validateTime(uuid).isSuccess();
+    }
+
     public abstract ValidationResult validateVersion(UUID uuid);
 
     public ValidationResult validateTime(UUID uuid) {
-        final Optional<Long> time = UuidUtils.getTime(uuid);
-        return time.isPresent() && (time.get() > 0) ? ValidationResult.success()
+        return UuidUtils.timeMillis(uuid) > 0 ? ValidationResult.success()
                 : ValidationResult.failure(String.format("Invalid UUID Time"));
     }
 
@@ -79,6 +100,11 @@ public abstract class UuidValidator {
 
     private static class InvalidValidator extends UuidValidator {
 
+        @Override
+        public boolean isValid(UUID uuid) {
+            return false;
+        }
+
         @Override
         public ValidationResult validateVersion(UUID uuid) {
             return ValidationResult.failure(String.format("Invalid UUID Version"));
@@ -91,6 +117,12 @@ public abstract class UuidValidator {
     }
 
     private static class UUIDv6Validator extends UuidValidator {
+        @Override
+        public boolean isValid(UUID uuid) {
+            // Version 6 of the RFC 4122 variant, which are the checks of validateVersion and validateVariant
+            return UuidUtils.isUuidv6(uuid) && UuidUtils.timeMillis(uuid) > 0;
+        }
+
         @Override
         public ValidationResult validateVersion(UUID uuid) {
             final Optional<UuidUtils.Version> version = UuidUtils.getVersion(uuid);
@@ -109,6 +141,11 @@ public abstract class UuidValidator {
     }
 
     private static class UUIDv7Validator extends UuidValidator {
+        @Override
+        public boolean isValid(UUID uuid) {
+            return UuidUtils.isUProtocol(uuid) && UuidUtils.timeMillis(uuid) > 0;
+        }
+
         @Override
         public ValidationResult validateVersion(UUID uuid) {
             final Optional<UuidUtils.Version> version = UuidUtils.getVersion(uuid);
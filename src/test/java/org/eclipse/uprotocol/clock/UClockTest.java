@@ -0,0 +1,108 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UClockTest {
+
+    @Test
+    @DisplayName("Test setting and advancing a manual clock")
+    public void test_manual_clock() {
+        ManualClock clock = new ManualClock(1000);
+        assertEquals(1000, clock.millis());
+        assertEquals(1500, clock.advance(500));
+        assertEquals(1400, clock.advance(-100));
+        clock.set(42);
+        assertEquals(42, clock.millis());
+        LongSupplier supplier = clock;
+        assertEquals(42, supplier.getAsLong());
+    }
+
+    @Test
+    @DisplayName("Test tasks scheduled on a manual clock run in order once it reaches their time")
+    public void test_manual_clock_schedule() {
+        ManualClock clock = new ManualClock(1000);
+        List<String> fired = new ArrayList<>();
+        clock.schedule(() -> fired.add("b"), 200);
+        clock.schedule(() -> fired.add("a"), 100);
+        clock.schedule(() -> fired.add("c"), 200);
+        clock.schedule(() -> fired.add("now"), 0);
+        assertEquals(List.of("now"), fired);
+
+        clock.advance(99);
+        assertEquals(List.of("now"), fired);
+        clock.advance(1);
+        assertEquals(List.of("now", "a"), fired);
+        clock.set(5000);
+        assertEquals(List.of("now", "a", "b", "c"), fired);
+        clock.set(0);
+        assertEquals(4, fired.size());
+    }
+
+    @Test
+    @DisplayName("Test the system clock")
+    public void test_system_clock() {
+        long before = System.currentTimeMillis();
+        long now = UClock.SYSTEM.millis();
+        assertTrue(now >= before && now <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Test a task scheduled on the system clock runs after its delay")
+    public void test_system_clock_schedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        UClock.SYSTEM.schedule(latch::countDown, 20);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 20);
+    }
+
+    @Test
+    @DisplayName("Test a cached clock follows the system clock and reads it directly once closed")
+    public void test_cached_clock() throws InterruptedException {
+        try (CachedClock clock = new CachedClock(5)) {
+            assertEquals(5, clock.getInterval());
+            long first = clock.millis();
+            assertTrue(first <= System.currentTimeMillis());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (clock.millis() == first && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(clock.millis() > first);
+            clock.close();
+            long before = System.currentTimeMillis();
+            assertTrue(clock.millis() >= before);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CachedClock(0));
+    }
+
+    @Test
+    @DisplayName("Test the shared cached clock")
+    public void test_shared_cached_clock() {
+        assertSame(UClock.cached(), UClock.cached());
+        assertTrue(Math.abs(UClock.cached().millis() - System.currentTimeMillis()) < 1000);
+    }
+}
@@ -19,13 +19,18 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.CompletableFuture;
+import org.eclipse.uprotocol.clock.ManualClock;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
 import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.uuid.factory.UuidUtils;
 import org.eclipse.uprotocol.v1.UAttributes;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
@@ -94,6 +99,30 @@ public class InMemoryRpcClientTest {
     }
 
 
+    @Test
+    @DisplayName("Test a request times out when a manual clock is moved past its ttl")
+    public void testInvokeMethodTimeoutWithManualClock() {
+        final ManualClock clock = new ManualClock(1_700_000_000_000L);
+        final List<UMessage> sent = new ArrayList<>();
+        RpcClient rpcClient = new InMemoryRpcClient(new TimeoutUTransport() {
+            @Override
+            public CompletionStage<UStatus> send(UMessage message) {
+                sent.add(message);
+                return super.send(message);
+            }
+        }, clock);
+        final CompletableFuture<UPayload> response = rpcClient.invokeMethod(createMethodUri(), null,
+            new CallOptions(60_000, UPriority.UPRIORITY_CS5)).toCompletableFuture();
+
+        assertEquals(clock.millis(), UuidUtils.timeMillis(sent.get(0).getAttributes().getId()));
+        clock.advance(59_999);
+        assertFalse(response.isDone());
+        clock.advance(1);
+        Exception exception = assertThrows(ExecutionException.class, response::get);
+        assertEquals(UCode.DEADLINE_EXCEEDED, ((UStatusException) exception.getCause()).getCode());
+    }
+
+
     @Test
     @DisplayName("Test calling close for DefaultRpcClient when there are multiple response listeners registered")
     public void testCloseWithMultipleListeners() {
@@ -173,6 +202,28 @@ public class InMemoryRpcClientTest {
     }
 
 
+    @Test
+    @DisplayName("Test calling handleResponse when it gets a response that has expired")
+    public void testHandleResponseThatHasExpired() {
+        UTransport transport = new TestUTransport() {
+            @Override
+            public UMessage buildResponse(UMessage request) {
+                UMessage response = UMessageBuilder.response(request.getAttributes()).build();
+                return response.toBuilder().setAttributes(response.getAttributes().toBuilder().setTtl(100)
+                    .setId(UuidFactory.Factories.UPROTOCOL.factory().create(Instant.now().minusSeconds(10))))
+                    .build();
+            }
+        };
+
+        InMemoryRpcClient rpcClient = new InMemoryRpcClient(transport);
+
+        CallOptions options = new CallOptions(10, UPriority.UPRIORITY_CS5);
+        CompletionStage<UPayload> response = rpcClient.invokeMethod(createMethodUri(), null, options);
+        assertThrows(ExecutionException.class, () -> response.toCompletableFuture().get());
+        assertEquals(1, rpcClient.getExpiryInterceptor().getExpiredCount(createMethodUri()));
+    }
+
+
     @Test
     @DisplayName("Test calling handleResponse when it gets a message that is not a response")
     public void testHandleResponseForNonResponseMessage() {
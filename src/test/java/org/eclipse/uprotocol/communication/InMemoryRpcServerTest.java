@@ -15,11 +15,22 @@ package org.eclipse.uprotocol.communication;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.uprotocol.clock.ManualClock;
+import org.eclipse.uprotocol.transport.LocalUTransport;
 import org.eclipse.uprotocol.transport.UTransport;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.dispatch.PriorityExecutor;
+import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.uuid.factory.UuidUtils;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPriority;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 import org.junit.jupiter.api.DisplayName;
@@ -463,6 +474,103 @@ public class InMemoryRpcServerTest {
         });
     }
 
+    @Test
+    @DisplayName("Test handling requests on an executor with the priority of the request")
+    public void test_handleRequests_with_priority_executor() {
+        List<UPriority> priorities = new ArrayList<>();
+        PriorityExecutor executor = (priority, command) -> {
+            priorities.add(priority);
+            command.run();
+        };
+        LocalUTransport transport = new LocalUTransport(createMethodUri().toBuilder().setResourceId(0).build(),
+            Runnable::run);
+        LocalUTransport client = transport.attach(UUri.newBuilder().setAuthorityName("Hartley").setUeId(5)
+            .setUeVersionMajor(1).build());
+        List<UMessage> responses = new ArrayList<>();
+        client.registerListener(createMethodUri(), client.getSource(), responses::add);
+
+        RpcServer server = new InMemoryRpcServer(transport, executor);
+        server.registerRequestHandler(createMethodUri(), request -> UPayload.EMPTY);
+        client.send(UMessageBuilder.request(client.getSource(), createMethodUri(), 1000)
+            .withPriority(UPriority.UPRIORITY_CS5).build());
+
+        assertEquals(List.of(UPriority.UPRIORITY_CS5), priorities);
+        assertEquals(1, responses.size());
+        assertEquals(UCode.OK, responses.get(0).getAttributes().getCommstatus());
+    }
+
+    @Test
+    @DisplayName("Test handling requests when the executor rejects the request")
+    public void test_handleRequests_with_rejecting_executor() {
+        LocalUTransport transport = new LocalUTransport(createMethodUri().toBuilder().setResourceId(0).build(),
+            Runnable::run);
+        LocalUTransport client = transport.attach(UUri.newBuilder().setAuthorityName("Hartley").setUeId(5)
+            .setUeVersionMajor(1).build());
+        List<UMessage> responses = new ArrayList<>();
+        client.registerListener(createMethodUri(), client.getSource(), responses::add);
+
+        RpcServer server = new InMemoryRpcServer(transport, command -> {
+            throw new RejectedExecutionException();
+        });
+        server.registerRequestHandler(createMethodUri(), request -> {
+            throw new UnsupportedOperationException("this should not be called");
+        });
+        client.send(UMessageBuilder.request(client.getSource(), createMethodUri(), 1000).build());
+
+        assertEquals(1, responses.size());
+        assertEquals(UCode.RESOURCE_EXHAUSTED, responses.get(0).getAttributes().getCommstatus());
+    }
+
+    @Test
+    @DisplayName("Test expired requests are discarded before reaching the handler")
+    public void test_handleRequests_discards_expired_requests() {
+        LocalUTransport transport = new LocalUTransport(createMethodUri().toBuilder().setResourceId(0).build(),
+            Runnable::run);
+        LocalUTransport client = transport.attach(UUri.newBuilder().setAuthorityName("Hartley").setUeId(5)
+            .setUeVersionMajor(1).build());
+        List<UMessage> responses = new ArrayList<>();
+        client.registerListener(createMethodUri(), client.getSource(), responses::add);
+
+        InMemoryRpcServer server = new InMemoryRpcServer(transport);
+        server.registerRequestHandler(createMethodUri(), request -> UPayload.EMPTY);
+        UMessage request = UMessageBuilder.request(client.getSource(), createMethodUri(), 1000).build();
+        client.send(request.toBuilder().setAttributes(request.getAttributes().toBuilder()
+            .setId(UuidFactory.Factories.UPROTOCOL.factory().create(Instant.now().minusSeconds(10)))).build());
+
+        assertEquals(0, responses.size());
+        assertEquals(1, server.getExpiryInterceptor().getExpiredCount(createMethodUri()));
+
+        client.send(UMessageBuilder.request(client.getSource(), createMethodUri(), 1000).build());
+        assertEquals(1, responses.size());
+    }
+
+    @Test
+    @DisplayName("Test the expiry of requests follows the clock of the server")
+    public void test_handleRequests_with_manual_clock() {
+        LocalUTransport transport = new LocalUTransport(createMethodUri().toBuilder().setResourceId(0).build(),
+            Runnable::run);
+        LocalUTransport client = transport.attach(UUri.newBuilder().setAuthorityName("Hartley").setUeId(5)
+            .setUeVersionMajor(1).build());
+        List<UMessage> responses = new ArrayList<>();
+        client.registerListener(createMethodUri(), client.getSource(), responses::add);
+
+        ManualClock clock = new ManualClock(1_700_000_000_000L);
+        InMemoryRpcServer server = new InMemoryRpcServer(transport, null, clock);
+        server.registerRequestHandler(createMethodUri(), request -> UPayload.EMPTY);
+        UMessage request = UMessageBuilder.request(client.getSource(), createMethodUri(), 1000)
+            .withClock(clock).build();
+
+        clock.advance(1000);
+        client.send(request);
+        assertEquals(1, responses.size());
+        assertEquals(clock.millis(), UuidUtils.timeMillis(responses.get(0).getAttributes().getId()));
+
+        clock.advance(1);
+        client.send(request);
+        assertEquals(1, responses.size());
+        assertEquals(1, server.getExpiryInterceptor().getExpiredCount(createMethodUri()));
+    }
+
     
     // Helper method to create a UUri that matches that of the default TestUTransport
     private UUri createMethodUri() {
@@ -15,8 +15,14 @@ package org.eclipse.uprotocol.communication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.uprotocol.transport.BatchStatus;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
@@ -99,6 +105,29 @@ public class SimpleNotifierTest {
     }
 
 
+    @Test
+    @DisplayName("Test sending a batch of notifications")
+    public void testNotifyBatch() {
+        UUri uri = UUri.newBuilder().setAuthorityName("Hartley").build();
+        SimpleNotifier notifier = new SimpleNotifier(new TestUTransport());
+        CompletionStage<BatchStatus> result = notifier.notifyBatch(createTopic(), createDestinationUri(),
+            CallOptions.DEFAULT, Arrays.asList(UPayload.pack(uri), null));
+        assertTrue(result.toCompletableFuture().join().isSuccess());
+    }
+
+    @Test
+    @DisplayName("Test sending a batch of notifications when the transport fails")
+    public void testNotifyBatchWithErrorTransport() {
+        SimpleNotifier notifier = new SimpleNotifier(new ErrorUTransport());
+        BatchStatus result = notifier.notifyBatch(createTopic(), createDestinationUri(), null,
+            List.of(UPayload.EMPTY)).toCompletableFuture().join();
+        assertEquals(result.status().getCode(), UCode.FAILED_PRECONDITION);
+        assertEquals(result.failures().keySet(), Set.of(0));
+        assertThrows(NullPointerException.class,
+            () -> notifier.notifyBatch(createTopic(), createDestinationUri(), null, null));
+    }
+
+
     private UUri createTopic() {
         return UUri.newBuilder()
             .setAuthorityName("hartley")
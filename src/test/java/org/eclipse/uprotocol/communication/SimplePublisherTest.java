@@ -14,8 +14,12 @@
 package org.eclipse.uprotocol.communication;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.uprotocol.transport.BatchStatus;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
@@ -57,6 +61,27 @@ public class SimplePublisherTest {
         CompletionStage<UStatus> result = publisher.publish(createTopic(), CallOptions.DEFAULT, UPayload.pack(uri));
         assertEquals(result.toCompletableFuture().join().getCode(), UCode.OK);
     }
+
+    @Test
+    @DisplayName("Test publishing a batch of messages")
+    public void testPublishBatch() {
+        UUri uri = UUri.newBuilder().setAuthorityName("Hartley").build();
+        SimplePublisher publisher = new SimplePublisher(new TestUTransport());
+        CompletionStage<BatchStatus> result = publisher.publishBatch(createTopic(), CallOptions.DEFAULT,
+            List.of(UPayload.pack(uri), UPayload.pack(uri), UPayload.EMPTY));
+        assertTrue(result.toCompletableFuture().join().isSuccess());
+    }
+
+    @Test
+    @DisplayName("Test publishing a batch of messages when the transport fails")
+    public void testPublishBatchWithErrorTransport() {
+        SimplePublisher publisher = new SimplePublisher(new ErrorUTransport());
+        BatchStatus result = publisher.publishBatch(createTopic(), null, List.of(UPayload.EMPTY, UPayload.EMPTY))
+            .toCompletableFuture().join();
+        assertEquals(result.status().getCode(), UCode.FAILED_PRECONDITION);
+        assertEquals(result.failures().size(), 2);
+        assertThrows(NullPointerException.class, () -> publisher.publishBatch(createTopic(), null, null));
+    }
    
     private UUri createTopic() {
         return UUri.newBuilder()
@@ -14,6 +14,9 @@ package org.eclipse.uprotocol.communication;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UUri;
@@ -40,6 +43,12 @@ public class UClientTest {
         assertDoesNotThrow(() -> 
             client.publish(createTopic()).toCompletableFuture().get());
 
+        assertDoesNotThrow(() ->
+            client.publishBatch(createTopic(), null, List.of(UPayload.EMPTY)).toCompletableFuture().get());
+
+        assertDoesNotThrow(() -> client.notifyBatch(createTopic(), createDestinationUri(), null,
+            List.of(UPayload.EMPTY)).toCompletableFuture().get());
+
         assertDoesNotThrow(() ->
             client.invokeMethod(createMethodUri(), null, null).toCompletableFuture().get());
 
@@ -0,0 +1,257 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.uprotocol.communication.InMemoryRpcClient;
+import org.eclipse.uprotocol.communication.InMemoryRpcServer;
+import org.eclipse.uprotocol.communication.SimplePublisher;
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.BackpressureUTransport.OverflowPolicy;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BackpressureUTransportTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri OTHER_TOPIC = SOURCE.toBuilder().setResourceId(0x8001).build();
+    private static final UStatus OK = UStatus.newBuilder().setCode(UCode.OK).build();
+
+    @Test
+    @DisplayName("Test messages wait for a global credit and are sent when one is returned")
+    public void test_wait_for_global_credits() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 2, 10, 10, OverflowPolicy.WAIT);
+
+        CompletionStage<UStatus> first = transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.send(UMessageBuilder.publish(OTHER_TOPIC).build());
+        CompletionStage<UStatus> third = transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(2, delegate.sent.size());
+        assertEquals(2, transport.getInFlightCount());
+        assertEquals(1, transport.getQueuedCount());
+
+        delegate.complete(0, OK);
+        assertEquals(UCode.OK, first.toCompletableFuture().join().getCode());
+        assertEquals(3, delegate.sent.size());
+        assertFalse(third.toCompletableFuture().isDone());
+
+        delegate.complete(2, OK);
+        assertEquals(UCode.OK, third.toCompletableFuture().join().getCode());
+        assertEquals(0, transport.getQueuedCount());
+        assertEquals(1, transport.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Test a topic without credits does not block the other topics")
+    public void test_topic_credits() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 10, 1, 10, OverflowPolicy.WAIT);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        UMessage queued = UMessageBuilder.publish(TOPIC).build();
+        transport.send(queued);
+        transport.send(UMessageBuilder.publish(OTHER_TOPIC).build());
+        assertEquals(2, delegate.sent.size());
+        assertEquals(OTHER_TOPIC, delegate.sent.get(1).getAttributes().getSource());
+
+        delegate.complete(0, OK);
+        assertEquals(queued, delegate.sent.get(2));
+    }
+
+    @Test
+    @DisplayName("Test the messages of a topic are sent in order")
+    public void test_topic_order() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 100, OverflowPolicy.WAIT);
+        List<UMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UMessage message = UMessageBuilder.publish(i % 2 == 0 ? TOPIC : OTHER_TOPIC).build();
+            messages.add(message);
+            transport.send(message);
+        }
+        for (int i = 0; i < 10; i++) {
+            delegate.complete(i, OK);
+        }
+        assertEquals(messages, delegate.sent);
+    }
+
+    @Test
+    @DisplayName("Test failing fast when there are no credits")
+    public void test_fail_fast() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 10, OverflowPolicy.FAIL_FAST);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        UStatus status = transport.send(UMessageBuilder.publish(OTHER_TOPIC).build()).toCompletableFuture().join();
+        assertEquals(UCode.RESOURCE_EXHAUSTED, status.getCode());
+        assertEquals(1, delegate.sent.size());
+
+        delegate.complete(0, OK);
+        assertFalse(transport.send(UMessageBuilder.publish(OTHER_TOPIC).build()).toCompletableFuture().isDone());
+        assertEquals(2, delegate.sent.size());
+    }
+
+    @Test
+    @DisplayName("Test messages are rejected when the queue is full")
+    public void test_queue_full() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 2, OverflowPolicy.WAIT);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        UStatus status = transport.send(UMessageBuilder.publish(TOPIC).build()).toCompletableFuture().join();
+        assertEquals(UCode.RESOURCE_EXHAUSTED, status.getCode());
+        assertEquals(2, transport.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("Test a send that fails returns its credits and propagates the failure")
+    public void test_failed_send_returns_credits() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 10, OverflowPolicy.WAIT);
+
+        CompletionStage<UStatus> first = transport.send(UMessageBuilder.publish(TOPIC).build());
+        CompletionStage<UStatus> second = transport.send(UMessageBuilder.publish(TOPIC).build());
+        delegate.results.get(0).completeExceptionally(new IllegalStateException("boom"));
+        assertThrows(CompletionException.class, () -> first.toCompletableFuture().join());
+        assertEquals(2, delegate.sent.size());
+
+        delegate.results.get(1).completeExceptionally(new IllegalStateException("boom"));
+        assertThrows(CompletionException.class, () -> second.toCompletableFuture().join());
+        assertEquals(0, transport.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Test draining a long queue of sends that complete synchronously does not recurse")
+    public void test_drain_synchronous_sends() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 100_000, OverflowPolicy.WAIT);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        delegate.synchronous = true;
+        CompletionStage<UStatus> last = null;
+        for (int i = 0; i < 50_000; i++) {
+            last = transport.send(UMessageBuilder.publish(TOPIC).build());
+        }
+        delegate.complete(0, OK);
+        assertEquals(UCode.OK, last.toCompletableFuture().join().getCode());
+        assertEquals(50_001, delegate.sent.size());
+        assertEquals(0, transport.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Test closing the transport fails the queued messages")
+    public void test_close() {
+        PendingUTransport delegate = new PendingUTransport();
+        BackpressureUTransport transport = new BackpressureUTransport(delegate, 1, 1, 10, OverflowPolicy.WAIT);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        CompletionStage<UStatus> queued = transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.close();
+        assertEquals(UCode.UNAVAILABLE, queued.toCompletableFuture().join().getCode());
+        assertEquals(UCode.UNAVAILABLE,
+            transport.send(UMessageBuilder.publish(TOPIC).build()).toCompletableFuture().join().getCode());
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    @DisplayName("Test invalid constructor arguments")
+    public void test_invalid_arguments() {
+        UTransport delegate = new PendingUTransport();
+        assertThrows(NullPointerException.class, () -> new BackpressureUTransport(null, 1, 1, 1, OverflowPolicy.WAIT));
+        assertThrows(NullPointerException.class, () -> new BackpressureUTransport(delegate, 1, 1, 1, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BackpressureUTransport(delegate, 0, 1, 1, OverflowPolicy.WAIT));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BackpressureUTransport(delegate, 1, 0, 1, OverflowPolicy.WAIT));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BackpressureUTransport(delegate, 1, 1, -1, OverflowPolicy.WAIT));
+    }
+
+    @Test
+    @DisplayName("Test the communication layer works unchanged on top of the decorator")
+    public void test_with_communication_layer() {
+        LocalUTransport local = new LocalUTransport(SOURCE, Runnable::run);
+        UUri clientSource = UUri.newBuilder().setAuthorityName("local").setUeId(5).setUeVersionMajor(1).build();
+        UTransport server = new BackpressureUTransport(local, 4, 1, 16, OverflowPolicy.WAIT);
+        UTransport client = new BackpressureUTransport(local.attach(clientSource), 4, 1, 16, OverflowPolicy.WAIT);
+        UUri method = SOURCE.toBuilder().setResourceId(3).build();
+
+        new InMemoryRpcServer(server).registerRequestHandler(method, request -> UPayload.EMPTY);
+        UPayload response = new InMemoryRpcClient(client).invokeMethod(method, UPayload.EMPTY, null)
+            .toCompletableFuture().join();
+        assertTrue(response.data().isEmpty());
+
+        assertEquals(UCode.OK, new SimplePublisher(server).publish(TOPIC).toCompletableFuture().join().getCode());
+    }
+
+    /**
+     * Transport whose sends complete when the test completes them.
+     */
+    private static class PendingUTransport implements UTransport {
+        final List<UMessage> sent = new ArrayList<>();
+        final List<CompletableFuture<UStatus>> results = new ArrayList<>();
+        boolean synchronous;
+        boolean closed;
+
+        void complete(int index, UStatus status) {
+            results.get(index).complete(status);
+        }
+
+        @Override
+        public CompletionStage<UStatus> send(UMessage message) {
+            sent.add(message);
+            CompletableFuture<UStatus> result = synchronous
+                ? CompletableFuture.completedFuture(OK) : new CompletableFuture<>();
+            results.add(result);
+            return result;
+        }
+
+        @Override
+        public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+            return CompletableFuture.completedFuture(OK);
+        }
+
+        @Override
+        public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+            return CompletableFuture.completedFuture(OK);
+        }
+
+        @Override
+        public UUri getSource() {
+            return SOURCE;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
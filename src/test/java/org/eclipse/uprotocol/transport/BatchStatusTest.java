@@ -0,0 +1,101 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.uprotocol.communication.UStatusException;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BatchStatusTest {
+    private static final UStatus OK = UStatus.newBuilder().setCode(UCode.OK).build();
+
+    @Test
+    @DisplayName("Test building a batch status without failures")
+    public void test_of_without_failures() {
+        assertSame(BatchStatus.success(), BatchStatus.of(3, null));
+        assertSame(BatchStatus.success(), BatchStatus.of(3, Map.of()));
+        assertTrue(BatchStatus.success().isSuccess());
+        assertTrue(BatchStatus.success().failures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test building a batch status with failures uses the code of the first failure")
+    public void test_of_with_failures() {
+        BatchStatus status = BatchStatus.of(5, Map.of(
+            3, UStatus.newBuilder().setCode(UCode.INTERNAL).build(),
+            1, UStatus.newBuilder().setCode(UCode.UNAVAILABLE).build()));
+        assertFalse(status.isSuccess());
+        assertEquals(UCode.UNAVAILABLE, status.status().getCode());
+        assertEquals("2 of 5 messages failed", status.status().getMessage());
+        assertEquals(List.of(1, 3), List.copyOf(status.failures().keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> status.failures().clear());
+    }
+
+    @Test
+    @DisplayName("Test building a batch status for a batch that failed as a whole")
+    public void test_failure() {
+        BatchStatus status = BatchStatus.failure(UCode.INVALID_ARGUMENT, "Messages cannot be null");
+        assertEquals(UCode.INVALID_ARGUMENT, status.status().getCode());
+        assertEquals("Messages cannot be null", status.status().getMessage());
+        assertTrue(status.failures().isEmpty());
+        assertThrows(NullPointerException.class, () -> new BatchStatus(null, null));
+    }
+
+    @Test
+    @DisplayName("Test collecting the results of sends that complete later")
+    public void test_collect() {
+        List<CompletableFuture<UStatus>> sends = List.of(new CompletableFuture<>(), new CompletableFuture<>(),
+            new CompletableFuture<>(), new CompletableFuture<>());
+        CompletionStage<BatchStatus> result = BatchStatus.collect(sends.size(), sends::get);
+
+        sends.get(0).complete(OK);
+        sends.get(2).completeExceptionally(new UStatusException(UCode.DEADLINE_EXCEEDED, "Timed out"));
+        assertFalse(result.toCompletableFuture().isDone());
+        sends.get(3).completeExceptionally(new IllegalStateException("boom"));
+        sends.get(1).complete(UStatus.newBuilder().setCode(UCode.UNAVAILABLE).build());
+
+        BatchStatus status = result.toCompletableFuture().join();
+        assertEquals(UCode.UNAVAILABLE, status.status().getCode());
+        assertEquals(UCode.DEADLINE_EXCEEDED, status.failures().get(2).getCode());
+        assertEquals(UCode.INTERNAL, status.failures().get(3).getCode());
+        assertEquals(3, status.failures().size());
+    }
+
+    @Test
+    @DisplayName("Test collecting when the sender throws or the batch is empty")
+    public void test_collect_sender_throws_and_empty() {
+        BatchStatus status = BatchStatus.collect(2, index -> {
+            if (index == 1) {
+                throw new IllegalArgumentException("bad message");
+            }
+            return CompletableFuture.completedFuture(OK);
+        }).toCompletableFuture().join();
+        assertEquals(UCode.INTERNAL, status.status().getCode());
+        assertEquals("bad message", status.failures().get(1).getMessage());
+
+        assertSame(BatchStatus.success(), BatchStatus.collect(0, index -> null).toCompletableFuture().join());
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Publish throughput of {@link LocalUTransport}, run with {@code mvn -P benchmark test -Dbenchmark=LocalUTransport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalUTransportBenchmark {
+    private static final UUri SOURCE = UUri.newBuilder().setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+
+    @Param({"1", "16"})
+    public int listeners;
+
+    private final LongAdder received = new LongAdder();
+    private ThreadPoolExecutor executor;
+    private LocalUTransport direct;
+    private LocalUTransport pooled;
+    private UMessage message;
+
+    @Setup
+    public void setup() {
+        executor = LocalUTransport.newDispatchExecutor(Runtime.getRuntime().availableProcessors(),
+            LocalUTransport.DEFAULT_QUEUE_CAPACITY);
+        direct = new LocalUTransport(SOURCE, Runnable::run);
+        pooled = new LocalUTransport(SOURCE, executor);
+        for (int i = 0; i < listeners; i++) {
+            UUri topic = TOPIC.toBuilder().setResourceId(0x8000 + i).build();
+            direct.registerListener(topic, m -> received.increment());
+            pooled.registerListener(topic, m -> received.increment());
+        }
+        message = UMessageBuilder.publish(TOPIC).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishDirect(Blackhole blackhole) {
+        blackhole.consume(direct.send(message));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishPooled(Blackhole blackhole) {
+        blackhole.consume(pooled.send(message));
+    }
+}
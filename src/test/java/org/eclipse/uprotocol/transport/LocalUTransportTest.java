@@ -0,0 +1,440 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.uprotocol.communication.InMemoryRpcClient;
+import org.eclipse.uprotocol.communication.InMemoryRpcServer;
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.dispatch.DispatchMode;
+import org.eclipse.uprotocol.transport.dispatch.PriorityExecutor;
+import org.eclipse.uprotocol.transport.dispatch.VirtualThreads;
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayloadFormat;
+import org.eclipse.uprotocol.v1.UPriority;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+public class LocalUTransportTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri OTHER_TOPIC = SOURCE.toBuilder().setResourceId(0x8001).build();
+
+    @Test
+    @DisplayName("Test publishing a message to a listener registered for the topic")
+    public void test_publish_to_registered_listener() throws InterruptedException {
+        LocalUTransport transport = new LocalUTransport(SOURCE);
+        CountDownLatch latch = new CountDownLatch(1);
+        assertEquals(UCode.OK, transport.registerListener(TOPIC, message -> latch.countDown())
+            .toCompletableFuture().join().getCode());
+
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test transports created with the default pool share its threads")
+    public void test_default_pool_is_shared() throws InterruptedException {
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        int count = 4 * Runtime.getRuntime().availableProcessors();
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            LocalUTransport transport = new LocalUTransport(SOURCE);
+            transport.registerListener(TOPIC, message -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+            transport.send(UMessageBuilder.publish(TOPIC).build());
+            transport.close();
+        }
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(threads.size() <= Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @DisplayName("Test that only the listeners with a matching filter are called")
+    public void test_only_matching_listeners_are_called() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger topic = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        AtomicInteger any = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> topic.incrementAndGet());
+        transport.registerListener(OTHER_TOPIC, message -> other.incrementAndGet());
+        transport.registerListener(UriFactory.ANY, message -> any.incrementAndGet());
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+
+        assertEquals(2, topic.get());
+        assertEquals(0, other.get());
+        assertEquals(2, any.get());
+    }
+
+    @Test
+    @DisplayName("Test sending a notification to a listener registered on an attached transport")
+    public void test_notification_to_attached_transport() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        UUri destination = UUri.newBuilder().setAuthorityName("local").setUeId(5).setUeVersionMajor(1).build();
+        LocalUTransport receiver = transport.attach(destination);
+        AtomicInteger count = new AtomicInteger();
+        receiver.registerListener(TOPIC, receiver.getSource(), message -> count.incrementAndGet());
+
+        transport.send(UMessageBuilder.notification(TOPIC, destination).build());
+        transport.send(UMessageBuilder.notification(TOPIC, SOURCE).build());
+
+        assertEquals(1, count.get());
+        assertEquals(destination, receiver.getSource());
+    }
+
+    @Test
+    @DisplayName("Test invoking a method between two attached transports")
+    public void test_rpc_between_attached_transports() {
+        LocalUTransport serverTransport = new LocalUTransport(SOURCE);
+        LocalUTransport clientTransport = serverTransport.attach(
+            UUri.newBuilder().setAuthorityName("local").setUeId(5).setUeVersionMajor(1).build());
+        UUri method = SOURCE.toBuilder().setResourceId(3).build();
+
+        InMemoryRpcServer server = new InMemoryRpcServer(serverTransport);
+        assertEquals(UCode.OK, server.registerRequestHandler(method, request ->
+            UPayload.pack(request.getPayload(), request.getAttributes().getPayloadFormat()))
+            .toCompletableFuture().join().getCode());
+
+        InMemoryRpcClient client = new InMemoryRpcClient(clientTransport);
+        UPayload request = UPayload.pack(ByteString.copyFromUtf8("hello"), UPayloadFormat.UPAYLOAD_FORMAT_TEXT);
+        UPayload response = client.invokeMethod(method, request, null).toCompletableFuture().join();
+        assertEquals(request, response);
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Test unregistering a listener")
+    public void test_unregister_listener() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        UListener listener = message -> count.incrementAndGet();
+        transport.registerListener(TOPIC, listener);
+        assertEquals(UCode.OK, transport.unregisterListener(TOPIC, listener).toCompletableFuture().join().getCode());
+        assertEquals(UCode.NOT_FOUND,
+            transport.unregisterListener(TOPIC, listener).toCompletableFuture().join().getCode());
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    @DisplayName("Test registering the same listener twice only calls it once")
+    public void test_register_listener_twice() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        UListener listener = message -> count.incrementAndGet();
+        transport.registerListener(TOPIC, listener);
+        transport.registerListener(TOPIC, listener);
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    @DisplayName("Test closing a transport only removes its own listeners")
+    public void test_close_removes_own_listeners() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        LocalUTransport other = transport.attach(SOURCE);
+        AtomicInteger mine = new AtomicInteger();
+        AtomicInteger theirs = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> mine.incrementAndGet());
+        other.registerListener(TOPIC, message -> theirs.incrementAndGet());
+
+        transport.close();
+        other.send(UMessageBuilder.publish(TOPIC).build());
+
+        assertEquals(0, mine.get());
+        assertEquals(1, theirs.get());
+    }
+
+    @Test
+    @DisplayName("Test a listener throwing an exception does not prevent the other listeners from being called")
+    public void test_listener_exception() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> {
+            throw new IllegalStateException("boom");
+        });
+        transport.registerListener(TOPIC, message -> count.incrementAndGet());
+
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    @DisplayName("Test sending invalid messages")
+    public void test_send_invalid_message() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(null).toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT,
+            transport.send(UMessage.getDefaultInstance()).toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test registering and unregistering a null listener")
+    public void test_null_listener() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        assertEquals(UCode.INVALID_ARGUMENT,
+            transport.registerListener(TOPIC, null).toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT,
+            transport.unregisterListener(TOPIC, null).toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test constructing with a null source or executor")
+    public void test_constructor_null_arguments() {
+        assertThrows(NullPointerException.class, () -> new LocalUTransport(null));
+        assertThrows(NullPointerException.class, () -> new LocalUTransport(SOURCE, null));
+    }
+
+    @Test
+    @DisplayName("Test sending when the dispatch executor is full")
+    public void test_send_when_dispatch_is_full() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, task -> {
+            throw new RejectedExecutionException();
+        });
+        transport.registerListener(TOPIC, message -> { });
+        assertEquals(UCode.RESOURCE_EXHAUSTED, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test sending without any registered listener does not dispatch")
+    public void test_send_without_listeners() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, task -> {
+            throw new RejectedExecutionException();
+        });
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test sending a batch delivers the messages in order with a single dispatch task")
+    public void test_send_batch() {
+        AtomicInteger tasks = new AtomicInteger();
+        LocalUTransport transport = new LocalUTransport(SOURCE, task -> {
+            tasks.incrementAndGet();
+            task.run();
+        });
+        List<UMessage> received = new ArrayList<>();
+        transport.registerListener(TOPIC, received::add);
+        transport.registerListener(OTHER_TOPIC, received::add);
+
+        List<UMessage> batch = List.of(UMessageBuilder.publish(TOPIC).build(),
+            UMessageBuilder.publish(OTHER_TOPIC).build(), UMessageBuilder.publish(TOPIC).build());
+        BatchStatus status = transport.sendBatch(batch).toCompletableFuture().join();
+
+        assertTrue(status.isSuccess());
+        assertEquals(1, tasks.get());
+        assertEquals(batch, received);
+    }
+
+    @Test
+    @DisplayName("Test sending a batch with invalid messages")
+    public void test_send_batch_with_invalid_messages() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> count.incrementAndGet());
+
+        List<UMessage> batch = Arrays.asList(UMessageBuilder.publish(TOPIC).build(), null,
+            UMessage.getDefaultInstance(), UMessageBuilder.publish(TOPIC).build());
+        BatchStatus status = transport.sendBatch(batch).toCompletableFuture().join();
+
+        assertEquals(UCode.INVALID_ARGUMENT, status.status().getCode());
+        assertEquals(Set.of(1, 2), status.failures().keySet());
+        assertEquals(2, count.get());
+        assertEquals(UCode.INVALID_ARGUMENT,
+            transport.sendBatch(null).toCompletableFuture().join().status().getCode());
+        assertTrue(transport.sendBatch(List.of()).toCompletableFuture().join().isSuccess());
+    }
+
+    @Test
+    @DisplayName("Test sending a batch when the dispatch executor is full")
+    public void test_send_batch_when_dispatch_is_full() {
+        LocalUTransport transport = new LocalUTransport(SOURCE, task -> {
+            throw new RejectedExecutionException();
+        });
+        transport.registerListener(TOPIC, message -> { });
+
+        BatchStatus status = transport.sendBatch(List.of(UMessageBuilder.publish(TOPIC).build(),
+            UMessageBuilder.publish(OTHER_TOPIC).build())).toCompletableFuture().join();
+        assertEquals(UCode.RESOURCE_EXHAUSTED, status.status().getCode());
+        assertEquals(Set.of(0), status.failures().keySet());
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(OTHER_TOPIC).build())
+            .toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test messages are dispatched with their priority on a PriorityExecutor")
+    public void test_send_with_priority_executor() {
+        List<UPriority> priorities = new ArrayList<>();
+        PriorityExecutor executor = (priority, command) -> {
+            priorities.add(priority);
+            command.run();
+        };
+        LocalUTransport transport = new LocalUTransport(SOURCE, executor);
+        transport.registerListener(TOPIC, message -> { });
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        transport.send(UMessageBuilder.publish(TOPIC).withPriority(UPriority.UPRIORITY_CS6).build());
+        transport.sendBatch(List.of(UMessageBuilder.publish(TOPIC).withPriority(UPriority.UPRIORITY_CS2).build(),
+            UMessageBuilder.publish(TOPIC).withPriority(UPriority.UPRIORITY_CS4).build(),
+            UMessageBuilder.publish(OTHER_TOPIC).withPriority(UPriority.UPRIORITY_CS5).build()));
+
+        assertEquals(List.of(UPriority.UPRIORITY_CS1, UPriority.UPRIORITY_CS6, UPriority.UPRIORITY_CS4), priorities);
+    }
+
+    @Test
+    @DisplayName("Test a blocking listener does not delay the other listeners with per listener dispatch")
+    public void test_per_listener_dispatch() throws InterruptedException {
+        ExecutorService executor = VirtualThreads.newExecutor("test-dispatch");
+        LocalUTransport transport = new LocalUTransport(SOURCE, executor, DispatchMode.PER_LISTENER);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(1);
+        transport.registerListener(TOPIC, message -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        transport.registerListener(TOPIC, message -> received.countDown());
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertTrue(received.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test per topic dispatch keeps the order of a topic while a blocked topic does not stall others")
+    public void test_per_topic_dispatch() throws InterruptedException {
+        ExecutorService executor = VirtualThreads.newExecutor("test-dispatch");
+        LocalUTransport transport = new LocalUTransport(SOURCE, executor, DispatchMode.PER_TOPIC);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch received = new CountDownLatch(100);
+        transport.registerListener(OTHER_TOPIC, message -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        transport.registerListener(TOPIC, message -> {
+            order.add(message.getAttributes().getTtl());
+            received.countDown();
+        });
+
+        transport.send(UMessageBuilder.publish(OTHER_TOPIC).build());
+        List<UMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UMessage message = UMessageBuilder.publish(TOPIC).withTtl(i + 1).build();
+            if (i < 50) {
+                transport.send(message);
+            } else {
+                batch.add(message);
+            }
+        }
+        assertEquals(UCode.OK, transport.sendBatch(batch).toCompletableFuture().join().status().getCode());
+
+        assertTrue(received.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, order.get(i).intValue());
+        }
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test a null dispatch mode is rejected")
+    public void test_null_dispatch_mode() {
+        assertThrows(NullPointerException.class, () -> new LocalUTransport(SOURCE, Runnable::run, null));
+    }
+
+    @Test
+    @DisplayName("Test publish throughput through the bounded dispatch pool")
+    public void test_publish_throughput() throws InterruptedException {
+        final int messages = 200_000;
+        ThreadPoolExecutor executor = LocalUTransport.newDispatchExecutor(4, 1024);
+        LocalUTransport transport = new LocalUTransport(SOURCE, executor);
+        AtomicInteger received = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> received.incrementAndGet());
+
+        int accepted = 0;
+        final UMessage message = UMessageBuilder.publish(TOPIC).build();
+        for (int i = 0; i < messages; i++) {
+            if (transport.send(message).toCompletableFuture().join().getCode() == UCode.OK) {
+                accepted++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(accepted > 0);
+        assertEquals(accepted, received.get());
+    }
+
+    @Test
+    @DisplayName("Test publish throughput from many threads without losing messages")
+    public void test_concurrent_publish_throughput() throws InterruptedException {
+        final int threads = 4;
+        final int messagesPerThread = 250_000;
+        LocalUTransport transport = new LocalUTransport(SOURCE, Runnable::run);
+        AtomicInteger received = new AtomicInteger();
+        transport.registerListener(TOPIC, message -> received.incrementAndGet());
+
+        final UMessage message = UMessageBuilder.publish(TOPIC).build();
+        Thread[] publishers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            publishers[t] = new Thread(() -> {
+                for (int i = 0; i < messagesPerThread; i++) {
+                    transport.send(message);
+                }
+            });
+            publishers[t].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        assertEquals(threads * messagesPerThread, received.get());
+    }
+}
@@ -12,12 +12,15 @@
  */
 package org.eclipse.uprotocol.transport;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
@@ -121,6 +124,30 @@ public class UTransportTest {
     }
     
 
+    @Test
+    @DisplayName("Test happy path default sendBatch() API")
+    public void test_happy_send_batch() {
+        UTransport transport = new HappyUTransport();
+        UUri uri = UUri.newBuilder().setUeId(1).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+        BatchStatus result = transport.sendBatch(List.of(UMessageBuilder.publish(uri).build(),
+            UMessageBuilder.publish(uri).build())).toCompletableFuture().join();
+        assertTrue(result.isSuccess());
+        assertTrue(result.failures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test unhappy path default sendBatch() API")
+    public void test_unhappy_send_batch() {
+        UTransport transport = new SadUTransport();
+
+        BatchStatus result = transport.sendBatch(Arrays.asList(null, null)).toCompletableFuture().join();
+        assertEquals(result.status().getCode(), UCode.INTERNAL);
+        assertEquals(result.failures().size(), 2);
+        assertEquals(transport.sendBatch(null).toCompletableFuture().join().status().getCode(),
+            UCode.INVALID_ARGUMENT);
+    }
+
     class MyListener implements UListener {
         @Override
         public void onReceive(UMessage message) {}
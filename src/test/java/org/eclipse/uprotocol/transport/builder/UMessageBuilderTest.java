@@ -12,6 +12,7 @@
  */
 package org.eclipse.uprotocol.transport.builder;
 
+import org.eclipse.uprotocol.clock.ManualClock;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UPriority;
 import org.eclipse.uprotocol.v1.UUri;
@@ -19,6 +20,7 @@ import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UMessageType;
 import org.eclipse.uprotocol.v1.UUID;
 import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.uuid.factory.UuidUtils;
 import org.eclipse.uprotocol.v1.UAttributes;
 
 import org.junit.jupiter.api.DisplayName;
@@ -312,6 +314,24 @@ public class UMessageBuilderTest {
     }
     
 
+    @Test
+    @DisplayName("Test the id is created with the builder, or from the clock when the message is first built")
+    public void testIdFromClock() {
+        UMessageBuilder builder = UMessageBuilder.publish(buildTopic());
+        UMessage first = builder.build();
+        assertEquals(first.getAttributes().getId(), builder.build().getAttributes().getId());
+        assertEquals(first.getAttributes().getId(), builder.withClock(new ManualClock(0)).build().getAttributes().getId());
+
+        ManualClock clock = new ManualClock(1_700_000_000_000L);
+        UMessageBuilder clocked = UMessageBuilder.publish(buildTopic()).withClock(clock);
+        clock.advance(1000);
+        UMessage message = clocked.build();
+        assertEquals(clock.millis(), UuidUtils.timeMillis(message.getAttributes().getId()));
+        clock.advance(1000);
+        assertEquals(message.getAttributes().getId(), clocked.build().getAttributes().getId());
+    }
+
+
     private UUri buildSource() {
         return UUri.newBuilder().setUeId(2).setUeVersionMajor(1).setResourceId(0).build();
     }
@@ -0,0 +1,123 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.transport.LocalUTransport;
+import org.eclipse.uprotocol.v1.UPriority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Latency of CS6 tasks while CS1 tasks saturate the dispatch threads, comparing a FIFO pool with
+ * {@link PriorityDispatcher}. Run with {@code mvn -P benchmark test -Dbenchmark=PriorityDispatcher},
+ * the sample time mode reports the p99 and p99.99 tail latencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriorityDispatcherBenchmark {
+    private static final int THREADS = 2;
+    private static final int FLOODERS = 2;
+    private static final int CAPACITY = 4096;
+
+    // A low priority task, roughly a few microseconds of work
+    private static final Runnable LOW_PRIORITY_TASK = () -> Blackhole.consumeCPU(2000);
+
+    @Param({"fifo", "strict", "weighted"})
+    public String scheduler;
+
+    private Executor executor;
+    private Thread[] flooders;
+    private volatile boolean running;
+
+    @Setup
+    public void setup() {
+        switch (scheduler) {
+            case "fifo":
+                executor = LocalUTransport.newDispatchExecutor(THREADS, CAPACITY);
+                break;
+            case "strict":
+                executor = new PriorityDispatcher(THREADS, CAPACITY, PriorityDispatcher.Scheduling.STRICT);
+                break;
+            default:
+                executor = new PriorityDispatcher(THREADS, CAPACITY, PriorityDispatcher.Scheduling.WEIGHTED);
+                break;
+        }
+
+        running = true;
+        flooders = new Thread[FLOODERS];
+        for (int i = 0; i < FLOODERS; i++) {
+            flooders[i] = new Thread(() -> {
+                while (running) {
+                    submit(UPriority.UPRIORITY_CS1, LOW_PRIORITY_TASK);
+                }
+            });
+            flooders[i].setDaemon(true);
+            flooders[i].start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread flooder : flooders) {
+            flooder.join();
+        }
+        if (executor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        } else if (executor instanceof PriorityDispatcher dispatcher) {
+            dispatcher.close();
+        }
+    }
+
+    @Benchmark
+    public Object highPriorityLatency() {
+        final CompletableFuture<Object> done = new CompletableFuture<>();
+        submit(UPriority.UPRIORITY_CS6, () -> done.complete(Boolean.TRUE));
+        return done.join();
+    }
+
+    /**
+     * Submit a task, retrying while the queue is full.
+     */
+    private void submit(UPriority priority, Runnable task) {
+        while (true) {
+            try {
+                PriorityExecutor.execute(executor, priority, task);
+                return;
+            } catch (RejectedExecutionException e) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.v1.UPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PriorityDispatcherTest {
+
+    @Test
+    @DisplayName("Test strict scheduling runs higher priority lanes first and each lane in order")
+    public void test_strict_scheduling() throws InterruptedException {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(1, 16, PriorityDispatcher.Scheduling.STRICT);
+        CountDownLatch blocked = block(dispatcher);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+
+        // CS0 is queued first so that it only runs last if it has a lane of its own below CS1
+        submit(dispatcher, UPriority.UPRIORITY_CS0, "cs0", order, done);
+        submit(dispatcher, UPriority.UPRIORITY_CS1, "cs1-a", order, done);
+        submit(dispatcher, UPriority.UPRIORITY_CS4, "cs4", order, done);
+        submit(dispatcher, UPriority.UPRIORITY_CS1, "cs1-b", order, done);
+        submit(dispatcher, UPriority.UPRIORITY_CS6, "cs6", order, done);
+        assertEquals(1, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS0));
+        assertEquals(2, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS1));
+        blocked.countDown();
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of("cs6", "cs4", "cs1-a", "cs1-b", "cs0"), order);
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Test weighted scheduling lets lower priority lanes make progress")
+    public void test_weighted_scheduling() throws InterruptedException {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(1, 16, new int[] {1, 1, 1, 1, 1, 1, 3});
+        CountDownLatch blocked = block(dispatcher);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(10);
+
+        for (int i = 0; i < 8; i++) {
+            submit(dispatcher, UPriority.UPRIORITY_CS6, "cs6", order, done);
+        }
+        submit(dispatcher, UPriority.UPRIORITY_CS1, "cs1", order, done);
+        submit(dispatcher, UPriority.UPRIORITY_CS1, "cs1", order, done);
+        blocked.countDown();
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        // The blocking task used the CS1 credit of the first round
+        assertEquals(List.of("cs6", "cs6", "cs6", "cs6", "cs6", "cs6", "cs1", "cs6", "cs6", "cs1"), order);
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Test a full lane rejects tasks without affecting other lanes and updates the metrics")
+    public void test_full_lane_and_metrics() throws InterruptedException {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(1, 2, PriorityDispatcher.Scheduling.WEIGHTED);
+        CountDownLatch blocked = block(dispatcher);
+        dispatcher.execute(UPriority.UPRIORITY_CS1, () -> { });
+        dispatcher.execute(UPriority.UPRIORITY_UNSPECIFIED, () -> { });
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.execute(() -> { }));
+        dispatcher.execute(UPriority.UPRIORITY_CS6, () -> { });
+
+        assertEquals(2, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS1));
+        assertEquals(1, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS6));
+        assertEquals(0, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS3));
+        assertEquals(1, dispatcher.getRejectedCount(UPriority.UPRIORITY_CS1));
+        assertEquals(0, dispatcher.getRejectedCount(UPriority.UPRIORITY_CS6));
+
+        blocked.countDown();
+        dispatcher.close();
+        dispatcher.awaitTermination(1000);
+        assertEquals(0, dispatcher.getQueueDepth(UPriority.UPRIORITY_CS1));
+        assertEquals(2, dispatcher.getMaxQueueDepth(UPriority.UPRIORITY_CS1));
+        assertEquals(3, dispatcher.getCompletedCount(UPriority.UPRIORITY_CS1));
+        assertEquals(1, dispatcher.getCompletedCount(UPriority.UPRIORITY_CS6));
+    }
+
+    @Test
+    @DisplayName("Test a failing task does not stop the worker and a closed dispatcher rejects tasks")
+    public void test_failing_task_and_close() throws InterruptedException {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(2, 16, PriorityDispatcher.Scheduling.STRICT);
+        CountDownLatch done = new CountDownLatch(1);
+        dispatcher.execute(UPriority.UPRIORITY_CS2, () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.execute(UPriority.UPRIORITY_CS2, done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        dispatcher.close();
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.execute(UPriority.UPRIORITY_CS2, () -> { }));
+        dispatcher.awaitTermination(1000);
+    }
+
+    @Test
+    @DisplayName("Test invalid constructor arguments")
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PriorityDispatcher(0, 16, PriorityDispatcher.Scheduling.STRICT));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PriorityDispatcher(1, 0, PriorityDispatcher.Scheduling.STRICT));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityDispatcher(1, 16, new int[] {1, 2}));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PriorityDispatcher(1, 16, new int[] {1, 1, 1, 0, 1, 1, 1}));
+        assertThrows(NullPointerException.class,
+            () -> new PriorityDispatcher(1, 16, (PriorityDispatcher.Scheduling) null));
+    }
+
+    @Test
+    @DisplayName("Test executing with a priority on an executor that is not a PriorityExecutor")
+    public void test_execute_on_plain_executor() {
+        List<String> order = new ArrayList<>();
+        PriorityExecutor.execute(Runnable::run, UPriority.UPRIORITY_CS6, () -> order.add("run"));
+        assertEquals(List.of("run"), order);
+    }
+
+    /**
+     * Occupy the single worker of the dispatcher until the returned latch is released.
+     */
+    private static CountDownLatch block(PriorityDispatcher dispatcher) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.execute(UPriority.UPRIORITY_CS1, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void submit(PriorityDispatcher dispatcher, UPriority priority, String name,
+            List<String> order, CountDownLatch done) {
+        dispatcher.execute(priority, () -> {
+            order.add(name);
+            done.countDown();
+        });
+    }
+}
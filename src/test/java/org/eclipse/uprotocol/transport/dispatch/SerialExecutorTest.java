@@ -0,0 +1,169 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.uprotocol.v1.UPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SerialExecutorTest {
+
+    @Test
+    @DisplayName("Test tasks of a key run one at a time and in order on a multi threaded executor")
+    public void test_tasks_of_a_key_run_in_order() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        SerialExecutor executor = new SerialExecutor(pool);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            executor.execute("key", () -> {
+                if (running.incrementAndGet() != 1) {
+                    overlaps.incrementAndGet();
+                }
+                order.add(value);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test a blocked key does not stall other keys and idle keys are forgotten")
+    public void test_keys_run_concurrently() throws InterruptedException {
+        ExecutorService pool = VirtualThreads.newExecutor("test-serial");
+        SerialExecutor executor = new SerialExecutor(pool);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("blocked", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute("blocked", done::countDown);
+        CountDownLatch other = new CountDownLatch(1);
+        executor.execute("other", other::countDown);
+
+        assertTrue(other.await(1, TimeUnit.SECONDS));
+        assertEquals(1, done.getCount());
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveKeyCount());
+    }
+
+    @Test
+    @DisplayName("Test a failing task does not stop the queue of its key")
+    public void test_failing_task() {
+        SerialExecutor executor = new SerialExecutor(Runnable::run);
+        List<String> order = new ArrayList<>();
+        executor.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute("key", () -> order.add("after"));
+        assertEquals(List.of("after"), order);
+        assertEquals(0, executor.getActiveKeyCount());
+    }
+
+    @Test
+    @DisplayName("Test a rejected task is dropped and the key can be used again")
+    public void test_rejected_task() {
+        AtomicInteger accepted = new AtomicInteger();
+        SerialExecutor executor = new SerialExecutor(task -> {
+            if (accepted.getAndIncrement() == 0) {
+                throw new RejectedExecutionException("full");
+            }
+            task.run();
+        });
+        List<String> order = new ArrayList<>();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute("key", () -> order.add("rejected")));
+        assertEquals(0, executor.getActiveKeyCount());
+
+        executor.execute("key", () -> order.add("accepted"));
+        assertEquals(List.of("accepted"), order);
+        assertThrows(NullPointerException.class, () -> executor.execute(null, () -> { }));
+    }
+
+    @Test
+    @DisplayName("Test a full key rejects new tasks while other keys still accept them")
+    public void test_full_key_is_rejected() {
+        List<Runnable> submitted = new ArrayList<>();
+        SerialExecutor executor = new SerialExecutor(submitted::add, 2);
+        List<String> order = new ArrayList<>();
+        executor.execute("key", () -> order.add("a"));
+        executor.execute("key", () -> order.add("b"));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute("key", () -> order.add("c")));
+        executor.execute("other", () -> order.add("other"));
+        assertEquals(2, executor.getCapacity());
+
+        // The first task leaves room for one more task of the key
+        submitted.remove(0).run();
+        executor.execute("key", () -> order.add("c"));
+        while (!submitted.isEmpty()) {
+            submitted.remove(0).run();
+        }
+        assertEquals(List.of("a", "other", "b", "c"), order);
+        assertEquals(0, executor.getActiveKeyCount());
+        assertThrows(IllegalArgumentException.class, () -> new SerialExecutor(Runnable::run, 0));
+    }
+
+    @Test
+    @DisplayName("Test each task of a key is submitted with its own priority")
+    public void test_priority_is_passed_through() {
+        List<UPriority> priorities = new ArrayList<>();
+        List<Runnable> submitted = new ArrayList<>();
+        PriorityExecutor priorityExecutor = (priority, command) -> {
+            priorities.add(priority);
+            submitted.add(command);
+        };
+        SerialExecutor executor = new SerialExecutor(priorityExecutor);
+        List<String> order = new ArrayList<>();
+        executor.execute("key", UPriority.UPRIORITY_CS2, () -> order.add("cs2"));
+        executor.execute("key", UPriority.UPRIORITY_CS6, () -> order.add("cs6"));
+        executor.execute("key", () -> order.add("cs1"));
+        while (!submitted.isEmpty()) {
+            submitted.remove(0).run();
+        }
+        assertEquals(List.of("cs2", "cs6", "cs1"), order);
+        assertEquals(List.of(UPriority.UPRIORITY_CS2, UPriority.UPRIORITY_CS6, UPriority.UPRIORITY_CS1), priorities);
+    }
+}
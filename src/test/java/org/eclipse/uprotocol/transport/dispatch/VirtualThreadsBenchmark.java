@@ -0,0 +1,109 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.transport.LocalUTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to deliver a message to many listeners that each block for a millisecond, as request handlers
+ * calling other services do, dispatching each listener on a pool of platform threads or on its own
+ * virtual thread. Run with {@code mvn -P benchmark test -Dbenchmark=VirtualThreads} on JDK 21 or later,
+ * on Java 17 the virtual thread case uses the platform thread fallback of {@link VirtualThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"100", "1000"})
+    public int handlers;
+
+    private ExecutorService executor;
+    private LocalUTransport transport;
+    private UMessage message;
+    private volatile CountDownLatch done;
+
+    @Setup
+    public void setup() {
+        executor = threads.equals("platform")
+            ? LocalUTransport.newDispatchExecutor(Runtime.getRuntime().availableProcessors(),
+                LocalUTransport.DEFAULT_QUEUE_CAPACITY)
+            : newVirtualExecutor();
+        transport = new LocalUTransport(SOURCE, executor, DispatchMode.PER_LISTENER);
+        for (int i = 0; i < handlers; i++) {
+            transport.registerListener(TOPIC, received -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        message = UMessageBuilder.publish(TOPIC).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transport.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void deliverToBlockingHandlers() throws InterruptedException {
+        done = new CountDownLatch(handlers);
+        transport.send(message);
+        done.await();
+    }
+
+    /**
+     * Benchmarks run from the class directories where the Java 21 classes of the multi-release
+     * JAR are not used, create the virtual thread executor directly when the JDK has one.
+     */
+    private static ExecutorService newVirtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return VirtualThreads.newExecutor("up-benchmark");
+        }
+    }
+}
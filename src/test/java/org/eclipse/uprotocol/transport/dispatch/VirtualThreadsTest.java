@@ -0,0 +1,88 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("Test the executor runs blocking tasks concurrently")
+    public void test_blocking_tasks_run_concurrently() throws InterruptedException {
+        ExecutorService executor = VirtualThreads.newExecutor("test-virtual");
+        int tasks = VirtualThreads.FALLBACK_THREADS;
+        CountDownLatch started = new CountDownLatch(tasks);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test the executor names its threads and does not keep the JVM alive")
+    public void test_thread_names() throws InterruptedException {
+        ExecutorService executor = VirtualThreads.newExecutor("test-virtual");
+        String[] name = new String[1];
+        boolean[] daemon = new boolean[1];
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name[0] = Thread.currentThread().getName();
+            daemon[0] = Thread.currentThread().isDaemon();
+            done.countDown();
+        });
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals("test-virtual-1", name[0]);
+        assertTrue(daemon[0]);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test virtual threads are used on Java 21 and later")
+    public void test_supported_from_java_21() throws InterruptedException {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newExecutor("test-virtual");
+        boolean[] virtual = new boolean[1];
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            // Virtual threads belong to the VirtualThreads thread group
+            virtual[0] = "VirtualThreads".equals(Thread.currentThread().getThreadGroup().getName());
+            done.countDown();
+        });
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(VirtualThreads.isSupported(), virtual[0]);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.uprotocol.transport.LocalUTransport;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.uuid.dedup.UuidDeduplicator;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DeduplicatingInterceptorTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test duplicate messages never reach the listener")
+    public void test_drops_duplicates() {
+        DeduplicatingInterceptor interceptor = new DeduplicatingInterceptor(60_000);
+        List<UMessage> received = new ArrayList<>();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(interceptor).build();
+        transport.registerListener(TOPIC, received::add);
+
+        UMessage first = UMessageBuilder.publish(TOPIC).build();
+        UMessage second = UMessageBuilder.publish(TOPIC).build();
+        transport.send(first);
+        transport.send(first);
+        transport.send(second);
+        transport.send(first);
+
+        assertEquals(List.of(first, second), received);
+        assertEquals(2, interceptor.getDeduplicator().getDuplicateCount());
+    }
+
+    @Test
+    @DisplayName("Test every listener of a topic receives a message once")
+    public void test_several_listeners() {
+        DeduplicatingInterceptor interceptor = new DeduplicatingInterceptor(60_000);
+        List<UMessage> first = new ArrayList<>();
+        List<UMessage> second = new ArrayList<>();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(interceptor).build();
+        transport.registerListener(TOPIC, first::add);
+        transport.registerListener(TOPIC, second::add);
+
+        UMessage message = UMessageBuilder.publish(TOPIC).build();
+        transport.send(message);
+        transport.send(message);
+
+        assertEquals(List.of(message), first);
+        assertEquals(List.of(message), second);
+        assertEquals(1, interceptor.getDeduplicator().getDuplicateCount());
+    }
+
+    @Test
+    @DisplayName("Test creating an interceptor with a deduplicator")
+    public void test_create_with_deduplicator() {
+        UuidDeduplicator deduplicator = new UuidDeduplicator(100);
+        assertEquals(deduplicator, new DeduplicatingInterceptor(deduplicator).getDeduplicator());
+        assertThrows(NullPointerException.class, () -> new DeduplicatingInterceptor(null));
+    }
+}
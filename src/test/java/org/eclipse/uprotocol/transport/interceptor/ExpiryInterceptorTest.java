@@ -0,0 +1,103 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.uprotocol.clock.ManualClock;
+import org.eclipse.uprotocol.transport.LocalUTransport;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ExpiryInterceptorTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri METHOD = SOURCE.toBuilder().setResourceId(3).build();
+    private static final long CREATED = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Test a message is expired once its ttl has passed")
+    public void test_is_expired() {
+        long[] now = {CREATED + 100};
+        ExpiryInterceptor interceptor = new ExpiryInterceptor(() -> now[0]);
+        UMessage message = message(UMessageBuilder.publish(TOPIC).withTtl(100), CREATED, false);
+
+        assertFalse(interceptor.isExpired(message.getAttributes()));
+        now[0]++;
+        assertTrue(interceptor.isExpired(message.getAttributes()));
+        assertFalse(interceptor.isExpired(UMessageBuilder.publish(TOPIC).build().getAttributes()));
+        assertTrue(interceptor.isExpired(message(UMessageBuilder.publish(TOPIC).withTtl(100), CREATED, true)
+            .getAttributes()));
+    }
+
+    @Test
+    @DisplayName("Test a message is checked against the current time when the clock moves back")
+    public void test_clock_moving_back() {
+        ManualClock clock = new ManualClock(CREATED + 10_000);
+        ExpiryInterceptor interceptor = new ExpiryInterceptor(clock);
+        UMessage message = message(UMessageBuilder.publish(TOPIC).withTtl(100), CREATED, false);
+        assertFalse(interceptor.onReceive(message));
+
+        clock.set(CREATED + 50);
+        assertTrue(interceptor.onReceive(message));
+        assertEquals(1, interceptor.getExpiredCount(TOPIC));
+        assertFalse(new ExpiryInterceptor().isExpired(UMessageBuilder.publish(TOPIC).withTtl(100_000).build()
+            .getAttributes()));
+    }
+
+    @Test
+    @DisplayName("Test expired messages are counted per topic and never reach the listener")
+    public void test_counts_per_topic() {
+        ExpiryInterceptor interceptor = new ExpiryInterceptor(() -> CREATED + 10_000);
+        List<UMessage> received = new ArrayList<>();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(interceptor).build();
+        transport.registerListener(TOPIC, received::add);
+        transport.registerListener(SOURCE, METHOD, received::add);
+
+        UMessage fresh = message(UMessageBuilder.publish(TOPIC).withTtl(100_000), CREATED, false);
+        transport.send(message(UMessageBuilder.publish(TOPIC).withTtl(100), CREATED, false));
+        transport.send(fresh);
+        transport.send(message(UMessageBuilder.request(SOURCE, METHOD, 100), CREATED, false));
+        transport.send(message(UMessageBuilder.request(SOURCE, METHOD, 100), CREATED, false));
+
+        assertEquals(List.of(fresh), received);
+        assertEquals(Map.of(TOPIC, 1L, METHOD, 2L), interceptor.getExpiredCounts());
+        assertEquals(0, interceptor.getExpiredCount(SOURCE));
+        assertThrows(NullPointerException.class, () -> new ExpiryInterceptor(null));
+    }
+
+    /**
+     * Build a message whose id was created at the given time.
+     */
+    private static UMessage message(UMessageBuilder builder, long created, boolean uuidv6) {
+        UMessage message = builder.build();
+        UuidFactory factory = (uuidv6 ? UuidFactory.Factories.UUIDV6 : UuidFactory.Factories.UPROTOCOL).factory();
+        return message.toBuilder().setAttributes(message.getAttributes().toBuilder()
+            .setId(factory.create(Instant.ofEpochMilli(created)))).build();
+    }
+}
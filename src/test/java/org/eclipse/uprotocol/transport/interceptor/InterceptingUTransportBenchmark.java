@@ -0,0 +1,116 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Overhead of a chain of interceptors on send and receive compared with calling the transport and
+ * the listener directly. Run with {@code mvn -P benchmark test -Dbenchmark=InterceptingUTransport},
+ * add {@code -prof gc} to the JMH arguments to check that the chain does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptingUTransportBenchmark {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+
+    @Param({"0", "5"})
+    public int interceptors;
+
+    private UTransport transport;
+    private UListener listener;
+    private UMessage message;
+
+    @Setup
+    public void setup() {
+        final NoopUTransport delegate = new NoopUTransport();
+        final InterceptingUTransport.Builder builder = InterceptingUTransport.newBuilder(delegate);
+        for (int i = 0; i < interceptors; i++) {
+            builder.withInterceptor(new CountingInterceptor());
+        }
+        transport = interceptors == 0 ? delegate : builder.build();
+        transport.registerListener(TOPIC, received -> { });
+        listener = delegate.listener;
+        message = UMessageBuilder.publish(TOPIC).build();
+    }
+
+    @Benchmark
+    public Object send() {
+        return transport.send(message);
+    }
+
+    @Benchmark
+    public void receive(Blackhole blackhole) {
+        listener.onReceive(message);
+        blackhole.consume(listener);
+    }
+
+    /**
+     * Transport that completes every send immediately and keeps the last registered listener.
+     */
+    private static final class NoopUTransport implements UTransport {
+        private static final CompletionStage<UStatus> OK =
+            CompletableFuture.completedStage(UStatus.newBuilder().setCode(UCode.OK).build());
+
+        private UListener listener;
+
+        @Override
+        public CompletionStage<UStatus> send(UMessage message) {
+            return OK;
+        }
+
+        @Override
+        public CompletionStage<UStatus> registerListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+            this.listener = listener;
+            return OK;
+        }
+
+        @Override
+        public CompletionStage<UStatus> unregisterListener(UUri sourceFilter, UUri sinkFilter, UListener listener) {
+            return OK;
+        }
+
+        @Override
+        public UUri getSource() {
+            return SOURCE;
+        }
+    }
+}
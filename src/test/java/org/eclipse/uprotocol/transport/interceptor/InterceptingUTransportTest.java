@@ -0,0 +1,217 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.uprotocol.transport.BatchStatus;
+import org.eclipse.uprotocol.transport.LocalUTransport;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class InterceptingUTransportTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri OTHER_TOPIC = SOURCE.toBuilder().setResourceId(0x8001).build();
+    private static final UStatus REJECTED = UStatus.newBuilder().setCode(UCode.PERMISSION_DENIED).build();
+
+    @Test
+    @DisplayName("Test interceptors run in order in both directions")
+    public void test_interceptors_run_in_order() {
+        List<String> calls = new ArrayList<>();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(new Recording("first", calls))
+            .withInterceptor(new Recording("second", calls))
+            .build();
+        transport.registerListener(TOPIC, message -> calls.add("listener"));
+
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+        assertEquals(List.of("first-send", "second-send", "first-receive", "second-receive", "listener"), calls);
+    }
+
+    @Test
+    @DisplayName("Test the chain returns the stage of the wrapped transport when nothing short-circuits")
+    public void test_send_passes_through() {
+        CompletableFuture<UStatus> result = new CompletableFuture<>();
+        UTransport delegate = new LocalUTransport(SOURCE, Runnable::run) {
+            @Override
+            public CompletionStage<UStatus> send(UMessage message) {
+                return result;
+            }
+        };
+        UTransport transport = InterceptingUTransport.newBuilder(delegate)
+            .withInterceptor(new CountingInterceptor()).build();
+        assertSame(result, transport.send(UMessageBuilder.publish(TOPIC).build()));
+    }
+
+    @Test
+    @DisplayName("Test an interceptor short-circuits a send and drops a received message")
+    public void test_short_circuit() {
+        List<String> calls = new ArrayList<>();
+        LocalUTransport local = new LocalUTransport(SOURCE, Runnable::run);
+        CountingInterceptor counter = new CountingInterceptor();
+        UTransport transport = InterceptingUTransport.newBuilder(local)
+            .withInterceptor(new Rejecting(OTHER_TOPIC))
+            .withInterceptor(counter)
+            .build();
+        transport.registerListener(UriFactory.ANY, message -> calls.add("listener"));
+
+        assertEquals(REJECTED, transport.send(UMessageBuilder.publish(OTHER_TOPIC).build())
+            .toCompletableFuture().join());
+        local.send(UMessageBuilder.publish(OTHER_TOPIC).build());
+        assertEquals(List.of(), calls);
+        assertEquals(0, counter.getSentCount());
+        assertEquals(0, counter.getReceivedCount());
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(List.of("listener"), calls);
+        assertEquals(1, counter.getSentCount());
+        assertEquals(1, counter.getReceivedCount());
+    }
+
+    @Test
+    @DisplayName("Test unregistering a listener registered through the chain")
+    public void test_unregister_listener() {
+        List<String> calls = new ArrayList<>();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(new CountingInterceptor()).build();
+        UListener listener = message -> calls.add("listener");
+        transport.registerListener(TOPIC, listener);
+
+        assertEquals(UCode.OK, transport.unregisterListener(TOPIC, listener).toCompletableFuture().join().getCode());
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(List.of(), calls);
+        assertEquals(UCode.NOT_FOUND,
+            transport.unregisterListener(TOPIC, listener).toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test the inbound chain runs once for several listeners of the same message")
+    public void test_receive_once_for_several_listeners() {
+        List<String> calls = new ArrayList<>();
+        CountingInterceptor counter = new CountingInterceptor();
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(counter).build();
+        UListener first = message -> calls.add("first");
+        transport.registerListener(TOPIC, first);
+        transport.registerListener(TOPIC, message -> calls.add("second"));
+        transport.registerListener(TOPIC, message -> calls.add("third"));
+
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(List.of("first", "second", "third"), calls);
+        assertEquals(1, counter.getReceivedCount());
+
+        calls.clear();
+        assertEquals(UCode.OK, transport.unregisterListener(TOPIC, first).toCompletableFuture().join().getCode());
+        transport.send(UMessageBuilder.publish(TOPIC).build());
+        assertEquals(List.of("second", "third"), calls);
+        assertEquals(2, counter.getReceivedCount());
+    }
+
+    @Test
+    @DisplayName("Test a batch reports the short-circuited messages at their index")
+    public void test_send_batch() {
+        List<UMessage> received = new ArrayList<>();
+        LocalUTransport local = new LocalUTransport(SOURCE, Runnable::run);
+        local.registerListener(TOPIC, received::add);
+        UTransport transport = InterceptingUTransport.newBuilder(local)
+            .withInterceptor(new Rejecting(OTHER_TOPIC)).build();
+
+        UMessage first = UMessageBuilder.publish(TOPIC).build();
+        UMessage last = UMessageBuilder.publish(TOPIC).build();
+        BatchStatus status = transport.sendBatch(List.of(first, UMessageBuilder.publish(OTHER_TOPIC).build(),
+            UMessage.newBuilder().setAttributes(UAttributes.getDefaultInstance()).build(), last))
+            .toCompletableFuture().join();
+
+        assertEquals(Set.of(1, 2), status.failures().keySet());
+        assertEquals(REJECTED, status.failures().get(1));
+        assertEquals(UCode.INVALID_ARGUMENT, status.failures().get(2).getCode());
+        assertEquals(List.of(first, last), received);
+
+        BatchStatus rejected = transport.sendBatch(List.of(UMessageBuilder.publish(OTHER_TOPIC).build()))
+            .toCompletableFuture().join();
+        assertEquals(UCode.PERMISSION_DENIED, rejected.status().getCode());
+    }
+
+    @Test
+    @DisplayName("Test the validating interceptor rejects invalid messages")
+    public void test_validating_interceptor() {
+        UTransport transport = InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE, Runnable::run))
+            .withInterceptor(new ValidatingInterceptor()).build();
+        UMessage invalid = UMessageBuilder.publish(TOPIC).build().toBuilder()
+            .setAttributes(UAttributes.getDefaultInstance()).build();
+
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(invalid).toCompletableFuture().join().getCode());
+        assertEquals(UCode.OK, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+    }
+
+    @Test
+    @DisplayName("Test invalid builder arguments")
+    public void test_invalid_arguments() {
+        assertThrows(NullPointerException.class, () -> InterceptingUTransport.newBuilder(null));
+        assertThrows(NullPointerException.class,
+            () -> InterceptingUTransport.newBuilder(new LocalUTransport(SOURCE)).withInterceptor(null));
+    }
+
+    /**
+     * Interceptor that records its calls.
+     */
+    private record Recording(String name, List<String> calls) implements UTransportInterceptor {
+        @Override
+        public UStatus onSend(UMessage message) {
+            calls.add(name + "-send");
+            return null;
+        }
+
+        @Override
+        public boolean onReceive(UMessage message) {
+            calls.add(name + "-receive");
+            return true;
+        }
+    }
+
+    /**
+     * Interceptor that rejects the messages of a topic.
+     */
+    private record Rejecting(UUri topic) implements UTransportInterceptor {
+        @Override
+        public UStatus onSend(UMessage message) {
+            return message.getAttributes().getSource().equals(topic) ? REJECTED : null;
+        }
+
+        @Override
+        public boolean onReceive(UMessage message) {
+            return !message.getAttributes().getSource().equals(topic);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayloadFormat;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+public class MappedRingTest {
+    private static final int CAPACITY = 1 << 16;
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test a reader receives the messages in order across many wrap-arounds of the ring")
+    public void test_read_across_wrap_around() throws IOException {
+        Path path = Files.createTempFile("ring", ".ring");
+        MappedRing writer = MappedRing.create(path, CAPACITY);
+        MappedRing.Cursor cursor = MappedRing.open(path).newCursor();
+        List<UMessage> received = new ArrayList<>();
+        List<UMessage> sent = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            UMessage message = message(i, 100 + (i * 37) % 900);
+            assertTrue(writer.offer(message));
+            sent.add(message);
+            if (i % 7 == 0) {
+                cursor.poll(received::add, Integer.MAX_VALUE);
+            }
+        }
+        cursor.poll(received::add, Integer.MAX_VALUE);
+
+        assertEquals(sent, received);
+        assertEquals(0, cursor.getOverrunCount());
+        Files.delete(path);
+    }
+
+    @Test
+    @DisplayName("Test a reader that is lapped by the writer detects the overrun and keeps reading")
+    public void test_lapped_reader() throws IOException {
+        Path path = Files.createTempFile("ring", ".ring");
+        MappedRing writer = MappedRing.create(path, CAPACITY);
+        MappedRing.Cursor cursor = MappedRing.open(path).newCursor();
+        List<UMessage> received = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            writer.offer(message(1, 1000));
+        }
+        cursor.poll(received::add, Integer.MAX_VALUE);
+        assertEquals(1, cursor.getOverrunCount());
+        assertTrue(received.isEmpty());
+
+        UMessage last = message(2, 10);
+        writer.offer(last);
+        cursor.poll(received::add, Integer.MAX_VALUE);
+        assertEquals(List.of(last), received);
+        Files.delete(path);
+    }
+
+    @Test
+    @DisplayName("Test a reader racing a writer only receives intact messages in order")
+    public void test_concurrent_reader() throws Exception {
+        Path path = Files.createTempFile("ring", ".ring");
+        MappedRing writer = MappedRing.create(path, CAPACITY);
+        MappedRing.Cursor cursor = MappedRing.open(path).newCursor();
+        int count = 20_000;
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                writer.offer(message(i, 10 + i % 200));
+            }
+        });
+        thread.start();
+
+        int[] last = {0};
+        boolean[] ordered = {true};
+        Consumer<UMessage> check = message -> {
+            int ttl = message.getAttributes().getTtl();
+            ordered[0] &= ttl > last[0] && message.getPayload().size() == 10 + (ttl - 1) % 200;
+            last[0] = ttl;
+        };
+        while (thread.isAlive()) {
+            cursor.poll(check, Integer.MAX_VALUE);
+        }
+        thread.join();
+        // Frames skipped by an overrun are lost, a message written once the reader caught up must arrive
+        while (cursor.poll(check, Integer.MAX_VALUE) > 0) {
+            // Catch up with the writer
+        }
+        writer.offer(message(count, 10 + count % 200));
+        cursor.poll(check, Integer.MAX_VALUE);
+
+        assertTrue(ordered[0]);
+        assertEquals(count + 1, last[0]);
+        Files.delete(path);
+    }
+
+    @Test
+    @DisplayName("Test a restarted writer continues after the messages already in the ring")
+    public void test_writer_restart() throws IOException {
+        Path path = Files.createTempFile("ring", ".ring");
+        MappedRing writer = MappedRing.create(path, CAPACITY);
+        MappedRing.Cursor cursor = MappedRing.open(path).newCursor();
+        List<UMessage> received = new ArrayList<>();
+        UMessage first = message(0, 10);
+        UMessage second = message(1, 10);
+
+        writer.offer(first);
+        // A writer that stops without closing its ring only releases the lock on it
+        writer.release();
+        MappedRing restarted = MappedRing.create(path, CAPACITY);
+        restarted.offer(second);
+        cursor.poll(received::add, Integer.MAX_VALUE);
+
+        assertEquals(List.of(first, second), received);
+        Files.delete(path);
+    }
+
+    @Test
+    @DisplayName("Test a ring has a single writer and a closed ring is deleted once its messages are readable")
+    public void test_close() throws IOException {
+        Path path = Files.createTempFile("ring", ".ring");
+        MappedRing writer = MappedRing.create(path, CAPACITY);
+        assertThrows(IOException.class, () -> MappedRing.create(path, CAPACITY));
+        MappedRing.Cursor cursor = MappedRing.open(path).newCursor();
+        List<UMessage> received = new ArrayList<>();
+        UMessage last = message(0, 10);
+
+        writer.offer(last);
+        writer.close();
+        assertTrue(cursor.getRing().isClosed());
+        assertFalse(Files.exists(path));
+        cursor.poll(received::add, Integer.MAX_VALUE);
+        assertEquals(List.of(last), received);
+
+        // A new writer gets a new ring
+        MappedRing restarted = MappedRing.create(path, CAPACITY);
+        assertFalse(MappedRing.open(path).isClosed());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Test invalid rings and messages that do not fit")
+    public void test_invalid_rings() throws IOException {
+        Path path = Files.createTempFile("ring", ".ring");
+        assertNull(MappedRing.open(path));
+        Files.write(path, new byte[CAPACITY * 2]);
+        assertNull(MappedRing.open(path));
+
+        assertThrows(IllegalArgumentException.class, () -> MappedRing.create(path, 1000));
+        assertThrows(IllegalArgumentException.class, () -> MappedRing.create(path, 512));
+        MappedRing ring = MappedRing.create(path, MappedRing.MIN_CAPACITY);
+        assertFalse(ring.offer(message(0, MappedRing.MIN_CAPACITY)));
+        Files.delete(path);
+    }
+
+    private static UMessage message(int index, int payloadSize) {
+        byte[] payload = new byte[payloadSize];
+        payload[0] = (byte) index;
+        return UMessageBuilder.publish(TOPIC).withTtl(index + 1)
+            .build(UPayload.pack(ByteString.copyFrom(payload), UPayloadFormat.UPAYLOAD_FORMAT_RAW));
+    }
+}
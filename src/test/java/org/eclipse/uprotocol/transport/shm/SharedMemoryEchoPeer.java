@@ -0,0 +1,44 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UUri;
+
+/**
+ * Process started by {@link SharedMemoryUTransportTest} that publishes the payload of every message it
+ * receives on its own topic, until its standard input is closed.
+ */
+public final class SharedMemoryEchoPeer {
+    static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("peer").setUeId(5).setUeVersionMajor(1).build();
+    static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+
+    private SharedMemoryEchoPeer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        SharedMemoryUTransport transport = new SharedMemoryUTransport(SOURCE, Path.of(args[0]));
+        transport.registerListener(UriFactory.ANY, message -> transport.send(UMessageBuilder.publish(TOPIC)
+            .build(UPayload.pack(message.getPayload(), message.getAttributes().getPayloadFormat()))));
+        while (System.in.read() >= 0) {
+            // Run until the parent process closes the pipe
+        }
+        transport.close();
+    }
+}
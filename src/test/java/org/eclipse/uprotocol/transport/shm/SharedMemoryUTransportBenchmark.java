@@ -0,0 +1,99 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.shm.SharedMemoryUTransport.WaitStrategy;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip latency of a message published on one {@link SharedMemoryUTransport} and echoed back by
+ * another one, each with its own ring and reader thread as they would be in two processes. Run with
+ * {@code mvn -P benchmark test -Dbenchmark=SharedMemoryUTransport}, put the rings on a tmpfs with
+ * {@code -Djava.io.tmpdir=/dev/shm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SharedMemoryUTransportBenchmark {
+    private static final UUri PING = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).setResourceId(0x8000).build();
+    private static final UUri PONG = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(5).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Param({"BUSY_SPIN", "BACKOFF"})
+    public WaitStrategy strategy;
+
+    private Path directory;
+    private SharedMemoryUTransport client;
+    private SharedMemoryUTransport server;
+    private UMessage ping;
+    private final AtomicLong pongs = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("up-shm-benchmark");
+        client = new SharedMemoryUTransport(PING, directory, SharedMemoryUTransport.DEFAULT_CAPACITY, strategy);
+        server = new SharedMemoryUTransport(PONG, directory, SharedMemoryUTransport.DEFAULT_CAPACITY, strategy);
+        final UMessage pong = UMessageBuilder.publish(PONG).build();
+        server.registerListener(PING, message -> server.send(pong));
+        client.registerListener(PONG, message -> pongs.incrementAndGet());
+        ping = UMessageBuilder.publish(PING).build();
+
+        // Wait until both readers found the ring of the other transport
+        while (pongs.get() == 0) {
+            client.send(ping);
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        SharedMemoryUTransportTest.delete(directory);
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        final long expected = pongs.get() + 1;
+        client.send(ping);
+        long received;
+        while ((received = pongs.get()) < expected) {
+            Thread.onSpinWait();
+        }
+        return received;
+    }
+}
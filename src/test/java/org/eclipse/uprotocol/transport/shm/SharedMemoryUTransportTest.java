@@ -0,0 +1,200 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.shm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.communication.InMemoryRpcClient;
+import org.eclipse.uprotocol.communication.InMemoryRpcServer;
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.UTransport;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.transport.shm.SharedMemoryUTransport.WaitStrategy;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayloadFormat;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+public class SharedMemoryUTransportTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri OTHER = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(6).setUeVersionMajor(1).build();
+
+    @Test
+    @DisplayName("Test messages published on one transport are received by another one sharing the directory")
+    public void test_publish_between_transports() throws Exception {
+        Path directory = Files.createTempDirectory("up-shm");
+        SharedMemoryUTransport publisher = new SharedMemoryUTransport(SOURCE, directory,
+            SharedMemoryUTransport.DEFAULT_CAPACITY, WaitStrategy.BUSY_SPIN);
+        SharedMemoryUTransport subscriber = new SharedMemoryUTransport(OTHER, directory,
+            SharedMemoryUTransport.DEFAULT_CAPACITY, WaitStrategy.BACKOFF);
+        CompletableFuture<UMessage> own = new CompletableFuture<>();
+        publisher.registerListener(TOPIC, own::complete);
+        CountDownLatch received = new CountDownLatch(1000);
+        subscriber.registerListener(TOPIC, message -> received.countDown());
+
+        awaitPeer(publisher, subscriber);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(UCode.OK, publisher.send(UMessageBuilder.publish(TOPIC).build())
+                .toCompletableFuture().join().getCode());
+        }
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertFalse(own.isDone());
+        assertEquals(0, subscriber.getOverrunCount());
+
+        publisher.close();
+        subscriber.close();
+        delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test RPC between two transports with the communication layer")
+    public void test_rpc_between_transports() throws Exception {
+        Path directory = Files.createTempDirectory("up-shm");
+        SharedMemoryUTransport server = new SharedMemoryUTransport(SOURCE, directory, 1 << 16, WaitStrategy.YIELD);
+        SharedMemoryUTransport client = new SharedMemoryUTransport(OTHER, directory, 1 << 16, WaitStrategy.YIELD);
+        UUri method = SOURCE.toBuilder().setResourceId(3).build();
+        new InMemoryRpcServer(server).registerRequestHandler(method,
+            request -> UPayload.pack(ByteString.copyFromUtf8("pong"), UPayloadFormat.UPAYLOAD_FORMAT_TEXT));
+
+        awaitPeer(client, server);
+        UPayload response = new InMemoryRpcClient(client).invokeMethod(method, UPayload.EMPTY, null)
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals("pong", response.data().toStringUtf8());
+
+        server.close();
+        client.close();
+        delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test messages are exchanged with a transport in another process")
+    public void test_publish_between_processes() throws Exception {
+        Path directory = Files.createTempDirectory("up-shm");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process peer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+            SharedMemoryEchoPeer.class.getName(), directory.toString())
+            .redirectOutput(ProcessBuilder.Redirect.INHERIT).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        SharedMemoryUTransport transport = new SharedMemoryUTransport(SOURCE, directory);
+        try {
+            CompletableFuture<UMessage> echo = new CompletableFuture<>();
+            transport.registerListener(SharedMemoryEchoPeer.TOPIC, echo::complete);
+            UPayload payload = UPayload.pack(ByteString.copyFromUtf8("ping"), UPayloadFormat.UPAYLOAD_FORMAT_TEXT);
+
+            // Keep publishing until the peer process has started and found our ring
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!echo.isDone() && System.nanoTime() < deadline) {
+                transport.send(UMessageBuilder.publish(TOPIC).build(payload));
+                Thread.sleep(20);
+            }
+            assertEquals("ping", echo.get(1, TimeUnit.SECONDS).getPayload().toStringUtf8());
+        } finally {
+            peer.getOutputStream().close();
+            peer.waitFor(5, TimeUnit.SECONDS);
+            peer.destroy();
+            transport.close();
+            delete(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the ring of a source has one transport and readers drop it once it is closed")
+    public void test_close_ring() throws Exception {
+        Path directory = Files.createTempDirectory("up-shm");
+        SharedMemoryUTransport publisher = new SharedMemoryUTransport(SOURCE, directory, 1 << 16,
+            WaitStrategy.YIELD);
+        SharedMemoryUTransport subscriber = new SharedMemoryUTransport(OTHER, directory, 1 << 16,
+            WaitStrategy.YIELD);
+        assertThrows(UncheckedIOException.class,
+            () -> new SharedMemoryUTransport(SOURCE, directory, 1 << 16, WaitStrategy.YIELD));
+
+        awaitPeer(publisher, subscriber);
+        publisher.close();
+        publisher.close();
+        assertFalse(Files.exists(directory.resolve(SharedMemoryUTransport.ringName(SOURCE))));
+
+        // A transport that restarts with the same source is found again by the subscriber
+        SharedMemoryUTransport restarted = new SharedMemoryUTransport(SOURCE, directory, 1 << 16,
+            WaitStrategy.YIELD);
+        awaitPeer(restarted, subscriber);
+
+        restarted.close();
+        subscriber.close();
+        delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test invalid messages, listeners and a closed transport")
+    public void test_invalid_arguments() throws IOException {
+        Path directory = Files.createTempDirectory("up-shm");
+        SharedMemoryUTransport transport = new SharedMemoryUTransport(SOURCE, directory, 1 << 16,
+            WaitStrategy.BACKOFF);
+
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(null).toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(UMessage.getDefaultInstance())
+            .toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(UMessageBuilder.publish(TOPIC)
+            .build(UPayload.pack(ByteString.copyFrom(new byte[1 << 16]), UPayloadFormat.UPAYLOAD_FORMAT_RAW)))
+            .toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT, transport.registerListener(TOPIC, null)
+            .toCompletableFuture().join().getCode());
+        assertEquals(UCode.NOT_FOUND, transport.unregisterListener(TOPIC, message -> { })
+            .toCompletableFuture().join().getCode());
+
+        transport.close();
+        assertEquals(UCode.UNAVAILABLE, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+        assertThrows(IllegalArgumentException.class,
+            () -> new SharedMemoryUTransport(OTHER, directory, 1000, WaitStrategy.BACKOFF));
+        assertThrows(UncheckedIOException.class,
+            () -> new SharedMemoryUTransport(OTHER, directory.resolve("missing"), 1 << 16, WaitStrategy.BACKOFF));
+        delete(directory);
+    }
+
+    /**
+     * Wait until the reader of a transport found the ring of another one, by sending a probe message.
+     */
+    static void awaitPeer(UTransport sender, UTransport receiver) throws InterruptedException {
+        UUri probe = sender.getSource().toBuilder().setResourceId(0xfffe).build();
+        CountDownLatch found = new CountDownLatch(1);
+        receiver.registerListener(probe, message -> found.countDown());
+        while (!found.await(10, TimeUnit.MILLISECONDS)) {
+            sender.send(UMessageBuilder.publish(probe).build());
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.socket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SocketUTransport} over a Unix domain socket against TCP loopback, both through a
+ * {@link SocketRouter}: round trip latency of a message echoed back by a second transport, and
+ * throughput of batches published to a second transport. Run with
+ * {@code mvn -P benchmark test -Dbenchmark=SocketUTransport}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocketUTransportBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final UUri PING = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).setResourceId(0x8000).build();
+    private static final UUri PONG = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(5).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Param({"unix", "tcp"})
+    public String socket;
+
+    private Path directory;
+    private SocketRouter router;
+    private SocketUTransport client;
+    private SocketUTransport server;
+    private UMessage ping;
+    private List<UMessage> batch;
+    private final AtomicLong pongs = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        final SocketAddress address;
+        if (socket.equals("unix")) {
+            directory = Files.createTempDirectory("up-socket-benchmark");
+            address = UnixDomainSocketAddress.of(directory.resolve("router.sock"));
+        } else {
+            address = new InetSocketAddress("127.0.0.1", 0);
+        }
+        router = new SocketRouter(address).start();
+        client = new SocketUTransport(PING, router.getLocalAddress());
+        server = new SocketUTransport(PONG, router.getLocalAddress());
+        final UMessage pong = UMessageBuilder.publish(PONG).build();
+        server.registerListener(PING, message -> {
+            if (message.getAttributes().getTtl() == 0) {
+                server.send(pong);
+            } else {
+                received.incrementAndGet();
+            }
+        });
+        client.registerListener(PONG, message -> pongs.incrementAndGet());
+        SocketUTransportTest.awaitConnections(router, 2);
+
+        ping = UMessageBuilder.publish(PING).build();
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(UMessageBuilder.publish(PING).withTtl(i + 1).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        router.close();
+        if (directory != null) {
+            Files.delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long roundTrip() {
+        final long expected = pongs.get() + 1;
+        client.send(ping);
+        long count;
+        while ((count = pongs.get()) < expected) {
+            Thread.onSpinWait();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long batchThroughput() {
+        final long expected = received.get() + BATCH_SIZE;
+        client.sendBatch(batch);
+        long count;
+        while ((count = received.get()) < expected) {
+            Thread.onSpinWait();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.transport.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.communication.InMemoryRpcClient;
+import org.eclipse.uprotocol.communication.InMemoryRpcServer;
+import org.eclipse.uprotocol.communication.UPayload;
+import org.eclipse.uprotocol.transport.BatchStatus;
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayloadFormat;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+public class SocketUTransportTest {
+    private static final UUri SOURCE = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).build();
+    private static final UUri TOPIC = SOURCE.toBuilder().setResourceId(0x8000).build();
+    private static final UUri OTHER = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(6).setUeVersionMajor(1).build();
+
+    @Test
+    @DisplayName("Test messages published on one transport are received by another one over a Unix domain socket")
+    public void test_publish_over_unix_socket() throws Exception {
+        Path directory = Files.createTempDirectory("up-socket");
+        SocketRouter router = new SocketRouter(UnixDomainSocketAddress.of(directory.resolve("router.sock"))).start();
+        SocketUTransport publisher = new SocketUTransport(SOURCE, router.getLocalAddress());
+        SocketUTransport subscriber = new SocketUTransport(OTHER, router.getLocalAddress());
+        CompletableFuture<UMessage> own = new CompletableFuture<>();
+        publisher.registerListener(TOPIC, own::complete);
+        CountDownLatch received = new CountDownLatch(1000);
+        subscriber.registerListener(TOPIC, message -> received.countDown());
+
+        awaitConnections(router, 2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(UCode.OK, publisher.send(UMessageBuilder.publish(TOPIC).build())
+                .toCompletableFuture().join().getCode());
+        }
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertFalse(own.isDone());
+
+        publisher.close();
+        subscriber.close();
+        router.close();
+        assertFalse(Files.exists(directory.resolve("router.sock")));
+        Files.delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test RPC between two transports over TCP loopback with the communication layer")
+    public void test_rpc_over_tcp() throws Exception {
+        SocketRouter router = new SocketRouter(new InetSocketAddress("127.0.0.1", 0)).start();
+        SocketUTransport server = new SocketUTransport(SOURCE, router.getLocalAddress());
+        SocketUTransport client = new SocketUTransport(OTHER, router.getLocalAddress());
+        UUri method = SOURCE.toBuilder().setResourceId(3).build();
+        new InMemoryRpcServer(server).registerRequestHandler(method,
+            request -> UPayload.pack(request.getPayload(), request.getAttributes().getPayloadFormat()));
+
+        awaitConnections(router, 2);
+        UPayload request = UPayload.pack(ByteString.copyFromUtf8("ping"), UPayloadFormat.UPAYLOAD_FORMAT_TEXT);
+        UPayload response = new InMemoryRpcClient(client).invokeMethod(method, request, null)
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(request.data(), response.data());
+
+        server.close();
+        client.close();
+        router.close();
+    }
+
+    @Test
+    @DisplayName("Test a batch is received in order and invalid messages are reported at their index")
+    public void test_send_batch() throws Exception {
+        SocketRouter router = new SocketRouter(new InetSocketAddress("127.0.0.1", 0)).start();
+        SocketUTransport publisher = new SocketUTransport(SOURCE, router.getLocalAddress());
+        SocketUTransport subscriber = new SocketUTransport(OTHER, router.getLocalAddress());
+        List<UMessage> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(999);
+        subscriber.registerListener(TOPIC, message -> {
+            received.add(message);
+            done.countDown();
+        });
+
+        awaitConnections(router, 2);
+        List<UMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(i == 10 ? UMessage.getDefaultInstance() : UMessageBuilder.publish(TOPIC).withTtl(i + 1).build());
+        }
+        BatchStatus status = publisher.sendBatch(batch).toCompletableFuture().join();
+        assertEquals(1, status.failures().size());
+        assertEquals(UCode.INVALID_ARGUMENT, status.failures().get(10).getCode());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        List<UMessage> expected = new ArrayList<>(batch);
+        expected.remove(10);
+        assertEquals(expected, received);
+
+        publisher.close();
+        subscriber.close();
+        router.close();
+    }
+
+    @Test
+    @DisplayName("Test messages larger than the read buffer are received intact")
+    public void test_large_messages() throws Exception {
+        Path directory = Files.createTempDirectory("up-socket");
+        SocketRouter router = new SocketRouter(UnixDomainSocketAddress.of(directory.resolve("router.sock"))).start();
+        SocketUTransport publisher = new SocketUTransport(SOURCE, router.getLocalAddress());
+        SocketUTransport subscriber = new SocketUTransport(OTHER, router.getLocalAddress());
+        List<UMessage> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        subscriber.registerListener(TOPIC, message -> {
+            received.add(message);
+            done.countDown();
+        });
+
+        awaitConnections(router, 2);
+        List<UMessage> sent = new ArrayList<>();
+        for (int size : new int[] {1 << 20, 10, 3 << 20}) {
+            UMessage message = UMessageBuilder.publish(TOPIC)
+                .build(UPayload.pack(ByteString.copyFrom(new byte[size]), UPayloadFormat.UPAYLOAD_FORMAT_RAW));
+            sent.add(message);
+            assertEquals(UCode.OK, publisher.send(message).toCompletableFuture().join().getCode());
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(sent, received);
+
+        publisher.close();
+        subscriber.close();
+        router.close();
+        Files.delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test sends fail once the router is gone and connecting to a missing router fails")
+    public void test_router_unavailable() throws Exception {
+        Path directory = Files.createTempDirectory("up-socket");
+        SocketAddress address = UnixDomainSocketAddress.of(directory.resolve("router.sock"));
+        assertThrows(UncheckedIOException.class, () -> new SocketUTransport(SOURCE, address));
+
+        SocketRouter router = new SocketRouter(address).start();
+        SocketUTransport transport = new SocketUTransport(SOURCE, address);
+        awaitConnections(router, 1);
+        router.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.isConnected() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(transport.isConnected());
+        assertEquals(UCode.UNAVAILABLE, transport.send(UMessageBuilder.publish(TOPIC).build())
+            .toCompletableFuture().join().getCode());
+        assertEquals(UCode.INVALID_ARGUMENT, transport.send(null).toCompletableFuture().join().getCode());
+        transport.close();
+        Files.delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test a router replaces a stale socket file but not the socket of a running router")
+    public void test_router_socket_file() throws Exception {
+        Path directory = Files.createTempDirectory("up-socket");
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(directory.resolve("router.sock"));
+
+        // A socket closed without deleting its file, as left by a router that was killed
+        try (ServerSocketChannel stale = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            stale.bind(address);
+        }
+        assertTrue(Files.exists(address.getPath()));
+        SocketRouter router = new SocketRouter(address).start();
+
+        assertThrows(UncheckedIOException.class, () -> new SocketRouter(address));
+        SocketUTransport transport = new SocketUTransport(SOURCE, address);
+        awaitConnections(router, 1);
+
+        transport.close();
+        router.close();
+        Files.deleteIfExists(address.getPath());
+        Files.delete(directory);
+    }
+
+    @Test
+    @DisplayName("Test parsing router addresses")
+    public void test_parse_address() {
+        assertEquals(UnixDomainSocketAddress.of("/run/up.sock"), SocketRouter.parseAddress("unix:/run/up.sock"));
+        assertEquals(new InetSocketAddress("localhost", 7500), SocketRouter.parseAddress("tcp:localhost:7500"));
+        assertThrows(IllegalArgumentException.class, () -> SocketRouter.parseAddress("tcp:localhost:port"));
+        assertThrows(IllegalArgumentException.class, () -> SocketRouter.parseAddress("udp:localhost:7500"));
+        assertThrows(IllegalArgumentException.class, () -> SocketRouter.parseAddress("unix:"));
+    }
+
+    /**
+     * Wait until the router has accepted the connections, messages sent before are not forwarded.
+     */
+    static void awaitConnections(SocketRouter router, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (router.getConnectionCount() != count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, router.getConnectionCount());
+    }
+}
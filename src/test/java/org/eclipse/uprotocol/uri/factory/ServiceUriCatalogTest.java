@@ -0,0 +1,52 @@
+package org.eclipse.uprotocol.uri.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.uprotocol.core.usubscription.v3.USubscriptionProto;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Descriptors.ServiceDescriptor;
+
+public class ServiceUriCatalogTest {
+    private static final ServiceDescriptor USUBSCRIPTION = USubscriptionProto.getDescriptor().getServices().get(0);
+
+    @Test
+    @DisplayName("Test method URIs are resolved from the method options")
+    public void testGetMethod() {
+        final ServiceUriCatalog catalog = ServiceUriCatalog.of(USUBSCRIPTION);
+        final UUri subscribe = catalog.getMethod("Subscribe");
+
+        assertEquals("", subscribe.getAuthorityName());
+        assertEquals(0, subscribe.getUeId());
+        assertEquals(3, subscribe.getUeVersionMajor());
+        assertEquals(1, subscribe.getResourceId());
+        assertEquals(8, catalog.getMethod("FetchSubscribers").getResourceId());
+        assertSame(subscribe, catalog.getResource(1));
+        assertEquals(USUBSCRIPTION.getMethods().size(), catalog.getMethods().size());
+        assertThrows(IllegalArgumentException.class, () -> catalog.getMethod("NoSuchMethod"));
+    }
+
+    @Test
+    @DisplayName("Test catalogs of the local authority are shared")
+    public void testSharedCatalog() {
+        assertSame(ServiceUriCatalog.of(USUBSCRIPTION), ServiceUriCatalog.of(USUBSCRIPTION));
+        assertSame(ServiceUriCatalog.of(USUBSCRIPTION), ServiceUriCatalog.of(USUBSCRIPTION, ""));
+        assertSame(USUBSCRIPTION, ServiceUriCatalog.of(USUBSCRIPTION).getDescriptor());
+        assertThrows(NullPointerException.class, () -> ServiceUriCatalog.of(null));
+    }
+
+    @Test
+    @DisplayName("Test resources that are not methods and remote authorities")
+    public void testGetResource() {
+        final ServiceUriCatalog catalog = ServiceUriCatalog.of(USUBSCRIPTION, "hartley");
+        assertNotSame(catalog, ServiceUriCatalog.of(USUBSCRIPTION, "hartley"));
+        assertEquals(UriFactory.fromProto(USUBSCRIPTION, 0x8000, "hartley"), catalog.getResource(0x8000));
+        assertEquals(UriFactory.fromProto(USUBSCRIPTION, 2, "hartley"), catalog.getMethod("Unsubscribe"));
+        assertEquals(UriFactory.fromProto(USUBSCRIPTION, -1), ServiceUriCatalog.of(USUBSCRIPTION).getResource(-1));
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.packed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.uprotocol.communication.UStatusException;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PackedUriMapTest {
+    private static final UUri METHOD = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(4).setUeVersionMajor(1).setResourceId(3).build();
+
+    @Test
+    @DisplayName("Test putting, getting and removing values")
+    public void test_put_get_remove() {
+        PackedUriMap<String> map = new PackedUriMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(METHOD, "first"));
+        assertEquals("first", map.put(METHOD.toBuilder().build(), "second"));
+        assertEquals(1, map.size());
+        assertEquals("second", map.get(METHOD));
+        assertEquals("second", map.get(PackedUri.of(METHOD)));
+        assertNull(map.get(METHOD.toBuilder().setResourceId(4).build()));
+        assertNull(map.get(METHOD.toBuilder().setAuthorityName("never-registered-key").build()));
+        assertNull(map.get(METHOD.toBuilder().setResourceId(0x10000).build()));
+        assertNull(map.get((UUri) null));
+        assertFalse(map.remove(METHOD, "first"));
+        assertTrue(map.remove(METHOD, "second"));
+        assertNull(map.remove(METHOD));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test the map grows and keeps all its values")
+    public void test_grow() {
+        PackedUriMap<Integer> map = new PackedUriMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(METHOD.toBuilder().setResourceId(i).setAuthorityName("grow-" + (i % 3)).build(), i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(METHOD.toBuilder().setResourceId(i).setAuthorityName("grow-" + (i % 3)).build()));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove(METHOD.toBuilder().setResourceId(i).setAuthorityName("grow-" + (i % 3)).build()));
+        }
+        Map<UUri, Integer> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(500, copy.size());
+        copy.forEach((uri, value) -> assertEquals(value, map.get(uri)));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test computing values")
+    public void test_compute() {
+        PackedUriMap<String> map = new PackedUriMap<>();
+        assertEquals("value", map.compute(METHOD, (key, value) -> value == null ? "value" : value + "!"));
+        assertEquals("value!", map.compute(METHOD, (key, value) -> value == null ? "value" : value + "!"));
+        assertThrows(UStatusException.class, () -> map.compute(METHOD, (key, value) -> {
+            throw new UStatusException(UCode.ALREADY_EXISTS, "exists");
+        }));
+        assertEquals("value!", map.get(METHOD));
+        assertNull(map.compute(METHOD, (key, value) -> null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test keys that cannot be packed are rejected")
+    public void test_not_packable_key() {
+        PackedUriMap<String> map = new PackedUriMap<>();
+        UUri key = METHOD.toBuilder().setUeVersionMajor(0x100).build();
+        assertThrows(IllegalArgumentException.class, () -> map.put(key, "value"));
+        assertThrows(NullPointerException.class, () -> map.put(METHOD, null));
+        assertNull(map.remove(key));
+        assertTrue(map.isEmpty());
+    }
+}
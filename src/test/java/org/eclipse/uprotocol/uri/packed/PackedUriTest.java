@@ -0,0 +1,94 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.packed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PackedUriTest {
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(0x10004).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test packing a URI and building it back")
+    public void test_pack_and_unpack() {
+        PackedUri packed = PackedUri.of(TOPIC);
+        assertEquals(0x10004, packed.ueId());
+        assertEquals(1, packed.ueVersionMajor());
+        assertEquals(0x8000, packed.resourceId());
+        assertEquals(AuthorityRegistry.find("vehicle"), packed.authorityId());
+        assertEquals(TOPIC, packed.toUri());
+    }
+
+    @Test
+    @DisplayName("Test packed URIs are equal when the URIs are equal")
+    public void test_equals_and_hash_code() {
+        PackedUri packed = PackedUri.of(TOPIC);
+        assertEquals(packed, PackedUri.of(TOPIC.toBuilder().build()));
+        assertEquals(packed.hashCode(), PackedUri.of(TOPIC.toBuilder().build()).hashCode());
+        assertNotEquals(packed, PackedUri.of(TOPIC.toBuilder().setAuthorityName("other").build()));
+        assertNotEquals(packed, PackedUri.of(TOPIC.toBuilder().setUeId(0x20004).build()));
+        assertNotEquals(packed, PackedUri.of(TOPIC.toBuilder().setUeVersionMajor(2).build()));
+        assertNotEquals(packed, PackedUri.of(TOPIC.toBuilder().setResourceId(0x8001).build()));
+    }
+
+    @Test
+    @DisplayName("Test URIs with a version or resource id too large cannot be packed")
+    public void test_not_packable() {
+        UUri version = TOPIC.toBuilder().setUeVersionMajor(0x100).build();
+        UUri resource = TOPIC.toBuilder().setResourceId(0x10000).build();
+        assertTrue(PackedUri.isPackable(TOPIC));
+        assertFalse(PackedUri.isPackable(version));
+        assertFalse(PackedUri.isPackable(resource));
+        assertThrows(IllegalArgumentException.class, () -> PackedUri.of(version));
+        assertThrows(IllegalArgumentException.class, () -> PackedUri.of(resource));
+    }
+
+    @Test
+    @DisplayName("Test the authority registry gives stable ids and shared names")
+    public void test_authority_registry() {
+        String name = new String("registry-test");
+        int id = AuthorityRegistry.register(name);
+        assertEquals(id, AuthorityRegistry.register(new String("registry-test")));
+        assertEquals(id, AuthorityRegistry.find("registry-test"));
+        assertSame(name, AuthorityRegistry.intern(new String("registry-test")));
+        assertSame(name, AuthorityRegistry.name(id));
+        assertEquals(AuthorityRegistry.WILDCARD_ID, AuthorityRegistry.find(UriFactory.WILDCARD_AUTHORITY));
+        assertEquals(AuthorityRegistry.UNKNOWN_ID, AuthorityRegistry.find("never-registered"));
+        assertEquals(AuthorityRegistry.UNKNOWN_ID, AuthorityRegistry.find(null));
+        assertNull(AuthorityRegistry.name(-1));
+    }
+
+    @Test
+    @DisplayName("Test matching authority ids")
+    public void test_authority_ids_match() {
+        int id = AuthorityRegistry.register("match-test");
+        int other = AuthorityRegistry.register("match-test-other");
+        assertTrue(AuthorityRegistry.matches(id, id));
+        assertTrue(AuthorityRegistry.matches(AuthorityRegistry.WILDCARD_ID, id));
+        assertTrue(AuthorityRegistry.matches(AuthorityRegistry.WILDCARD_ID, AuthorityRegistry.UNKNOWN_ID));
+        assertFalse(AuthorityRegistry.matches(id, other));
+        assertFalse(AuthorityRegistry.matches(id, AuthorityRegistry.UNKNOWN_ID));
+        assertFalse(AuthorityRegistry.matches(AuthorityRegistry.UNKNOWN_ID, AuthorityRegistry.UNKNOWN_ID));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Compares the {@link BinaryUriSerializer} form of a URI against its protobuf form, run with
+ * {@code mvn -P benchmark test -Dbenchmark=BinaryUriSerializer}. The sizes of both forms are printed
+ * during the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryUriSerializerBenchmark {
+    private UUri uri;
+    private byte[] binary;
+    private byte[] protobuf;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        uri = UUri.newBuilder().setAuthorityName("vehicle1").setUeId(0x10ab).setUeVersionMajor(1)
+            .setResourceId(0x8001).build();
+        binary = BinaryUriSerializer.serializeToBytes(uri);
+        protobuf = uri.toByteArray();
+        buffer = ByteBuffer.allocateDirect(64);
+    }
+
+    @Benchmark
+    public byte[] serializeProtobuf() {
+        return uri.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() {
+        return BinaryUriSerializer.serializeToBytes(uri);
+    }
+
+    @Benchmark
+    public ByteBuffer serializeToBuffer() {
+        buffer.clear();
+        BinaryUriSerializer.serialize(uri, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public UUri deserializeProtobuf() throws InvalidProtocolBufferException {
+        return UUri.parseFrom(protobuf);
+    }
+
+    @Benchmark
+    public UUri deserialize() {
+        return BinaryUriSerializer.deserialize(binary, 0);
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.eclipse.uprotocol.uri.validator.UriValidator;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BinaryUriSerializerTest {
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(0x10004).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test the binary form of a URI")
+    public void test_binary_form() {
+        assertArrayEquals(new byte[] {0x0F, 7, 'v', 'e', 'h', 'i', 'c', 'l', 'e', (byte) 0x84, (byte) 0x80, 0x04, 1,
+            (byte) 0x80, (byte) 0x80, 0x02}, BinaryUriSerializer.serializeToBytes(TOPIC));
+        assertArrayEquals(new byte[] {0x0A, 4, (byte) 0x80, 0x01}, BinaryUriSerializer.serializeToBytes(
+            UUri.newBuilder().setUeId(4).setResourceId(0x80).build()));
+        assertArrayEquals(new byte[] {0}, BinaryUriSerializer.serializeToBytes(null));
+        assertArrayEquals(new byte[] {0}, BinaryUriSerializer.serializeToBytes(UUri.getDefaultInstance()));
+    }
+
+    @Test
+    @DisplayName("Test the URI of the benchmark is smaller in its binary form than in its protobuf form")
+    public void test_binary_size() {
+        UUri uri = UUri.newBuilder().setAuthorityName("vehicle1").setUeId(0x10ab).setUeVersionMajor(1)
+            .setResourceId(0x8001).build();
+        byte[] binary = BinaryUriSerializer.serializeToBytes(uri);
+        // Flags, name length and name, then the varints of 0x10ab, 1 and 0x8001
+        assertEquals(1 + 1 + 8 + 2 + 1 + 3, binary.length);
+        assertTrue(binary.length < uri.toByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Test random URIs round trip and are not larger than their protobuf form")
+    public void test_round_trip_fuzz() {
+        Random random = new Random(15);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        for (int i = 0; i < 100_000; i++) {
+            UUri uri = randomUri(random);
+            byte[] bytes = BinaryUriSerializer.serializeToBytes(uri);
+            assertEquals(BinaryUriSerializer.sizeOf(uri), bytes.length);
+            assertEquals(uri, BinaryUriSerializer.deserialize(bytes, 0));
+            if (!UriValidator.isEmpty(uri)) {
+                assertTrue(bytes.length <= uri.toByteArray().length, uri::toString);
+            }
+
+            buffer.clear().put((byte) 0x55);
+            BinaryUriSerializer.serialize(uri, buffer);
+            buffer.flip().position(1);
+            assertEquals(uri, BinaryUriSerializer.deserialize(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    @DisplayName("Test truncated and corrupted bytes do not deserialize")
+    public void test_invalid_bytes() {
+        byte[] bytes = BinaryUriSerializer.serializeToBytes(TOPIC);
+        for (int length = 0; length < bytes.length; length++) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(buffer)));
+            assertEquals(0, buffer.position());
+        }
+        // Unknown flag, flagged field equal to 0, overlong varint and varint above 32 bits
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(new byte[] {0x12, 1}, 0)));
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(new byte[] {0x02, 0}, 0)));
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(new byte[] {0x02, (byte) 0x81, 0}, 0)));
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(
+            new byte[] {0x02, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x1F}, 0)));
+        assertEquals(-1, BinaryUriSerializer.deserialize(
+            new byte[] {0x02, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}, 0).getUeId());
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(null, 0)));
+        assertTrue(UriValidator.isEmpty(BinaryUriSerializer.deserialize(bytes, bytes.length)));
+    }
+
+    @Test
+    @DisplayName("Test serializing to a buffer that is too small")
+    public void test_buffer_overflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryUriSerializer.sizeOf(TOPIC) - 1);
+        assertThrows(BufferOverflowException.class, () -> BinaryUriSerializer.serialize(TOPIC, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    private static UUri randomUri(Random random) {
+        final String[] authorities = {"", "vehicle", "cloud.example.com", "véhicule-€", "🚗"};
+        return UUri.newBuilder()
+            .setAuthorityName(authorities[random.nextInt(authorities.length)])
+            .setUeId(randomField(random))
+            .setUeVersionMajor(randomField(random))
+            .setResourceId(randomField(random)).build();
+    }
+
+    private static int randomField(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return 0;
+            case 1:
+                return random.nextInt(0x100);
+            case 2:
+                return random.nextInt(0x10000);
+            default:
+                return random.nextInt();
+        }
+    }
+}
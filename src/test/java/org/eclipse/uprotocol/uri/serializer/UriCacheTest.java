@@ -0,0 +1,97 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.uprotocol.uri.validator.UriValidator;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UriCacheTest {
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(0x10004).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test cached URIs are shared instances")
+    public void test_shared_instances() {
+        UriCache cache = new UriCache(16);
+        String serialized = cache.serialize(TOPIC);
+        assertEquals("//vehicle/10004/1/8000", serialized);
+        assertSame(serialized, cache.serialize(TOPIC.toBuilder().build()));
+        UUri uri = cache.deserialize(new String(serialized));
+        assertEquals(TOPIC, uri);
+        assertSame(uri, cache.deserialize(new String(serialized)));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test the cache evicts entries beyond its capacity")
+    public void test_eviction() {
+        UriCache cache = new UriCache(4);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, cache.deserialize("/1/1/" + i).getResourceId());
+        }
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.getEvictionCount());
+
+        // Recently used entries survive the eviction of the others
+        cache.deserialize("/1/1/9");
+        cache.deserialize("/1/1/10");
+        long misses = cache.getMissCount();
+        cache.deserialize("/1/1/9");
+        assertEquals(misses, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test invalid and long URIs are not cached")
+    public void test_not_cached() {
+        UriCache cache = new UriCache(4);
+        assertTrue(UriValidator.isEmpty(cache.deserialize("not a uri")));
+        assertTrue(UriValidator.isEmpty(cache.deserialize(null)));
+        assertEquals("", cache.serialize(null));
+        assertEquals("", cache.serialize(UUri.getDefaultInstance()));
+        UUri longUri = TOPIC.toBuilder().setAuthorityName("a".repeat(UriCache.MAX_LENGTH)).build();
+        assertEquals(longUri, cache.deserialize(cache.serialize(longUri)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test the default cache does not cache until replaced")
+    public void test_default_cache() {
+        UriCache cache = UriCache.getDefault();
+        assertEquals(0, cache.getCapacity());
+        assertEquals("//vehicle/10004/1/8000", cache.serialize(TOPIC));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+
+        UriCache replacement = new UriCache(8);
+        UriCache.setDefault(replacement);
+        try {
+            assertSame(replacement, UriCache.getDefault());
+        } finally {
+            UriCache.setDefault(null);
+        }
+        assertSame(cache, UriCache.getDefault());
+        assertThrows(IllegalArgumentException.class, () -> new UriCache(-1));
+    }
+}
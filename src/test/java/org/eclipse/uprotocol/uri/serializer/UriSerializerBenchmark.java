@@ -0,0 +1,100 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single pass {@link UriSerializer} against the regular expression and split based
+ * implementation it replaced, run with {@code mvn -P benchmark test -Dbenchmark=UriSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriSerializerBenchmark {
+    private UUri uri;
+    private String serialized;
+    private byte[] utf8;
+    private StringBuilder sb;
+
+    @Setup
+    public void setup() {
+        uri = UUri.newBuilder().setAuthorityName("vehicle1").setUeId(0x10ab).setUeVersionMajor(1)
+            .setResourceId(0x8001).build();
+        serialized = UriSerializer.serialize(uri);
+        utf8 = serialized.getBytes(StandardCharsets.UTF_8);
+        sb = new StringBuilder(64);
+    }
+
+    @Benchmark
+    public String serializeRegex() {
+        StringBuilder builder = new StringBuilder();
+        if (!uri.getAuthorityName().isBlank()) {
+            builder.append("//");
+            builder.append(uri.getAuthorityName());
+        }
+        builder.append("/");
+        builder.append(Integer.toHexString(uri.getUeId()));
+        builder.append("/");
+        builder.append(Integer.toHexString(uri.getUeVersionMajor()));
+        builder.append("/");
+        builder.append(Integer.toHexString(uri.getResourceId()));
+        return builder.toString().replaceAll("/+$", "");
+    }
+
+    @Benchmark
+    public String serialize() {
+        return UriSerializer.serialize(uri);
+    }
+
+    @Benchmark
+    public StringBuilder serializeToBuilder() {
+        sb.setLength(0);
+        return UriSerializer.serialize(uri, sb);
+    }
+
+    @Benchmark
+    public UUri deserializeSplit() {
+        final String[] parts = serialized.replace('\\', '/').split("/");
+        return UUri.newBuilder().setAuthorityName(parts[2])
+            .setUeId(Integer.parseUnsignedInt(parts[3], 16))
+            .setUeVersionMajor(Integer.parseUnsignedInt(parts[4], 16))
+            .setResourceId(Integer.parseUnsignedInt(parts[5], 16)).build();
+    }
+
+    @Benchmark
+    public UUri deserialize() {
+        return UriSerializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public UUri deserializeBytes() {
+        return UriSerializer.deserialize(utf8, 0, utf8.length);
+    }
+}
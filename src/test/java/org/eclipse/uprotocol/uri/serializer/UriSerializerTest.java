@@ -12,6 +12,11 @@
  */
 package org.eclipse.uprotocol.uri.serializer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
 import org.eclipse.uprotocol.v1.UUri;
 import org.junit.jupiter.api.DisplayName;
@@ -329,4 +334,99 @@ public class UriSerializerTest {
         String serializedUri = UriSerializer.serialize(uri);
         assertEquals("/1/2/3", serializedUri);
     }
+
+    @Test
+    @DisplayName("Test serializing a UUri to a StringBuilder and an Appendable")
+    public void test_serializing_a_UUri_to_a_StringBuilder_and_an_Appendable() throws IOException {
+        UUri uri = UUri.newBuilder()
+                .setAuthorityName("myAuthority")
+                .setUeId(0x10ab)
+                .setUeVersionMajor(2)
+                .setResourceId(0x8000)
+                .build();
+        StringBuilder sb = new StringBuilder("source=");
+        assertSame(sb, UriSerializer.serialize(uri, sb));
+        assertEquals("source=//myAuthority/10ab/2/8000", sb.toString());
+        assertEquals("source=//myAuthority/10ab/2/8000", UriSerializer.serialize(null, sb).toString());
+
+        StringWriter writer = new StringWriter();
+        UriSerializer.serialize(uri.toBuilder().setAuthorityName("").setUeId(-1).build(), writer);
+        assertEquals("/ffffffff/2/8000", writer.toString());
+    }
+
+    @Test
+    @DisplayName("Test deserializing a UUri from characters and UTF-8 bytes")
+    public void test_deserializing_a_UUri_from_characters_and_bytes() {
+        UUri expected = UriSerializer.deserialize("//myAuthority/1/2/3");
+        assertEquals(expected, UriSerializer.deserialize(new StringBuilder("up://myAuthority/1/2/3")));
+        assertEquals(expected, UriSerializer.deserialize("[//myAuthority/1/2/3]".toCharArray(), 1, 19));
+        assertEquals(expected, UriSerializer.deserialize("[\\\\myAuthority\\1\\2\\3]".getBytes(), 1, 19));
+
+        byte[] utf8 = "//véhicule/1/2/3".getBytes(StandardCharsets.UTF_8);
+        assertEquals("véhicule", UriSerializer.deserialize(utf8, 0, utf8.length).getAuthorityName());
+        assertTrue(UriValidator.isEmpty(UriSerializer.deserialize((CharSequence) null)));
+        assertTrue(UriValidator.isEmpty(UriSerializer.deserialize((char[]) null, 0, 0)));
+        assertTrue(UriValidator.isEmpty(UriSerializer.deserialize((byte[]) null, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Test deserializing gives the same result as splitting the URI")
+    public void test_deserializing_gives_the_same_result_as_splitting() {
+        String[] uris = {"", "/", "//", "///1", "/1//", "/1//3", "abc/1/2/3", "/1/2/3/4/", "//a/1/2/3/4",
+            "//a//2", "/+1/-2", "/1/100/3", "/1/2/10000", "/ffffffff/2/3", "/100000000", "up:\\\\a\\1",
+            "\\\\a\\1", "a:b:/1", "// /1", "/\u0661/2"};
+        for (String uri : uris) {
+            assertEquals(splitDeserialize(uri), UriSerializer.deserialize(uri), uri);
+        }
+    }
+
+    @Test
+    @DisplayName("Test deserializing gives the registered instance of known authority names")
+    public void test_deserializing_interns_registered_authorities() {
+        String registered = new String("interned-authority");
+        AuthorityRegistry.register(registered);
+        assertSame(registered, UriSerializer.deserialize("//interned-authority/1/2/3").getAuthorityName());
+        byte[] binary = BinaryUriSerializer.serializeToBytes(
+            UUri.newBuilder().setAuthorityName("interned-authority").setUeId(1).build());
+        assertSame(registered, BinaryUriSerializer.deserialize(binary, 0).getAuthorityName());
+
+        int size = AuthorityRegistry.size();
+        assertEquals("not-registered", UriSerializer.deserialize("//not-registered/1/2/3").getAuthorityName());
+        assertEquals(size, AuthorityRegistry.size());
+    }
+
+    // The deserializer before the single pass parser, kept as a reference for its results
+    private static UUri splitDeserialize(String uProtocolUri) {
+        String uri = uProtocolUri.contains(":") ? uProtocolUri.substring(uProtocolUri.indexOf(":") + 1)
+                : uProtocolUri.replace('\\', '/');
+        final String[] uriParts = uri.split("/");
+        if (uriParts.length < 2) {
+            return UUri.getDefaultInstance();
+        }
+        final int first = uri.startsWith("//") ? 3 : 1;
+        UUri.Builder builder = UUri.newBuilder();
+        try {
+            if (first == 3) {
+                if (uriParts[2].isBlank()) {
+                    return UUri.getDefaultInstance();
+                }
+                builder.setAuthorityName(uriParts[2]);
+            }
+            if (uriParts.length > first) {
+                builder.setUeId(Integer.parseUnsignedInt(uriParts[first], 16));
+            }
+            if (uriParts.length > first + 1) {
+                builder.setUeVersionMajor(Integer.parseUnsignedInt(uriParts[first + 1], 16));
+            }
+            if (uriParts.length > first + 2) {
+                builder.setResourceId(Integer.parseUnsignedInt(uriParts[first + 2], 16));
+            }
+        } catch (NumberFormatException e) {
+            return UUri.getDefaultInstance();
+        }
+        if (builder.getUeVersionMajor() > 0xFF || builder.getResourceId() > 0xFFFF) {
+            return UUri.getDefaultInstance();
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares matching message attributes with a {@link CompiledUriFilter} against the field by field
+ * comparisons of {@link UriValidator#matches(UUri, UUri)}, run with
+ * {@code mvn -P benchmark test -Dbenchmark=CompiledUriFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledUriFilterBenchmark {
+    private UUri sourcePattern;
+    private UUri sinkPattern;
+    private CompiledUriFilter compiled;
+    private UAttributes attributes;
+
+    @Setup
+    public void setup() {
+        sourcePattern = UUri.newBuilder().setAuthorityName("vehicle1").setUeId(UriFactory.WILDCARD_ENTITY_ID)
+            .setUeVersionMajor(1).setResourceId(UriFactory.WILDCARD_RESOURCE_ID).build();
+        sinkPattern = UUri.newBuilder().setAuthorityName("vehicle2").setUeId(4).setUeVersionMajor(1)
+            .setResourceId(3).build();
+        compiled = CompiledUriFilter.compile(sourcePattern, sinkPattern);
+        // Authority names as they come out of a parsed message, not the instances of the patterns
+        attributes = UAttributes.newBuilder()
+            .setSource(sourcePattern.toBuilder().setAuthorityName(new String("vehicle1")).setUeId(7).setResourceId(0))
+            .setSink(sinkPattern.toBuilder().setAuthorityName(new String("vehicle2"))).build();
+    }
+
+    @Benchmark
+    public boolean fieldByField() {
+        return UriValidator.matches(sourcePattern, attributes.getSource())
+            && UriValidator.matches(sinkPattern, attributes.getSink());
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return compiled.matches(attributes);
+    }
+}
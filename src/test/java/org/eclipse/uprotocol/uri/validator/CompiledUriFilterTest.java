@@ -0,0 +1,74 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.uri.packed.PackedUri;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CompiledUriFilterTest {
+    private static final String[] AUTHORITIES = {"", "*", "vehicle1", "vehicle2"};
+    private static final int[] ENTITY_IDS = {0, 4, 0xFFFF, 0x10004, 0x1FFFF, 0x20004};
+    private static final int[] VERSIONS = {0, 1, 2, 0xFF, 0x1FF};
+    private static final int[] RESOURCES = {0, 1, 0x8000, 0xFFFF, 0x18000};
+
+    @Test
+    @DisplayName("Test compiled filters match exactly like UriValidator on random patterns and candidates")
+    public void test_same_results_as_uri_validator() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            UUri sourcePattern = random.nextInt(4) == 0 ? UriFactory.ANY : randomUri(random);
+            UUri sinkPattern = random.nextInt(4) == 0 ? UriFactory.ANY : randomUri(random);
+            UAttributes attributes = UAttributes.newBuilder()
+                .setSource(randomUri(random)).setSink(randomUri(random)).build();
+
+            boolean expected = UriValidator.matches(sourcePattern, attributes.getSource())
+                && UriValidator.matches(sinkPattern, attributes.getSink());
+            CompiledUriFilter filter = CompiledUriFilter.compile(sourcePattern, sinkPattern);
+            assertEquals(expected, filter.matches(attributes), sourcePattern + " " + sinkPattern + " " + attributes);
+        }
+    }
+
+    @Test
+    @DisplayName("Test matching packed URIs")
+    public void test_packed_matching() {
+        UUri topic = UUri.newBuilder().setAuthorityName("packed").setUeId(0x10004)
+            .setUeVersionMajor(1).setResourceId(0x8000).build();
+        PackedUri sink = PackedUri.of(UUri.newBuilder().setAuthorityName("packed").setUeId(5).setUeVersionMajor(1).build());
+        CompiledUriFilter filter = CompiledUriFilter.compile(topic.toBuilder().setUeId(4).build(), null);
+
+        assertTrue(filter.matches(PackedUri.of(topic), sink));
+        assertFalse(filter.matches(PackedUri.of(topic.toBuilder().setAuthorityName("other").build()), sink));
+        assertFalse(filter.matches(PackedUri.of(topic.toBuilder().setResourceId(0x8001).build()), sink));
+        assertFalse(filter.matches(new PackedUri(AuthorityRegistry.UNKNOWN_ID, PackedUri.pack(topic)), sink));
+        assertTrue(CompiledUriFilter.compile(null, null).matches(new PackedUri(AuthorityRegistry.UNKNOWN_ID, 0), sink));
+    }
+
+    private static UUri randomUri(Random random) {
+        return UUri.newBuilder()
+            .setAuthorityName(AUTHORITIES[random.nextInt(AUTHORITIES.length)])
+            .setUeId(ENTITY_IDS[random.nextInt(ENTITY_IDS.length)])
+            .setUeVersionMajor(VERSIONS[random.nextInt(VERSIONS.length)])
+            .setResourceId(RESOURCES[random.nextInt(RESOURCES.length)]).build();
+    }
+}
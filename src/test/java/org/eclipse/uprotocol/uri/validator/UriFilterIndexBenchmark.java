@@ -0,0 +1,105 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares looking up the listeners of a message with {@link UriFilterIndex} against a linear scan
+ * of {@link UriFilter#matches}, run with {@code mvn -P benchmark test -Dbenchmark=UriFilterIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriFilterIndexBenchmark {
+
+    @Param({"100", "1000", "20000"})
+    public int filters;
+
+    private final List<UriFilter> linear = new ArrayList<>();
+    private final UriFilterIndex<UriFilter> index = new UriFilterIndex<>();
+    private UAttributes publish;
+    private UAttributes request;
+
+    @Setup
+    public void setup() {
+        // One topic and one method per uE, spread over a few authorities, plus a couple of wildcard listeners
+        for (int i = 0; i < filters / 2; i++) {
+            UUri entity = UUri.newBuilder().setAuthorityName("vehicle" + (i % 8))
+                .setUeId(i / 8 + 1).setUeVersionMajor(1).build();
+            add(new UriFilter(entity.toBuilder().setResourceId(0x8000).build(), null));
+            add(new UriFilter(UriFactory.ANY, entity.toBuilder().setResourceId(1).build()));
+        }
+        add(new UriFilter(UriFactory.ANY, UriFactory.ANY));
+
+        UUri entity = UUri.newBuilder().setAuthorityName("vehicle3").setUeId(filters / 32 + 1)
+            .setUeVersionMajor(1).build();
+        publish = UAttributes.newBuilder().setSource(entity.toBuilder().setResourceId(0x8000)).build();
+        request = UAttributes.newBuilder().setSource(UUri.newBuilder().setAuthorityName("vehicle0").setUeId(2)
+            .setUeVersionMajor(1)).setSink(entity.toBuilder().setResourceId(1)).build();
+    }
+
+    private void add(UriFilter filter) {
+        linear.add(filter);
+        index.add(filter, filter);
+    }
+
+    @Benchmark
+    public void linearScanPublish(Blackhole blackhole) {
+        scan(publish, blackhole);
+    }
+
+    @Benchmark
+    public void indexPublish(Blackhole blackhole) {
+        blackhole.consume(index.match(publish));
+    }
+
+    @Benchmark
+    public void linearScanRequest(Blackhole blackhole) {
+        scan(request, blackhole);
+    }
+
+    @Benchmark
+    public void indexRequest(Blackhole blackhole) {
+        blackhole.consume(index.match(request));
+    }
+
+    private void scan(UAttributes attributes, Blackhole blackhole) {
+        for (int i = 0; i < linear.size(); i++) {
+            if (linear.get(i).matches(attributes)) {
+                blackhole.consume(linear.get(i));
+            }
+        }
+    }
+}
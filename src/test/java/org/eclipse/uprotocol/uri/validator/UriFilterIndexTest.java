@@ -0,0 +1,248 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.uri.packed.AuthorityRegistry;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UriFilterIndexTest {
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(0x10004).setUeVersionMajor(1).setResourceId(0x8000).build();
+    private static final UUri METHOD = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(4).setUeVersionMajor(1).setResourceId(3).build();
+
+    @Test
+    @DisplayName("Test matching values added for exact and wildcard filters")
+    public void test_match_exact_and_wildcard_filters() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        index.add(new UriFilter(TOPIC, null), "exact");
+        index.add(new UriFilter(TOPIC.toBuilder().setAuthorityName("*").build(), null), "any-authority");
+        index.add(new UriFilter(TOPIC.toBuilder().setUeId(0x1FFFF).build(), null), "any-entity");
+        index.add(new UriFilter(TOPIC.toBuilder().setUeId(4).build(), null), "any-instance");
+        index.add(new UriFilter(TOPIC.toBuilder().setUeVersionMajor(0xFF).build(), null), "any-version");
+        index.add(new UriFilter(TOPIC.toBuilder().setResourceId(0xFFFF).build(), null), "any-resource");
+        index.add(new UriFilter(UriFactory.ANY, UriFactory.ANY), "any");
+        index.add(new UriFilter(TOPIC.toBuilder().setResourceId(0x8001).build(), null), "other-resource");
+        index.add(new UriFilter(TOPIC.toBuilder().setUeId(0x20004).build(), null), "other-instance");
+        index.add(new UriFilter(TOPIC.toBuilder().setAuthorityName("cloud").build(), null), "other-authority");
+
+        UAttributes attributes = UAttributes.newBuilder().setSource(TOPIC).build();
+        assertEquals(Set.of("exact", "any-authority", "any-entity", "any-instance", "any-version",
+            "any-resource", "any"), new HashSet<>(index.match(attributes)));
+        assertEquals(10, index.size());
+    }
+
+    @Test
+    @DisplayName("Test matching values added for sink filters")
+    public void test_match_sink_filters() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        index.add(new UriFilter(UriFactory.ANY, METHOD), "method");
+        index.add(new UriFilter(TOPIC, METHOD.toBuilder().setResourceId(0).build()), "notification");
+
+        UAttributes request = UAttributes.newBuilder().setSource(METHOD.toBuilder().setResourceId(0).build())
+            .setSink(METHOD).build();
+        assertEquals(List.of("method"), index.match(request));
+
+        UAttributes notification = UAttributes.newBuilder().setSource(TOPIC)
+            .setSink(METHOD.toBuilder().setResourceId(0).build()).build();
+        assertEquals(List.of("notification"), index.match(notification));
+
+        UAttributes other = UAttributes.newBuilder().setSource(TOPIC)
+            .setSink(METHOD.toBuilder().setResourceId(5)).build();
+        assertTrue(index.match(other).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test adding and removing values")
+    public void test_add_and_remove() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        UriFilter filter = new UriFilter(TOPIC, null);
+        assertTrue(index.isEmpty());
+        assertTrue(index.add(filter, "value"));
+        assertFalse(index.add(filter, "value"));
+        assertTrue(index.add(filter, "other"));
+        assertEquals(2, index.size());
+
+        assertTrue(index.remove(filter, "value"));
+        assertFalse(index.remove(filter, "value"));
+        assertFalse(index.remove(null, "value"));
+        assertFalse(index.remove(new UriFilter(METHOD, null), "other"));
+        assertEquals(List.of("other"), index.match(UAttributes.newBuilder().setSource(TOPIC).build()));
+
+        assertTrue(index.remove(filter, "other"));
+        assertTrue(index.isEmpty());
+        assertTrue(index.match(UAttributes.newBuilder().setSource(TOPIC).build()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test removing values matching a predicate and clearing the index")
+    public void test_remove_if_and_clear() {
+        UriFilterIndex<Integer> index = new UriFilterIndex<>();
+        for (int i = 0; i < 10; i++) {
+            index.add(new UriFilter(TOPIC.toBuilder().setResourceId(0x8000 + i).build(), null), i);
+            index.add(new UriFilter(UriFactory.ANY, METHOD.toBuilder().setResourceId(i + 1).build()), i + 100);
+        }
+        assertEquals(10, index.removeIf((filter, value) -> value % 2 == 0));
+        assertEquals(10, index.size());
+        assertTrue(index.match(UAttributes.newBuilder().setSource(TOPIC).build()).isEmpty());
+
+        index.clear();
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test forEachMatch and null arguments")
+    public void test_for_each_match_and_nulls() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        index.add(new UriFilter(TOPIC, null), "value");
+        List<String> matches = new ArrayList<>();
+        index.forEachMatch(UAttributes.newBuilder().setSource(TOPIC).build(), matches::add);
+        index.forEachMatch(null, matches::add);
+        assertEquals(List.of("value"), matches);
+        assertTrue(index.match(null).isEmpty());
+        assertThrows(NullPointerException.class, () -> index.add(null, "value"));
+        assertThrows(NullPointerException.class, () -> index.add(new UriFilter(TOPIC, null), null));
+    }
+
+    @Test
+    @DisplayName("Test received authority names are looked up by registry id without registering them")
+    public void test_match_received_authority_names() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        index.add(new UriFilter(TOPIC, null), "exact");
+        index.add(new UriFilter(TOPIC.toBuilder().setAuthorityName("*").build(), null), "any-authority");
+
+        // A parsed name is another instance than the registered one
+        UUri received = TOPIC.toBuilder().setAuthorityName(new String("vehicle".toCharArray())).build();
+        assertEquals(Set.of("exact", "any-authority"),
+            new HashSet<>(index.match(UAttributes.newBuilder().setSource(received).build())));
+
+        int registered = AuthorityRegistry.size();
+        UUri unknown = TOPIC.toBuilder().setAuthorityName("unknown.received.authority").build();
+        assertEquals(List.of("any-authority"), index.match(UAttributes.newBuilder().setSource(unknown).build()));
+        assertEquals(registered, AuthorityRegistry.size());
+
+        assertTrue(index.remove(new UriFilter(TOPIC, null), "exact"));
+        assertEquals(List.of("any-authority"), index.match(UAttributes.newBuilder().setSource(received).build()));
+    }
+
+    @Test
+    @DisplayName("Test filters only register their authority names when they are added")
+    public void test_register_authority_names_on_add() {
+        UriFilterIndex<String> index = new UriFilterIndex<>();
+        UriFilter filter = new UriFilter(TOPIC.toBuilder().setAuthorityName("filter.only.authority").build(),
+            METHOD.toBuilder().setAuthorityName("filter.only.sink").build());
+        assertTrue(filter.matches(UAttributes.newBuilder().setSource(filter.source()).setSink(filter.sink()).build()));
+        assertFalse(index.remove(filter, "value"));
+        assertEquals(AuthorityRegistry.UNKNOWN_ID, AuthorityRegistry.find("filter.only.authority"));
+        assertEquals(AuthorityRegistry.UNKNOWN_ID, AuthorityRegistry.find("filter.only.sink"));
+
+        assertTrue(index.add(filter, "value"));
+        assertTrue(AuthorityRegistry.find("filter.only.authority") != AuthorityRegistry.UNKNOWN_ID);
+        assertTrue(index.remove(filter, "value"));
+    }
+
+    @Test
+    @DisplayName("Test the index returns the same matches as a linear scan of random filters")
+    public void test_matches_linear_scan() {
+        Random random = new Random(42);
+        UriFilterIndex<Integer> index = new UriFilterIndex<>();
+        List<UriFilter> filters = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UriFilter filter = random.nextInt(3) == 0
+                ? new UriFilter(UriFactory.ANY, randomUri(random, true))
+                : new UriFilter(randomUri(random, true), random.nextBoolean() ? null : randomUri(random, true));
+            filters.add(filter);
+            index.add(filter, i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            UAttributes attributes = UAttributes.newBuilder()
+                .setSource(randomUri(random, false)).setSink(randomUri(random, false)).build();
+            Set<Integer> expected = new HashSet<>();
+            for (int f = 0; f < filters.size(); f++) {
+                if (filters.get(f).matches(attributes)) {
+                    expected.add(f);
+                }
+            }
+            assertEquals(expected, new HashSet<>(index.match(attributes)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test adding and removing values while other threads look up matches")
+    public void test_concurrent_add_remove_and_match() throws InterruptedException {
+        UriFilterIndex<Integer> index = new UriFilterIndex<>();
+        UriFilter stable = new UriFilter(TOPIC, null);
+        index.add(stable, -1);
+        UAttributes attributes = UAttributes.newBuilder().setSource(TOPIC).build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        if (!index.match(attributes).contains(-1)) {
+                            throw new AssertionError("Stable value not found");
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            UriFilter filter = new UriFilter(TOPIC.toBuilder().setResourceId(0x8000 + (i % 64)).build(), null);
+            index.add(filter, i);
+            if (i % 2 == 0) {
+                index.remove(filter, i);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(null, failure.get());
+        assertEquals(10_001, index.size());
+    }
+
+    private static UUri randomUri(Random random, boolean wildcards) {
+        UUri.Builder builder = UUri.newBuilder()
+            .setAuthorityName(wildcards && random.nextInt(4) == 0 ? "*" : "auth" + random.nextInt(3));
+        int entity = wildcards && random.nextInt(4) == 0 ? 0xFFFF : random.nextInt(3);
+        int instance = random.nextInt(3);
+        builder.setUeId(instance << 16 | entity);
+        builder.setUeVersionMajor(wildcards && random.nextInt(4) == 0 ? 0xFF : random.nextInt(2));
+        builder.setResourceId(wildcards && random.nextInt(4) == 0 ? 0xFFFF : random.nextInt(3));
+        return builder.build();
+    }
+}
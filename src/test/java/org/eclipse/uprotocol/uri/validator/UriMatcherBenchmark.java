@@ -0,0 +1,95 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UUri;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares matching a candidate against a list of patterns with {@link UriMatcher}, with the Vector API
+ * and with the scalar loop, against calling {@link UriValidator#matches(UUri, UUri)} for each pattern,
+ * run with {@code mvn -P vector,benchmark test -Dbenchmark=UriMatcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class UriMatcherBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int patterns;
+
+    private List<UUri> list;
+    private UriMatcher vector;
+    private UriMatcher scalar;
+    private UUri candidate;
+    private long[] words;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(16);
+        list = new ArrayList<>(patterns);
+        for (int i = 0; i < patterns; i++) {
+            list.add(UUri.newBuilder().setAuthorityName(random.nextInt(4) == 0 ? "*" : "vehicle" + random.nextInt(8))
+                .setUeId(random.nextInt(8) == 0 ? UriFactory.WILDCARD_ENTITY_ID : random.nextInt(0x100))
+                .setUeVersionMajor(1)
+                .setResourceId(random.nextInt(8) == 0 ? UriFactory.WILDCARD_RESOURCE_ID : 0x8000 + random.nextInt(16))
+                .build());
+        }
+        vector = new UriMatcher(list);
+        scalar = new UriMatcher(list, UriMatcher.Kernel.SCALAR);
+        candidate = UUri.newBuilder().setAuthorityName(new String("vehicle3")).setUeId(0x42).setUeVersionMajor(1)
+            .setResourceId(0x8003).build();
+        words = new long[(patterns + 63) / 64];
+    }
+
+    @Benchmark
+    public int validatorLoop() {
+        int matches = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (UriValidator.matches(list.get(i), candidate)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long[] scalar() {
+        scalar.matches(candidate, words);
+        return words;
+    }
+
+    @Benchmark
+    public long[] vector() {
+        vector.matches(candidate, words);
+        return words;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uri.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.uprotocol.uri.factory.UriFactory;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UriMatcherTest {
+    private static final UUri TOPIC = UUri.newBuilder()
+        .setAuthorityName("vehicle").setUeId(0x10004).setUeVersionMajor(1).setResourceId(0x8000).build();
+
+    @Test
+    @DisplayName("Test matching a candidate against exact and wildcard patterns")
+    public void test_matches() {
+        UriMatcher matcher = new UriMatcher(List.of(
+            TOPIC,
+            TOPIC.toBuilder().setAuthorityName("*").build(),
+            TOPIC.toBuilder().setUeId(0x1FFFF).build(),
+            TOPIC.toBuilder().setResourceId(0x8001).build(),
+            UriFactory.ANY,
+            TOPIC.toBuilder().setAuthorityName("other").build(),
+            TOPIC.toBuilder().setUeVersionMajor(0x100).build()));
+        assertEquals(7, matcher.size());
+        assertEquals(TOPIC, matcher.getPattern(0));
+
+        BitSet expected = new BitSet();
+        expected.set(0, 3);
+        expected.set(4);
+        assertEquals(expected, matcher.matches(TOPIC));
+        assertEquals(new BitSet(), matcher.matches(null));
+
+        // Candidates that cannot be packed go through UriValidator
+        expected = new BitSet();
+        expected.set(4);
+        expected.set(6);
+        assertEquals(expected, matcher.matches(TOPIC.toBuilder().setUeVersionMajor(0x100).build()));
+    }
+
+    @Test
+    @DisplayName("Test matching into a reused array of bits")
+    public void test_matches_into_words() {
+        List<UUri> patterns = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            patterns.add(TOPIC.toBuilder().setResourceId(i).build());
+        }
+        UriMatcher matcher = new UriMatcher(patterns);
+        long[] words = {-1, -1, -1, -1};
+        matcher.matches(TOPIC.toBuilder().setResourceId(129).build(), words);
+        assertEquals(BitSet.valueOf(new long[] {0, 0, 2, 0}), BitSet.valueOf(words));
+        matcher.matches(TOPIC.toBuilder().setResourceId(64).build(), words);
+        assertEquals(BitSet.valueOf(new long[] {0, 1, 0, 0}), BitSet.valueOf(words));
+    }
+
+    @Test
+    @DisplayName("Test random patterns give the same results as UriValidator with each kernel")
+    public void test_same_results_as_validator() {
+        Random random = new Random(16);
+        for (int round = 0; round < 20; round++) {
+            List<UUri> patterns = new ArrayList<>();
+            for (int i = random.nextInt(300); i > 0; i--) {
+                patterns.add(randomUri(random, true));
+            }
+            UriMatcher matcher = new UriMatcher(patterns);
+            UriMatcher scalar = new UriMatcher(patterns, UriMatcher.Kernel.SCALAR);
+            for (int i = 0; i < 200; i++) {
+                UUri candidate = randomUri(random, false);
+                BitSet expected = new BitSet();
+                for (int p = 0; p < patterns.size(); p++) {
+                    if (UriValidator.matches(patterns.get(p), candidate)) {
+                        expected.set(p);
+                    }
+                }
+                assertEquals(expected, matcher.matches(candidate), candidate::toString);
+                assertEquals(expected, scalar.matches(candidate), candidate::toString);
+            }
+        }
+    }
+
+    private static UUri randomUri(Random random, boolean pattern) {
+        final String[] authorities = {"vehicle", "cloud", "*", "", "never-registered"};
+        final boolean wildcards = pattern && random.nextInt(3) == 0;
+        return UUri.newBuilder()
+            .setAuthorityName(authorities[random.nextInt(pattern ? 4 : 5)])
+            .setUeId(wildcards ? 0xFFFF | random.nextInt(3) << 16 : random.nextInt(3) | random.nextInt(3) << 16)
+            .setUeVersionMajor(wildcards ? 0xFF : random.nextInt(20) == 0 ? 0x100 : random.nextInt(3))
+            .setResourceId(wildcards ? 0xFFFF : random.nextInt(20) == 0 ? 0x10000 : random.nextInt(3)).build();
+    }
+}
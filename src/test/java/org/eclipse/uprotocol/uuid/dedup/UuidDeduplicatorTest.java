@@ -0,0 +1,144 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.v1.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UuidDeduplicatorTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Test duplicate ids are found during the window")
+    public void test_add_duplicates() {
+        UuidDeduplicator deduplicator = new UuidDeduplicator(1000, () -> NOW);
+        UUID id = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW - 10));
+        assertFalse(deduplicator.contains(id));
+        assertTrue(deduplicator.add(id));
+        assertTrue(deduplicator.contains(id));
+        assertFalse(deduplicator.add(id));
+        assertFalse(deduplicator.add(UUID.newBuilder().mergeFrom(id).build()));
+        assertEquals(2, deduplicator.getDuplicateCount());
+        assertEquals(1, deduplicator.size());
+
+        deduplicator.clear();
+        assertEquals(0, deduplicator.size());
+        assertTrue(deduplicator.add(id));
+    }
+
+    @Test
+    @DisplayName("Test many ids created in the same millisecond")
+    public void test_add_same_millisecond() {
+        UuidDeduplicator deduplicator = new UuidDeduplicator(1000, () -> NOW);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW)));
+        }
+        for (UUID id : ids) {
+            assertTrue(deduplicator.add(id));
+        }
+        for (UUID id : ids) {
+            assertFalse(deduplicator.add(id));
+        }
+        assertEquals(10_000, deduplicator.size());
+        assertEquals(10_000, deduplicator.getDuplicateCount());
+    }
+
+    @Test
+    @DisplayName("Test ids are forgotten once the window has passed")
+    public void test_window_slides() {
+        long[] now = {NOW};
+        UuidDeduplicator deduplicator = new UuidDeduplicator(100, () -> now[0]);
+        UUID id = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW));
+        assertTrue(deduplicator.add(id));
+
+        now[0] += 100;
+        assertFalse(deduplicator.add(id));
+        now[0]++;
+        assertFalse(deduplicator.contains(id));
+        assertEquals(0, deduplicator.size());
+        assertFalse(deduplicator.add(id));
+        assertEquals(1, deduplicator.getLateCount());
+
+        // The bucket of the old id is reused for a new millisecond
+        UUID reused = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW + 201));
+        assertTrue(deduplicator.add(reused));
+        assertEquals(1, deduplicator.size());
+    }
+
+    @Test
+    @DisplayName("Test ids without a creation time or from the future are not tracked")
+    public void test_untracked_ids() {
+        UuidDeduplicator deduplicator = new UuidDeduplicator(100, () -> NOW);
+        UUID empty = UUID.getDefaultInstance();
+        assertTrue(deduplicator.add(empty));
+        assertTrue(deduplicator.add(empty));
+
+        UUID future = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW + 101));
+        assertTrue(deduplicator.add(future));
+        assertTrue(deduplicator.add(future));
+        assertEquals(0, deduplicator.size());
+
+        UUID ahead = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(NOW + 100));
+        assertTrue(deduplicator.add(ahead));
+        assertFalse(deduplicator.add(ahead));
+    }
+
+    @Test
+    @DisplayName("Test invalid windows and clock")
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new UuidDeduplicator(0));
+        assertThrows(IllegalArgumentException.class, () -> new UuidDeduplicator(UuidDeduplicator.MAX_WINDOW + 1));
+        assertThrows(NullPointerException.class, () -> new UuidDeduplicator(100, null));
+        assertEquals(100, new UuidDeduplicator(100).getWindow());
+    }
+
+    @Test
+    @DisplayName("Test each id is reported new once when added by concurrent threads")
+    public void test_concurrent_add() throws InterruptedException {
+        UuidDeduplicator deduplicator = new UuidDeduplicator(60_000);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidFactory.Factories.UPROTOCOL.factory().create());
+        }
+        AtomicInteger added = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (UUID id : ids) {
+                    if (deduplicator.add(id)) {
+                        added.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(ids.size(), added.get());
+        assertEquals(3L * ids.size(), deduplicator.getDuplicateCount());
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.uprotocol.uuid.factory;
 
+import org.eclipse.uprotocol.clock.ManualClock;
 import org.eclipse.uprotocol.uuid.serializer.UuidSerializer;
 import org.eclipse.uprotocol.v1.UUID;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +23,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -272,6 +276,133 @@ public class UUIDFactoryTest {
         assertEquals(UuidUtils.getTime(uuid1).get(), UuidUtils.getTime(uuid).get());
     }
 
+    @Test
+    @DisplayName("Test UUIDv7 created by a thread are strictly increasing")
+    void test_uuidv7_are_strictly_increasing() {
+        final UuidFactory factory = UuidFactory.Factories.UPROTOCOL.factory();
+        UUID previous = factory.create();
+        for (int i = 0; i < 100_000; i++) {
+            // UUIDs for a given instant other than the current millisecond do not break the sequence
+            if (i % 1000 == 0) {
+                assertEquals(Instant.EPOCH.toEpochMilli(), UuidUtils.getTime(factory.create(Instant.EPOCH)).get());
+            }
+            final UUID uuid = factory.create();
+            assertTrue(compare(previous, uuid) < 0);
+            assertTrue(UuidUtils.isUProtocol(uuid));
+            previous = uuid;
+        }
+    }
 
-}
+    @Test
+    @DisplayName("Test UUIDv7 created by concurrent threads are unique and increasing per thread")
+    void test_uuidv7_created_by_concurrent_threads() throws InterruptedException {
+        final int threads = 8;
+        final int count = 20_000;
+        final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    UUID previous = UUID.getDefaultInstance();
+                    for (int i = 0; i < count; i++) {
+                        final UUID uuid = UuidFactory.Factories.UPROTOCOL.factory().create();
+                        if (compare(previous, uuid) >= 0 || !uuids.add(uuid)) {
+                            throw new AssertionError("UUID not increasing or not unique");
+                        }
+                        previous = uuid;
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertNull(failure.get());
+        assertEquals(threads * count, uuids.size());
+    }
+
+    @Test
+    @DisplayName("Test creating a batch of UUIDv7 continues the sequence of the thread")
+    void test_uuidv7_create_batch() {
+        final UuidFactory factory = UuidFactory.Factories.UPROTOCOL.factory();
+        UUID previous = factory.create();
+        final List<UUID> batch = factory.createBatch(5000);
+        assertEquals(5000, batch.size());
+        for (UUID uuid : batch) {
+            assertTrue(UuidUtils.isUProtocol(uuid));
+            assertTrue(compare(previous, uuid) < 0);
+            previous = uuid;
+        }
+        assertTrue(compare(previous, factory.create()) < 0);
+        assertTrue(factory.createBatch(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test filling arrays with UUIDv7 and UUIDv6")
+    void test_fill() {
+        final long[] msb = new long[3000];
+        final long[] lsb = new long[3000];
+        UuidFactory.Factories.UPROTOCOL.factory().fill(msb, lsb, 10, 2980);
+        assertEquals(0, msb[9]);
+        assertEquals(0, msb[2990]);
+        for (int i = 11; i < 2990; i++) {
+            final UUID uuid = UUID.newBuilder().setMsb(msb[i]).setLsb(lsb[i]).build();
+            assertTrue(UuidUtils.isUProtocol(uuid));
+            assertTrue(compare(UUID.newBuilder().setMsb(msb[i - 1]).setLsb(lsb[i - 1]).build(), uuid) < 0);
+        }
+
+        UuidFactory.Factories.UUIDV6.factory().fill(msb, lsb, 0, 10);
+        assertTrue(UuidUtils.isUuidv6(UUID.newBuilder().setMsb(msb[0]).setLsb(lsb[0]).build()));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> UuidFactory.Factories.UPROTOCOL.factory().fill(msb, new long[10], 5, 10));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> UuidFactory.Factories.UUIDV6.factory().fill(msb, lsb, -1, 10));
+    }
 
+    @Test
+    @DisplayName("Test creating UUIDs from the time of a clock")
+    void test_create_with_clock() throws InterruptedException {
+        // Ahead of the system clock so that the sequence follows the clock, in a thread of its own so
+        // that the sequence of the test thread is left behind the system clock
+        final ManualClock clock = new ManualClock(System.currentTimeMillis() + 3_600_000);
+        final UuidFactory factory = UuidFactory.Factories.UPROTOCOL.factory();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                assertEquals(clock.millis(), UuidUtils.timeMillis(factory.createFrom(clock)));
+                assertEquals(clock.millis(),
+                    UuidUtils.timeMillis(UuidFactory.Factories.UUIDV6.factory().createFrom(clock)));
+
+                clock.advance(5);
+                final long[] msb = new long[100];
+                final long[] lsb = new long[100];
+                factory.fill(msb, lsb, 0, 100, clock);
+                for (int i = 0; i < 100; i++) {
+                    final UUID uuid = UUID.newBuilder().setMsb(msb[i]).setLsb(lsb[i]).build();
+                    assertEquals(clock.millis(), UuidUtils.timeMillis(uuid));
+                }
+
+                final UUID last = UUID.newBuilder().setMsb(msb[99]).setLsb(lsb[99]).build();
+                assertTrue(compare(last, factory.createFrom(clock)) < 0);
+
+                // A clock behind the sequence gives UUIDs with its time
+                clock.advance(-1000);
+                assertEquals(clock.millis(), UuidUtils.timeMillis(factory.createFrom(clock)));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(failure.get());
+    }
+
+    private static int compare(UUID first, UUID second) {
+        final int msb = Long.compareUnsigned(first.getMsb(), second.getMsb());
+        return msb != 0 ? msb : Long.compareUnsigned(first.getLsb(), second.getLsb());
+    }
+}
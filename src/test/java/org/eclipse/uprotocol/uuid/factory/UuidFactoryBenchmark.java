@@ -0,0 +1,81 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.factory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.v1.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating UUIDs from 32 threads, as done by publishers sending messages concurrently, run
+ * with {@code mvn -P benchmark test -Dbenchmark=UuidFactory}. The {@code random} benchmark creates
+ * the UUIDv7 with two new {@link Random} like the factory did before its per thread sequences, the
+ * batch benchmarks count each UUID of a batch as an operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class UuidFactoryBenchmark {
+    private static final int BATCH = 1024;
+
+    private final long[] msb = new long[BATCH];
+    private final long[] lsb = new long[BATCH];
+
+    @Benchmark
+    public UUID uuidv7() {
+        return UuidFactory.Factories.UPROTOCOL.factory().create();
+    }
+
+    @Benchmark
+    public UUID uuidv6() {
+        return UuidFactory.Factories.UUIDV6.factory().create();
+    }
+
+    @Benchmark
+    public UUID random() {
+        final long time = System.currentTimeMillis();
+        final int randA = new Random().nextInt() & 0xfff;
+        final long randB = new Random().nextLong() & 0x3fffffffffffffffL;
+        return UUID.newBuilder().setMsb(time << 16 | 7L << 12 | randA).setLsb(randB | 1L << 63).build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] fill() {
+        UuidFactory.Factories.UPROTOCOL.factory().fill(msb, lsb, 0, BATCH);
+        return msb;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<UUID> createBatch() {
+        return UuidFactory.Factories.UPROTOCOL.factory().createBatch(BATCH);
+    }
+}
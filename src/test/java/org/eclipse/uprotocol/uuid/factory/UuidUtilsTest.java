@@ -12,12 +12,14 @@
  */
 package org.eclipse.uprotocol.uuid.factory;
 
+import org.eclipse.uprotocol.clock.ManualClock;
 import org.eclipse.uprotocol.v1.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
 
 public class UuidUtilsTest {
@@ -97,6 +99,77 @@ public class UuidUtilsTest {
         final UUID id = UuidFactory.Factories.UPROTOCOL.factory().create(now);
         assertTrue(UuidUtils.getElapsedTime(id).isEmpty());
     }
-    
 
+    @Test
+    @DisplayName("Test timeMillis() and isExpiredAt() with the current time passed")
+    public void testTimeMillisAndIsExpiredAt() {
+        final Instant created = Instant.now();
+        final UUID id = UuidFactory.Factories.UPROTOCOL.factory().create(created);
+        final UUID v6 = UuidFactory.Factories.UUIDV6.factory().create(created);
+        assertEquals(created.toEpochMilli(), UuidUtils.timeMillis(id));
+        assertEquals(created.toEpochMilli(), UuidUtils.timeMillis(v6));
+        assertEquals(-1, UuidUtils.timeMillis(null));
+        assertEquals(-1, UuidUtils.timeMillis(UUID.getDefaultInstance()));
+
+        assertFalse(UuidUtils.isExpiredAt(id, TTL, created.toEpochMilli() + TTL));
+        assertTrue(UuidUtils.isExpiredAt(id, TTL, created.toEpochMilli() + TTL + 1));
+        assertTrue(UuidUtils.isExpiredAt(v6, TTL, created.toEpochMilli() + TTL + 1));
+        assertFalse(UuidUtils.isExpiredAt(id, 0, Long.MAX_VALUE));
+        assertFalse(UuidUtils.isExpiredAt(null, TTL, Long.MAX_VALUE));
+        assertFalse(UuidUtils.isExpiredAt(UUID.getDefaultInstance(), TTL, Long.MAX_VALUE));
+
+        // isExpired is stricter: no creation time or the boundary itself means expired
+        final ManualClock clock = new ManualClock(created.toEpochMilli() + TTL);
+        assertTrue(UuidUtils.isExpired(id, TTL, clock));
+        assertTrue(UuidUtils.isExpired(UUID.getDefaultInstance(), TTL, clock));
+    }
+
+    @Test
+    @DisplayName("Test the elapsed time, remaining time and expiry at the time of a manual clock")
+    public void testTimesWithClock() {
+        final ManualClock clock = new ManualClock(1_700_000_000_000L);
+        final UUID id = UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochMilli(clock.millis()));
+        assertEquals(0L, UuidUtils.getElapsedTime(id, clock).orElseThrow());
+        assertEquals((long) TTL, UuidUtils.getRemainingTime(id, TTL, clock).orElseThrow());
+        assertFalse(UuidUtils.isExpired(id, TTL, clock));
+
+        clock.advance(TTL - 1);
+        assertEquals(TTL - 1L, UuidUtils.getElapsedTime(id, clock).orElseThrow());
+        assertEquals(1L, UuidUtils.getRemainingTime(id, TTL, clock).orElseThrow());
+        assertFalse(UuidUtils.isExpired(id, TTL, clock));
+
+        clock.advance(1);
+        assertTrue(UuidUtils.getRemainingTime(id, TTL, clock).isEmpty());
+        assertTrue(UuidUtils.isExpired(id, TTL, clock));
+
+        clock.set(0);
+        assertTrue(UuidUtils.getElapsedTime(id, clock).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test the primitive time, expiry and version lookups do not allocate")
+    public void testPrimitiveLookupsDoNotAllocate() {
+        final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final UUID v7 = createId();
+        final UUID v6 = UuidFactory.Factories.UUIDV6.factory().create();
+        final int calls = 100_000;
+        long sum = 0;
+        long allocated = 0;
+        // The first round lets the methods be compiled, the second one is measured
+        for (int round = 0; round < 2; round++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < calls; i++) {
+                final UUID id = (i & 1) == 0 ? v7 : v6;
+                sum += UuidUtils.timeMillis(id);
+                sum += UuidUtils.isExpiredAt(id, TTL, i) ? 1 : 0;
+                sum += UuidUtils.isUuid(id) ? 1 : 0;
+                sum += UuidUtils.getVersion(id).isPresent() ? 1 : 0;
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertTrue(sum > 0);
+        // Less than one byte per call, any allocation per call would take at least 16 bytes
+        assertTrue(allocated < calls, "Allocated " + allocated + " bytes for " + calls + " calls");
+    }
 }
@@ -0,0 +1,81 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.uprotocol.v1.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link UuidSerializer} text and binary forms against {@link java.util.UUID}, run with
+ * {@code mvn -P benchmark test -Dbenchmark=UuidSerializer}. The round trips write and read the text
+ * form of a UUID received and sent as ASCII bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidSerializerBenchmark {
+    private final UUID uuid = UUID.newBuilder().setMsb(0x01928d1c3a4b7e5fL).setLsb(0x8123456789abcdefL).build();
+    private final String text = UuidSerializer.serialize(uuid);
+    private final byte[] ascii = new byte[UuidSerializer.TEXT_LENGTH];
+    private final ByteBuffer buffer = ByteBuffer.allocate(UuidSerializer.BINARY_LENGTH);
+
+    @Benchmark
+    public UUID deserialize() {
+        return UuidSerializer.deserialize(text);
+    }
+
+    @Benchmark
+    public UUID deserializeJavaUuid() {
+        final java.util.UUID javaUuid = java.util.UUID.fromString(text);
+        return UUID.newBuilder().setMsb(javaUuid.getMostSignificantBits())
+            .setLsb(javaUuid.getLeastSignificantBits()).build();
+    }
+
+    @Benchmark
+    public UUID roundTripAscii() {
+        UuidSerializer.serialize(uuid, ascii, 0);
+        return UuidSerializer.deserialize(ascii, 0, UuidSerializer.TEXT_LENGTH);
+    }
+
+    @Benchmark
+    public UUID roundTripAsciiJavaUuid() {
+        final byte[] bytes = new java.util.UUID(uuid.getMsb(), uuid.getLsb()).toString()
+            .getBytes(StandardCharsets.US_ASCII);
+        final java.util.UUID javaUuid = java.util.UUID.fromString(new String(bytes, StandardCharsets.US_ASCII));
+        return UUID.newBuilder().setMsb(javaUuid.getMostSignificantBits())
+            .setLsb(javaUuid.getLeastSignificantBits()).build();
+    }
+
+    @Benchmark
+    public UUID roundTripBinary() {
+        buffer.clear();
+        UuidSerializer.serialize(uuid, buffer);
+        buffer.flip();
+        return UuidSerializer.deserializeFromBytes(buffer);
+    }
+}
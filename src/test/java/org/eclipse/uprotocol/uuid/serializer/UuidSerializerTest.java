@@ -0,0 +1,113 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.uprotocol.v1.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UuidSerializerTest {
+    private static final UUID ID = UUID.newBuilder().setMsb(0x0192_8d1c_3a4b_7e5fL).setLsb(0x8123_4567_89ab_cdefL)
+        .build();
+    private static final String TEXT = "01928d1c-3a4b-7e5f-8123-456789abcdef";
+
+    @Test
+    @DisplayName("Test serializing to and from characters and ASCII bytes")
+    public void test_text_forms() {
+        assertEquals(TEXT, UuidSerializer.serialize(ID));
+        assertEquals("id=" + TEXT, UuidSerializer.serialize(ID, new StringBuilder("id=")).toString());
+        assertEquals("id=", UuidSerializer.serialize(null, new StringBuilder("id=")).toString());
+
+        char[] chars = new char[40];
+        assertEquals(38, UuidSerializer.serialize(ID, chars, 2));
+        assertEquals(TEXT, new String(chars, 2, UuidSerializer.TEXT_LENGTH));
+        assertEquals(ID, UuidSerializer.deserialize(chars, 2, UuidSerializer.TEXT_LENGTH));
+
+        byte[] ascii = new byte[40];
+        assertEquals(39, UuidSerializer.serialize(ID, ascii, 3));
+        assertEquals(TEXT, new String(ascii, 3, UuidSerializer.TEXT_LENGTH, StandardCharsets.US_ASCII));
+        assertEquals(ID, UuidSerializer.deserialize(ascii, 3, UuidSerializer.TEXT_LENGTH));
+        assertEquals(3, UuidSerializer.serialize(null, ascii, 3));
+
+        assertEquals(ID, UuidSerializer.deserialize(new StringBuilder(TEXT.toUpperCase())));
+        assertThrows(IndexOutOfBoundsException.class, () -> UuidSerializer.serialize(ID, new byte[35], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> UuidSerializer.deserialize(ascii, 10, 36));
+    }
+
+    @Test
+    @DisplayName("Test deserializing text that is not a canonical UUID")
+    public void test_deserialize_non_canonical_text() {
+        String[] invalid = {"", "   ", "01928d1c-3a4b-7e5f-8123-456789abcdeg", "01928d1c+3a4b-7e5f-8123-456789abcdef",
+            "01928d1c-3a4b-7e5f-8123-456789abcdef0", "01928d1c-3a4b-7e5f-8123-456789abcdİf", "not a uuid"};
+        for (String text : invalid) {
+            assertEquals(UUID.getDefaultInstance(), UuidSerializer.deserialize(text), text);
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            assertEquals(UUID.getDefaultInstance(), UuidSerializer.deserialize(bytes, 0, bytes.length), text);
+        }
+        // Shorter forms accepted by java.util.UUID are still accepted
+        assertEquals(UUID.newBuilder().setMsb(0x0000_0001_0002_0003L).setLsb(0x0004_0000_0000_0005L).build(),
+            UuidSerializer.deserialize("1-2-3-4-5"));
+    }
+
+    @Test
+    @DisplayName("Test the text forms give the same results as java.util.UUID for random UUIDs")
+    public void test_text_forms_match_java_uuid() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            UUID uuid = UUID.newBuilder().setMsb(random.nextLong()).setLsb(random.nextLong()).build();
+            java.util.UUID javaUuid = new java.util.UUID(uuid.getMsb(), uuid.getLsb());
+            byte[] ascii = new byte[UuidSerializer.TEXT_LENGTH];
+            UuidSerializer.serialize(uuid, ascii, 0);
+            assertEquals(javaUuid.toString(), new String(ascii, StandardCharsets.US_ASCII));
+            assertEquals(uuid, UuidSerializer.deserialize(javaUuid.toString()));
+            assertEquals(uuid, UuidSerializer.deserialize(javaUuid.toString().toUpperCase()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the binary form of a UUID")
+    public void test_binary_form() {
+        byte[] bytes = UuidSerializer.serializeToBytes(ID);
+        assertArrayEquals(new byte[] {0x01, (byte) 0x92, (byte) 0x8d, 0x1c, 0x3a, 0x4b, 0x7e, 0x5f,
+            (byte) 0x81, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef}, bytes);
+        assertEquals(ID, UuidSerializer.deserializeFromBytes(ByteBuffer.wrap(bytes)));
+        assertArrayEquals(new byte[UuidSerializer.BINARY_LENGTH], UuidSerializer.serializeToBytes(null));
+
+        // The bytes are big endian whatever the order of the buffer
+        ByteBuffer buffer = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(7);
+        UuidSerializer.serialize(ID, buffer);
+        assertArrayEquals(bytes, Arrays.copyOfRange(buffer.array(), 4, 20));
+        buffer.flip().position(4);
+        assertEquals(ID, UuidSerializer.deserializeFromBytes(buffer));
+        assertFalse(buffer.hasRemaining());
+
+        assertEquals(UUID.getDefaultInstance(), UuidSerializer.deserializeFromBytes(ByteBuffer.allocate(15)));
+        assertEquals(UUID.getDefaultInstance(), UuidSerializer.deserializeFromBytes(null));
+        ByteBuffer small = ByteBuffer.allocate(15);
+        assertThrows(BufferOverflowException.class, () -> UuidSerializer.serialize(ID, small));
+        assertEquals(0, small.position());
+    }
+}
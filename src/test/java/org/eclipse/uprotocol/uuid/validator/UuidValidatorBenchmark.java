@@ -0,0 +1,85 @@
+/**
+ * SPDX-FileCopyrightText: 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.uuid.validator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.uprotocol.transport.builder.UMessageBuilder;
+import org.eclipse.uprotocol.uuid.factory.UuidFactory;
+import org.eclipse.uprotocol.uuid.validate.UuidValidator;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
+import org.eclipse.uprotocol.v1.UUID;
+import org.eclipse.uprotocol.v1.UUri;
+import org.eclipse.uprotocol.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validation of a valid UUIDv7 as done for the request id of each RPC response, run with
+ * {@code mvn -P benchmark test -Dbenchmark=UuidValidator}, add {@code -prof gc} to the JMH arguments
+ * to check that {@code validate} and {@code isValid} do not allocate. The {@code validateAllChecks}
+ * benchmark collects the three checks through a stream like {@code validate} did before its fast path,
+ * {@code response} builds a response message with the request id checked by the builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidValidatorBenchmark {
+    private static final UUri METHOD = UUri.newBuilder()
+        .setAuthorityName("local").setUeId(4).setUeVersionMajor(1).setResourceId(3).build();
+    private static final UUri CLIENT = METHOD.toBuilder().setUeId(5).setResourceId(0).build();
+
+    private final UuidValidator validator = UuidValidator.Validators.UPROTOCOL.validator();
+    private final UUID reqid = UuidFactory.Factories.UPROTOCOL.factory().create();
+
+    @Benchmark
+    public UStatus validate() {
+        return validator.validate(reqid);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(reqid);
+    }
+
+    @Benchmark
+    public UStatus validateAllChecks() {
+        final String errorMessage = Stream.of(validator.validateVersion(reqid),
+                validator.validateVariant(reqid),
+                validator.validateTime(reqid))
+                .filter(ValidationResult::isFailure)
+                .map(ValidationResult::getMessage)
+                .collect(Collectors.joining(","));
+        return errorMessage.isBlank() ? ValidationResult.success().toStatus()
+                : UStatus.newBuilder().setCode(UCode.INVALID_ARGUMENT).setMessage(errorMessage).build();
+    }
+
+    @Benchmark
+    public UMessage response() {
+        return UMessageBuilder.response(METHOD, CLIENT, reqid).build();
+    }
+}
@@ -155,4 +155,36 @@ public class UuidValidatorTest {
         assertEquals(UCode.INVALID_ARGUMENT, status.getCode());
     }
 
+    @Test
+    @DisplayName("Test isValid agrees with validate")
+    void test_is_valid() {
+        final java.util.UUID uuid_java = java.util.UUID.randomUUID();
+        final UUID[] uuids = {
+            UuidFactory.Factories.UPROTOCOL.factory().create(),
+            UuidFactory.Factories.UUIDV6.factory().create(),
+            UuidFactory.Factories.UPROTOCOL.factory().create(Instant.ofEpochSecond(0)),
+            UuidSerializer.deserialize("1ee57e66-d33a-65e0-4a77-3c3f061c1e9e"),
+            UUID.newBuilder().setMsb(uuid_java.getMostSignificantBits())
+                .setLsb(uuid_java.getLeastSignificantBits()).build(),
+            UUID.getDefaultInstance(),
+            null
+        };
+        for (UuidValidator.Validators validators : UuidValidator.Validators.values()) {
+            final UuidValidator validator = validators.validator();
+            for (UUID uuid : uuids) {
+                assertEquals(validator.validate(uuid).getCode() == UCode.OK, validator.isValid(uuid));
+            }
+        }
+        assertTrue(UuidValidator.Validators.UPROTOCOL.validator().isValid(uuids[0]));
+        assertTrue(UuidValidator.Validators.UUIDV6.validator().isValid(uuids[1]));
+        assertFalse(UuidValidator.Validators.UNKNOWN.validator().isValid(uuids[0]));
+    }
+
+    @Test
+    @DisplayName("Test validating a good uuid returns the shared success status")
+    void test_validate_returns_shared_success() {
+        final UUID uuid = UuidFactory.Factories.UPROTOCOL.factory().create();
+        assertSame(ValidationResult.STATUS_SUCCESS, UuidValidator.getValidator(uuid).validate(uuid));
+    }
+
 }